@@ -13,8 +13,12 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.validation.constraints.NotNull;
 
@@ -23,7 +27,8 @@ import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 
 /**
  * {@link AbstractDbArtifact} implementation which dynamically creates a
- * {@link FileInputStream} on calling {@link #getFileInputStream()}.
+ * {@link FileInputStream} on calling {@link #getFileInputStream()} or a
+ * {@link FileChannel} on calling {@link #getFileChannel()}.
  */
 public class ArtifactFilesystem extends AbstractDbArtifact {
 
@@ -47,4 +52,16 @@ public class ArtifactFilesystem extends AbstractDbArtifact {
             throw new ArtifactFileNotFoundException(e);
         }
     }
+
+    @Override
+    // suppress warning, this FileChannel needs to be closed by the caller, this
+    // cannot be closed in this method
+    @SuppressWarnings("squid:S2095")
+    public Optional<FileChannel> getFileChannel() {
+        try {
+            return Optional.of(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+        } catch (final IOException e) {
+            throw new ArtifactFileNotFoundException(e);
+        }
+    }
 }
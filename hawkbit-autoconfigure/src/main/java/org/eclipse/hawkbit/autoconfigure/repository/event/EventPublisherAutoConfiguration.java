@@ -11,20 +11,32 @@ package org.eclipse.hawkbit.autoconfigure.repository.event;
 
 import java.util.concurrent.Executor;
 
+import org.eclipse.hawkbit.event.BatchingBusBridge;
 import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
+import org.eclipse.hawkbit.event.FilteringBusBridge;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
 import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.bus.BusBridge;
 import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.BusStreamAutoConfiguration;
+import org.springframework.cloud.bus.StreamBusBridge;
 import org.springframework.cloud.bus.ConditionalOnBusEnabled;
 import org.springframework.cloud.bus.ServiceMatcher;
 import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
+import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,6 +47,8 @@ import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.core.ResolvableType;
 import org.springframework.messaging.converter.MessageConverter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.protostuff.ProtostuffIOUtil;
 import io.protostuff.Schema;
 
@@ -46,6 +60,7 @@ import io.protostuff.Schema;
 @RemoteApplicationEventScan(basePackages = "org.eclipse.hawkbit.repository.event.remote")
 @PropertySource("classpath:/hawkbit-eventbus-defaults.properties")
 @EnableConfigurationProperties(BusProperties.class)
+@AutoConfigureBefore(BusStreamAutoConfiguration.class)
 public class EventPublisherAutoConfiguration {
     /**
      * Server internal event publisher that allows parallel event processing if
@@ -110,6 +125,11 @@ public class EventPublisherAutoConfiguration {
          */
         @Override
         public void multicastEvent(final ApplicationEvent event, final ResolvableType eventType) {
+            if (event instanceof RemoteEventEnvelope) {
+                BatchingBusBridge.unpack((RemoteEventEnvelope) event).forEach(this::multicastEvent);
+                return;
+            }
+
             if (applicationEventFilter.filter(event)) {
                 return;
             }
@@ -125,6 +145,11 @@ public class EventPublisherAutoConfiguration {
                 return;
             }
 
+            // allows to reload the entities of received events in batches
+            if (remoteEvent instanceof RemoteEntityEvent) {
+                ((RemoteEntityEvent<?>) remoteEvent).announceEntity();
+            }
+
             tenantAware.runAsTenant(remoteEvent.getTenant(), () -> {
                 super.multicastEvent(event, eventType);
                 return null;
@@ -133,6 +158,37 @@ public class EventPublisherAutoConfiguration {
 
     }
 
+    @ConditionalOnBusEnabled
+    @ConditionalOnClass(StreamBridge.class)
+    protected static class BusBridgeAutoConfiguration {
+        /**
+         * @param streamBridge
+         *            to send the events
+         * @param busProperties
+         *            the bus properties
+         * @param repositoryProperties
+         *            to configure the batches and the events which are not
+         *            sent to the other nodes
+         * @param meterRegistry
+         *            to count the batches which could not be sent
+         * @return the bus bridge which sends remote events, in batches if
+         *         {@link RepositoryProperties#isBusEventBatching()}
+         */
+        @Bean
+        public FilteringBusBridge filteringBusBridge(final StreamBridge streamBridge,
+                final BusProperties busProperties, final RepositoryProperties repositoryProperties,
+                final ObjectProvider<MeterRegistry> meterRegistry) {
+            BusBridge busBridge = new StreamBusBridge(streamBridge, busProperties);
+            if (repositoryProperties.isBusEventBatching()) {
+                busBridge = new BatchingBusBridge(busBridge, repositoryProperties.getBusEventBatchSize(),
+                        repositoryProperties.getBusEventBatchInterval(),
+                        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+            }
+            return new FilteringBusBridge(busBridge, event -> event instanceof DownloadProgressEvent
+                    && !repositoryProperties.isPublishDownloadProgressEvent());
+        }
+    }
+
     @ConditionalOnBusEnabled
     @ConditionalOnClass({ Schema.class, ProtostuffIOUtil.class })
     protected static class BusProtoStuffAutoConfiguration {
@@ -35,6 +35,7 @@ import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.ControllerTenantAwareAuthenticationDetailsSource;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
 import org.eclipse.hawkbit.security.DosFilter;
+import org.eclipse.hawkbit.security.DosRateLimiter;
 import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
 import org.eclipse.hawkbit.security.HttpControllerPreAuthenticateAnonymousDownloadFilter;
 import org.eclipse.hawkbit.security.HttpControllerPreAuthenticateSecurityTokenFilter;
@@ -42,10 +43,13 @@ import org.eclipse.hawkbit.security.HttpControllerPreAuthenticatedGatewaySecurit
 import org.eclipse.hawkbit.security.HttpControllerPreAuthenticatedSecurityHeaderFilter;
 import org.eclipse.hawkbit.security.HttpDownloadAuthenticationFilter;
 import org.eclipse.hawkbit.security.PreAuthTokenSourceTrustAuthenticationProvider;
+import org.eclipse.hawkbit.security.SecurityTokenCache;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.security.TokenBucketRateLimiter;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -150,18 +154,21 @@ public class SecurityManagedConfiguration {
         private final DdiSecurityProperties ddiSecurityConfiguration;
         private final HawkbitSecurityProperties securityProperties;
         private final SystemSecurityContext systemSecurityContext;
+        private final SecurityTokenCache securityTokenCache;
 
         @Autowired
         ControllerSecurityConfigurationAdapter(final ControllerManagement controllerManagement,
                                                final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
                                                final DdiSecurityProperties ddiSecurityConfiguration,
-                                               final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext) {
+                                               final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext,
+                                               final ObjectProvider<SecurityTokenCache> securityTokenCache) {
             this.controllerManagement = controllerManagement;
             this.tenantConfigurationManagement = tenantConfigurationManagement;
             this.tenantAware = tenantAware;
             this.ddiSecurityConfiguration = ddiSecurityConfiguration;
             this.securityProperties = securityProperties;
             this.systemSecurityContext = systemSecurityContext;
+            this.securityTokenCache = securityTokenCache.getIfAvailable();
         }
 
         /**
@@ -176,10 +183,12 @@ public class SecurityManagedConfiguration {
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean<DosFilter> dosFilterDDI(final HawkbitSecurityProperties securityProperties) {
+        public FilterRegistrationBean<DosFilter> dosFilterDDI(final HawkbitSecurityProperties securityProperties,
+                final ObjectProvider<DosRateLimiter> rateLimiter) {
             final FilterRegistrationBean<DosFilter> filterRegBean =
                     dosFilter(List.of(DDI_ANT_MATCHERS),
-                        securityProperties.getDos().getFilter(), securityProperties.getClients());
+                        securityProperties.getDos().getFilter(), securityProperties.getClients(),
+                        controllerRateLimiter(securityProperties.getDos().getFilter(), rateLimiter));
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosDDiFilter");
 
@@ -224,7 +233,8 @@ public class SecurityManagedConfiguration {
                 securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
                 final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                        tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                        tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext,
+                        securityTokenCache);
                 securityTokenFilter.setAuthenticationManager(authenticationManager);
                 securityTokenFilter.setCheckForPrincipalChanges(true);
                 securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -269,18 +279,21 @@ public class SecurityManagedConfiguration {
         private final DdiSecurityProperties ddiSecurityConfiguration;
         private final HawkbitSecurityProperties securityProperties;
         private final SystemSecurityContext systemSecurityContext;
+        private final SecurityTokenCache securityTokenCache;
 
         @Autowired
         ControllerDownloadSecurityConfigurationAdapter(final ControllerManagement controllerManagement,
                                                        final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
                                                        final DdiSecurityProperties ddiSecurityConfiguration,
-                                                       final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext) {
+                                                       final HawkbitSecurityProperties securityProperties, final SystemSecurityContext systemSecurityContext,
+                                                       final ObjectProvider<SecurityTokenCache> securityTokenCache) {
             this.controllerManagement = controllerManagement;
             this.tenantConfigurationManagement = tenantConfigurationManagement;
             this.tenantAware = tenantAware;
             this.ddiSecurityConfiguration = ddiSecurityConfiguration;
             this.securityProperties = securityProperties;
             this.systemSecurityContext = systemSecurityContext;
+            this.securityTokenCache = securityTokenCache.getIfAvailable();
         }
 
         /**
@@ -295,9 +308,11 @@ public class SecurityManagedConfiguration {
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean<DosFilter> dosFilterDDIDL(final HawkbitSecurityProperties securityProperties) {
+        public FilterRegistrationBean<DosFilter> dosFilterDDIDL(final HawkbitSecurityProperties securityProperties,
+                final ObjectProvider<DosRateLimiter> rateLimiter) {
             final FilterRegistrationBean<DosFilter> filterRegBean = dosFilter(List.of(DDI_DL_ANT_MATCHER),
-                    securityProperties.getDos().getFilter(), securityProperties.getClients());
+                    securityProperties.getDos().getFilter(), securityProperties.getClients(),
+                    controllerRateLimiter(securityProperties.getDos().getFilter(), rateLimiter));
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosDDiDlFilter");
 
@@ -343,7 +358,8 @@ public class SecurityManagedConfiguration {
                 securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
                 final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                        tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                        tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext,
+                        securityTokenCache);
                 securityTokenFilter.setAuthenticationManager(authenticationManager);
                 securityTokenFilter.setCheckForPrincipalChanges(true);
                 securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -390,7 +406,7 @@ public class SecurityManagedConfiguration {
     @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
     public FilterRegistrationBean<DosFilter> dosSystemFilter(final HawkbitSecurityProperties securityProperties) {
         final FilterRegistrationBean<DosFilter> filterRegBean = dosFilter(Collections.emptyList(),
-                securityProperties.getDos().getFilter(), securityProperties.getClients());
+                securityProperties.getDos().getFilter(), securityProperties.getClients(), null);
         filterRegBean.setUrlPatterns(List.of("/system/*"));
         filterRegBean.setOrder(DOS_FILTER_ORDER);
         filterRegBean.setName("dosSystemFilter");
@@ -400,16 +416,26 @@ public class SecurityManagedConfiguration {
 
     private static FilterRegistrationBean<DosFilter> dosFilter(final Collection<String> includeAntPaths,
             final HawkbitSecurityProperties.Dos.Filter filterProperties,
-            final HawkbitSecurityProperties.Clients clientProperties) {
+            final HawkbitSecurityProperties.Clients clientProperties, final DosRateLimiter rateLimiter) {
         final FilterRegistrationBean<DosFilter> filterRegBean = new FilterRegistrationBean<>();
 
         filterRegBean.setFilter(new DosFilter(includeAntPaths, filterProperties.getMaxRead(),
                 filterProperties.getMaxWrite(), filterProperties.getWhitelist(), clientProperties.getBlacklist(),
-                clientProperties.getRemoteIpHeader()));
+                clientProperties.getRemoteIpHeader(), rateLimiter, filterProperties.getMaxTenantRead(),
+                filterProperties.getMaxTenantWrite(), filterProperties.getMaxIpRead(),
+                filterProperties.getMaxIpWrite()));
 
         return filterRegBean;
     }
 
+    private static DosRateLimiter controllerRateLimiter(final HawkbitSecurityProperties.Dos.Filter filterProperties,
+            final ObjectProvider<DosRateLimiter> rateLimiter) {
+        if (filterProperties.getMode() != HawkbitSecurityProperties.Dos.Filter.Mode.CONTROLLER) {
+            return null;
+        }
+        return rateLimiter.getIfAvailable(() -> new TokenBucketRateLimiter(filterProperties.getMaxClients()));
+    }
+
     /**
      * A Websecurity config to handle and filter the download ids.
      */
@@ -467,7 +493,7 @@ public class SecurityManagedConfiguration {
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
         public FilterRegistrationBean<DosFilter> dosFilterREST() {
             final FilterRegistrationBean<DosFilter> filterRegBean = dosFilter(null,
-                    securityProperties.getDos().getFilter(), securityProperties.getClients());
+                    securityProperties.getDos().getFilter(), securityProperties.getClients(), null);
             filterRegBean.setUrlPatterns(List.of("/rest/*", "/api/*"));
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosMgmtFilter");
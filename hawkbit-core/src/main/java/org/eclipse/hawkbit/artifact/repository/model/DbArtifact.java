@@ -10,6 +10,8 @@
 package org.eclipse.hawkbit.artifact.repository.model;
 
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
 
 /**
  * Interface definition for artifact binary.
@@ -43,4 +45,17 @@ public interface DbArtifact {
      * @return {@link InputStream} to read from artifact.
      */
     InputStream getFileInputStream();
+
+    /**
+     * Opens a {@link FileChannel} on this artifact if the binary is stored
+     * unaltered in a file, which allows to read from any position without
+     * reading the preceding bytes. Caller has to take care of closing the
+     * channel.
+     * 
+     * @return {@link FileChannel} to read from artifact or empty if the
+     *         artifact can only be read by {@link #getFileInputStream()}
+     */
+    default Optional<FileChannel> getFileChannel() {
+        return Optional.empty();
+    }
 }
@@ -27,6 +27,10 @@ import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Binding;
@@ -41,6 +45,7 @@ import org.springframework.amqp.rabbit.listener.ConditionalRejectingErrorHandler
 import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -51,6 +56,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ErrorHandler;
 
 import java.time.Duration;
@@ -269,6 +275,10 @@ public class AmqpConfiguration {
      *            for target repo access
      * @param entityFactory
      *            to create entities
+     * @param txManager
+     *            to handle the messages of a batch in shared transactions
+     * @param errorHandler
+     *            to decide if a message of a batch is requeued
      *
      * @return handler service bean
      */
@@ -278,9 +288,11 @@ public class AmqpConfiguration {
             final ControllerManagement controllerManagement, final EntityFactory entityFactory,
             final SystemSecurityContext systemSecurityContext,
             final TenantConfigurationManagement tenantConfigurationManagement,
-            final ConfirmationManagement confirmationManagement) {
+            final ConfirmationManagement confirmationManagement, final PlatformTransactionManager txManager,
+            final ErrorHandler errorHandler) {
         return new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherService, controllerManagement,
-                entityFactory, systemSecurityContext, tenantConfigurationManagement, confirmationManagement);
+                entityFactory, systemSecurityContext, tenantConfigurationManagement, confirmationManagement,
+                txManager, errorHandler);
     }
 
     /**
@@ -324,6 +336,23 @@ public class AmqpConfiguration {
         return factory;
     }
 
+    /**
+     * Create RabbitListenerContainerFactory bean for the batch listener of the
+     * receiver queue if no batchListenerContainerFactory bean found
+     *
+     * @return RabbitListenerContainerFactory bean
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "batchListenerContainerFactory")
+    public RabbitListenerContainerFactory<SimpleMessageListenerContainer> batchListenerContainerFactory(
+            final SimpleRabbitListenerContainerFactoryConfigurer configurer, final ErrorHandler errorHandler) {
+        final ConfigurableRabbitListenerContainerFactory factory = new ConfigurableRabbitListenerContainerFactory(
+                amqpProperties.isMissingQueuesFatal(), amqpProperties.getDeclarationRetries(), errorHandler);
+        configurer.configure(factory, rabbitConnectionFactory);
+        factory.enableBatchListener(amqpProperties.getBatchSize());
+        return factory;
+    }
+
     /**
      * create the authentication bean for controller over amqp.
      *
@@ -351,6 +380,35 @@ public class AmqpConfiguration {
                 tenantAware, ddiSecruityProperties, systemSecurityContext);
     }
 
+    /**
+     * Create the cache of the DMF payload templates.
+     *
+     * @param meterRegistry
+     *            to register the hit and miss metrics
+     * @return the cache
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DmfPayloadTemplateCache dmfPayloadTemplateCache(final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DmfPayloadTemplateCache(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                amqpProperties.getPayloadTemplateTtl(), amqpProperties.getPayloadTemplateCacheSize());
+    }
+
+    /**
+     * Create the executor which loads the targets of large DMF events in
+     * partitions.
+     *
+     * @param meterRegistry
+     *            to record the latency per partition
+     * @return the executor
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DmfPartitionExecutor dmfPartitionExecutor(final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DmfPartitionExecutor(amqpProperties.getPartitionSize(), amqpProperties.getPartitionParallelism(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
     @Bean
     @ConditionalOnMissingBean(AmqpMessageDispatcherService.class)
     AmqpMessageDispatcherService amqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
@@ -358,10 +416,12 @@ public class AmqpConfiguration {
             final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
             final TargetManagement targetManagement, final DistributionSetManagement distributionSetManagement,
             final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
-            final TenantConfigurationManagement tenantConfigurationManagement) {
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final DmfPayloadTemplateCache dmfPayloadTemplateCache, final DmfPartitionExecutor dmfPartitionExecutor) {
         return new AmqpMessageDispatcherService(rabbitTemplate, amqpSenderService, artifactUrlHandler,
                 systemSecurityContext, systemManagement, targetManagement, serviceMatcher, distributionSetManagement,
-                softwareModuleManagement, deploymentManagement, tenantConfigurationManagement);
+                softwareModuleManagement, deploymentManagement, tenantConfigurationManagement,
+                dmfPayloadTemplateCache, dmfPartitionExecutor);
     }
 
     private static Map<String, Object> getTTLMaxArgsAuthenticationQueue() {
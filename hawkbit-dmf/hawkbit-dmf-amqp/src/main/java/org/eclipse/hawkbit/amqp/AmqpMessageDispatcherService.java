@@ -13,35 +13,24 @@ import static org.eclipse.hawkbit.repository.RepositoryConstants.MAX_ACTION_COUN
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.BATCH_ASSIGNMENTS_ENABLED;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
-import org.eclipse.hawkbit.api.ApiType;
-import org.eclipse.hawkbit.api.ArtifactUrl;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
-import org.eclipse.hawkbit.api.URLPlaceholder;
-import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
 import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
 import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
 import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
 import org.eclipse.hawkbit.dmf.json.model.DmfActionRequest;
-import org.eclipse.hawkbit.dmf.json.model.DmfArtifact;
-import org.eclipse.hawkbit.dmf.json.model.DmfArtifactHash;
 import org.eclipse.hawkbit.dmf.json.model.DmfBatchDownloadAndUpdateRequest;
 import org.eclipse.hawkbit.dmf.json.model.DmfConfirmRequest;
 import org.eclipse.hawkbit.dmf.json.model.DmfDownloadAndUpdateRequest;
-import org.eclipse.hawkbit.dmf.json.model.DmfMetadata;
 import org.eclipse.hawkbit.dmf.json.model.DmfMultiActionRequest;
-import org.eclipse.hawkbit.dmf.json.model.DmfSoftwareModule;
 import org.eclipse.hawkbit.dmf.json.model.DmfTarget;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
@@ -57,7 +46,6 @@ import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEven
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.ActionProperties;
-import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
@@ -74,12 +62,8 @@ import org.springframework.cloud.bus.ServiceMatcher;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.CollectionUtils;
 
-import com.google.common.collect.Iterables;
-
 /**
  * {@link AmqpMessageDispatcherService} create all outgoing AMQP messages and
  * delegate the messages to a {@link AmqpMessageSenderService}.
@@ -92,8 +76,6 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     private static final Logger LOG = LoggerFactory.getLogger(AmqpMessageDispatcherService.class);
 
-    private static final int MAX_PROCESSING_SIZE = 1000;
-
     private final ArtifactUrlHandler artifactUrlHandler;
     private final AmqpMessageSenderService amqpSenderService;
     private final SystemSecurityContext systemSecurityContext;
@@ -104,6 +86,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     private final DeploymentManagement deploymentManagement;
     private final SoftwareModuleManagement softwareModuleManagement;
     private final TenantConfigurationManagement tenantConfigurationManagement;
+    private final DmfPayloadTemplateCache payloadTemplates;
+    private final DmfPartitionExecutor partitionExecutor;
 
     /**
      * Constructor.
@@ -127,6 +111,11 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
      *            to retrieve modules
      * @param tenantConfigurationManagement
      *            to access tenant configuration
+     * @param payloadTemplates
+     *            to reuse the software modules of a distribution set for
+     *            many targets
+     * @param partitionExecutor
+     *            to load the targets of large events in partitions
      *
      */
     protected AmqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
@@ -135,7 +124,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             final TargetManagement targetManagement, final ServiceMatcher serviceMatcher,
             final DistributionSetManagement distributionSetManagement,
             final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
-            final TenantConfigurationManagement tenantConfigurationManagement) {
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final DmfPayloadTemplateCache payloadTemplates, final DmfPartitionExecutor partitionExecutor) {
         super(rabbitTemplate);
         this.artifactUrlHandler = artifactUrlHandler;
         this.amqpSenderService = amqpSenderService;
@@ -147,6 +137,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         this.softwareModuleManagement = softwareModuleManagement;
         this.deploymentManagement = deploymentManagement;
         this.tenantConfigurationManagement = tenantConfigurationManagement;
+        this.payloadTemplates = payloadTemplates;
+        this.partitionExecutor = partitionExecutor;
     }
 
     /**
@@ -167,8 +159,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
         if (!filteredTargetList.isEmpty()) {
             LOG.debug("targetAssignDistributionSet retrieved. I will forward it to DMF broker.");
-            sendUpdateMessageToTargets(assignedEvent.getDistributionSetId(), assignedEvent.getActions(),
-                    filteredTargetList);
+            sendUpdateMessageToTargets(assignedEvent.getTenant(), assignedEvent.getDistributionSetId(),
+                    assignedEvent.getActions(), filteredTargetList);
         }
     }
 
@@ -188,7 +180,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private List<Target> getTargetsWithoutPendingCancellations(final Set<String> controllerIds) {
-        return partitionedParallelExecution(controllerIds, partition -> {
+        return partitionExecutor.execute(controllerIds, partition -> {
             return targetManagement.getByControllerID(partition).stream().filter(target -> {
                 if (hasPendingCancellations(target.getControllerId())) {
                     LOG.debug("Target {} has pending cancellations. Will not send update message to it.",
@@ -200,51 +192,44 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         });
     }
 
-    private void sendUpdateMessageToTargets(final Long dsId, final Map<String, ActionProperties> actionsPropsByTargetId,
-            final List<Target> targets) {
-        distributionSetManagement.get(dsId).ifPresent(ds -> {
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules = getSoftwareModulesWithMetadata(
-                    ds);
-            sendUpdateMessageToTargets(actionsPropsByTargetId, targets, softwareModules);
-        });
+    private void sendUpdateMessageToTargets(final String tenant, final Long dsId,
+            final Map<String, ActionProperties> actionsPropsByTargetId, final List<Target> targets) {
+        payloadTemplates.get(tenant, dsId, () -> distributionSetManagement.get(dsId)
+                .map(ds -> createPayloadTemplate(getSoftwareModulesWithMetadata(ds))))
+                .ifPresent(template -> sendUpdateMessageToTargets(actionsPropsByTargetId, targets, template));
     }
 
     protected void sendUpdateMessageToTarget(final ActionProperties actionsProps, final Target target,
             final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
         final Map<String, ActionProperties> actionProp = new HashMap<>();
         actionProp.put(target.getControllerId(), actionsProps);
-        sendUpdateMessageToTargets(actionProp, Collections.singletonList(target), softwareModules);
+        sendUpdateMessageToTargets(actionProp, Collections.singletonList(target),
+                createPayloadTemplate(softwareModules));
     }
 
     private void sendUpdateMessageToTargets(final Map<String, ActionProperties> actionsPropsByTargetId,
-            final List<Target> targets, final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+            final List<Target> targets, final DmfPayloadTemplate template) {
 
         if (!targets.isEmpty() && isBatchAssignmentsEnabled()) {
-            sendBatchUpdateMessage(actionsPropsByTargetId, targets, softwareModules);
+            sendBatchUpdateMessage(actionsPropsByTargetId, targets, template);
         } else {
             targets.forEach(target -> {
                 final ActionProperties actionProp = actionsPropsByTargetId.get(target.getControllerId());
-                sendSingleUpdateMessage(actionProp, target, softwareModules);
+                sendSingleUpdateMessage(actionProp, target, template);
             });
         }
     }
 
     private void sendMultiActionRequestMessages(final String tenant, final List<String> controllerIds) {
-
-        final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModuleMetadata = new HashMap<>();
         targetManagement.getByControllerID(controllerIds).stream()
                 .filter(target -> IpUtil.isAmqpUri(target.getAddress())).forEach(target -> {
 
                     final List<Action> activeActions = deploymentManagement
                             .findActiveActionsWithHighestWeight(target.getControllerId(), MAX_ACTION_COUNT);
 
-                    activeActions.forEach(action -> action.getDistributionSet().getModules().forEach(
-                            module -> softwareModuleMetadata.computeIfAbsent(module, this::getSoftwareModuleMetadata)));
-
                     if (!activeActions.isEmpty()) {
-                        sendMultiActionRequestToTarget(tenant, target, activeActions,
-                                action -> action.getDistributionSet().getModules().stream()
-                                        .collect(Collectors.toMap(m -> m, softwareModuleMetadata::get)));
+                        sendMultiActionRequest(tenant, target, activeActions,
+                                action -> getPayloadTemplate(tenant, action.getDistributionSet()));
                     }
                 });
 
@@ -252,6 +237,12 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     protected void sendMultiActionRequestToTarget(final String tenant, final Target target, final List<Action> actions,
             final Function<Action, Map<SoftwareModule, List<SoftwareModuleMetadata>>> getSoftwareModuleMetaData) {
+        sendMultiActionRequest(tenant, target, actions,
+                action -> createPayloadTemplate(getSoftwareModuleMetaData.apply(action)));
+    }
+
+    private void sendMultiActionRequest(final String tenant, final Target target, final List<Action> actions,
+            final Function<Action, DmfPayloadTemplate> getPayloadTemplate) {
 
         final URI targetAddress = target.getAddress();
         if (!IpUtil.isAmqpUri(targetAddress) || CollectionUtils.isEmpty(actions)) {
@@ -260,8 +251,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
         final DmfMultiActionRequest multiActionRequest = new DmfMultiActionRequest();
         actions.forEach(action -> {
-            final DmfActionRequest actionRequest = createDmfActionRequest(target, action,
-                    getSoftwareModuleMetaData.apply(action));
+            final DmfActionRequest actionRequest = createDmfActionRequest(target, action, getPayloadTemplate);
             final int weight = deploymentManagement.getWeightConsideringDefault(action);
             multiActionRequest.addElement(getEventTypeForAction(action), actionRequest, weight);
         });
@@ -272,13 +262,13 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private DmfActionRequest createDmfActionRequest(final Target target, final Action action,
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+            final Function<Action, DmfPayloadTemplate> getPayloadTemplate) {
         if (action.isCancelingOrCanceled()) {
             return createPlainActionRequest(action);
         } else if (action.isWaitingConfirmation()) {
-            return createConfirmRequest(target, action.getId(), softwareModules);
+            return createConfirmRequest(target, action.getId(), getPayloadTemplate.apply(action));
         }
-        return createDownloadAndUpdateRequest(target, action.getId(), softwareModules);
+        return createDownloadAndUpdateRequest(target, action.getId(), getPayloadTemplate.apply(action));
     }
 
     private static DmfActionRequest createPlainActionRequest(final Action action) {
@@ -289,14 +279,15 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     protected DmfDownloadAndUpdateRequest createDownloadAndUpdateRequest(final Target target, final Long actionId,
             final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+        return createDownloadAndUpdateRequest(target, actionId, createPayloadTemplate(softwareModules));
+    }
+
+    private DmfDownloadAndUpdateRequest createDownloadAndUpdateRequest(final Target target, final Long actionId,
+            final DmfPayloadTemplate template) {
         final DmfDownloadAndUpdateRequest request = new DmfDownloadAndUpdateRequest();
         request.setActionId(actionId);
         request.setTargetSecurityToken(systemSecurityContext.runAsSystem(target::getSecurityToken));
-
-        if (softwareModules != null) {
-            softwareModules.entrySet()
-                    .forEach(entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(target, entry)));
-        }
+        template.render(target, artifactUrlHandler).forEach(request::addSoftwareModule);
         return request;
     }
 
@@ -351,7 +342,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             return;
         }
 
-        final List<Target> eventTargets = partitionedParallelExecution(cancelEvent.getActions().keySet(),
+        final List<Target> eventTargets = partitionExecutor.execute(cancelEvent.getActions().keySet(),
                 targetManagement::getByControllerID);
 
         eventTargets.forEach(target -> {
@@ -363,33 +354,6 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         });
     }
 
-    private static <T, R> List<R> partitionedParallelExecution(final Collection<T> controllerIds,
-            final Function<Collection<T>, List<R>> loadingFunction) {
-        // Ensure not exceeding the max value of MAX_PROCESSING_SIZE
-        if (controllerIds.size() > MAX_PROCESSING_SIZE) {
-            // Split the provided collection
-            final Iterable<List<T>> partitions = Iterables.partition(controllerIds, MAX_PROCESSING_SIZE);
-            // Preserve the security context because it gets lost when executing
-            // loading calls in new threads
-            final SecurityContext context = SecurityContextHolder.getContext();
-            // Handling remote request in parallel streams
-            return StreamSupport.stream(partitions.spliterator(), true) //
-                    .flatMap(partition -> withSecurityContext(() -> loadingFunction.apply(partition), context).stream())
-                    .collect(Collectors.toList());
-        }
-        return loadingFunction.apply(controllerIds);
-    }
-
-    private static <T> T withSecurityContext(final Supplier<T> callable, final SecurityContext securityContext) {
-        final SecurityContext oldContext = SecurityContextHolder.getContext();
-        try {
-            SecurityContextHolder.setContext(securityContext);
-            return callable.get();
-        } finally {
-            SecurityContextHolder.setContext(oldContext);
-        }
-    }
-
     /**
      * Method to send a message to a RabbitMQ Exchange after a Target was
      * deleted.
@@ -413,7 +377,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private void sendSingleUpdateMessage(final ActionProperties action, final Target target,
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+            final DmfPayloadTemplate template) {
 
         final String tenant = action.getTenant();
 
@@ -426,9 +390,9 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         if (action.isWaitingConfirmation()) {
             // For the moment the confirmation request is the same as download and update request.
             // It can be modified not to expose all the software modules in the future.
-            request = createConfirmRequest(target, action.getId(), modules);
+            request = createConfirmRequest(target, action.getId(), template);
         } else {
-            request = createDownloadAndUpdateRequest(target, action.getId(), modules);
+            request = createDownloadAndUpdateRequest(target, action.getId(), template);
         }
 
         final Message message = getMessageConverter().toMessage(request,
@@ -525,50 +489,14 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return messageProperties;
     }
 
-    private DmfSoftwareModule convertToAmqpSoftwareModule(final Target target,
-            final Entry<SoftwareModule, List<SoftwareModuleMetadata>> entry) {
-        final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
-        amqpSoftwareModule.setModuleId(entry.getKey().getId());
-        amqpSoftwareModule.setModuleType(entry.getKey().getType().getKey());
-        amqpSoftwareModule.setModuleVersion(entry.getKey().getVersion());
-        amqpSoftwareModule.setEncrypted(entry.getKey().isEncrypted() ? Boolean.TRUE : null);
-        amqpSoftwareModule.setArtifacts(convertArtifacts(target, entry.getKey().getArtifacts()));
-
-        if (!CollectionUtils.isEmpty(entry.getValue())) {
-            amqpSoftwareModule.setMetadata(convertMetadata(entry.getValue()));
-        }
-
-        return amqpSoftwareModule;
-    }
-
-    private List<DmfMetadata> convertMetadata(final List<SoftwareModuleMetadata> metadata) {
-        return metadata.stream().map(md -> new DmfMetadata(md.getKey(), md.getValue())).collect(Collectors.toList());
-    }
-
-    private List<DmfArtifact> convertArtifacts(final Target target, final List<Artifact> localArtifacts) {
-        if (localArtifacts.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact))
-                .collect(Collectors.toList());
+    private DmfPayloadTemplate createPayloadTemplate(
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+        return DmfPayloadTemplate.of(systemManagement.getTenantMetadata(), softwareModules);
     }
 
-    private DmfArtifact convertArtifact(final Target target, final Artifact localArtifact) {
-        final DmfArtifact artifact = new DmfArtifact();
-
-        artifact.setUrls(artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(localArtifact.getSoftwareModule().getId(), localArtifact.getFilename(),
-                                localArtifact.getId(), localArtifact.getSha1Hash())),
-                        ApiType.DMF)
-                .stream().collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
-
-        artifact.setFilename(localArtifact.getFilename());
-        artifact.setHashes(new DmfArtifactHash(localArtifact.getSha1Hash(), localArtifact.getMd5Hash()));
-        artifact.setSize(localArtifact.getSize());
-        return artifact;
+    private DmfPayloadTemplate getPayloadTemplate(final String tenant, final DistributionSet distributionSet) {
+        return payloadTemplates.get(tenant, distributionSet.getId(),
+                () -> Optional.of(createPayloadTemplate(getSoftwareModulesWithMetadata(distributionSet)))).get();
     }
 
     private Map<SoftwareModule, List<SoftwareModuleMetadata>> getSoftwareModulesWithMetadata(
@@ -582,7 +510,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private void sendBatchUpdateMessage(final Map<String, ActionProperties> actions, final List<Target> targets,
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+            final DmfPayloadTemplate template) {
 
         final List<DmfTarget> dmfTargets = targets.stream().filter(target -> IpUtil.isAmqpUri(target.getAddress()))
                 .map(t -> convertToDmfTarget(t, actions.get(t.getControllerId()).getId())).collect(Collectors.toList());
@@ -595,10 +523,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         // software modules we don't generate
         // target-specific urls
         final Target firstTarget = targets.get(0);
-        if (modules != null) {
-            modules.entrySet()
-                    .forEach(entry -> batchRequest.addSoftwareModule(convertToAmqpSoftwareModule(firstTarget, entry)));
-        }
+        template.render(firstTarget, artifactUrlHandler).forEach(batchRequest::addSoftwareModule);
 
         // we use only the first action when constructing message as Tenant and
         // action type are the same
@@ -648,15 +573,17 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
      */
     protected DmfConfirmRequest createConfirmRequest(final Target target, final Long actionId, final Map<SoftwareModule,
             List<SoftwareModuleMetadata>> softwareModules) {
+        return createConfirmRequest(target, actionId, createPayloadTemplate(softwareModules));
+    }
+
+    private DmfConfirmRequest createConfirmRequest(final Target target, final Long actionId,
+            final DmfPayloadTemplate template) {
         final DmfConfirmRequest request = new DmfConfirmRequest();
         request.setActionId(actionId);
         request.setTargetSecurityToken(systemSecurityContext.runAsSystem(target::getSecurityToken));
 
         //Software modules can be filtered in the future exposing only the needed.
-        if (softwareModules != null) {
-            softwareModules.entrySet()
-                    .forEach(entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(target, entry)));
-        }
+        template.render(target, artifactUrlHandler).forEach(request::addSoftwareModule);
         return request;
     }
 }
@@ -12,11 +12,15 @@ package org.eclipse.hawkbit.amqp;
 import static org.eclipse.hawkbit.repository.RepositoryConstants.MAX_ACTION_COUNT;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.MULTI_ASSIGNMENTS_ENABLED;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -57,26 +61,48 @@ import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ErrorHandler;
 import org.springframework.util.StringUtils;
 
+import com.rabbitmq.client.Channel;
+
 /**
  *
  * {@link AmqpMessageHandlerService} handles all incoming target interaction
  * AMQP messages (e.g. create target, check for updates etc.) for the queue
  * which is configured for the property hawkbit.dmf.rabbitmq.receiverQueue.
  *
+ * If hawkbit.dmf.rabbitmq.batchListenerEnabled is set, the messages are
+ * received in batches instead. Consecutive THING_CREATED, UPDATE_ACTION_STATUS
+ * and UPDATE_ATTRIBUTES messages of a tenant are handled in one transaction.
+ *
  */
 public class AmqpMessageHandlerService extends BaseAmqpService {
 
     private static final Logger LOG = LoggerFactory.getLogger(AmqpMessageHandlerService.class);
 
+    /**
+     * Attempts of the transaction of a group of messages before the messages
+     * are handled one by one.
+     */
+    private static final int GROUP_TX_RT_MAX = 3;
+    private static final long GROUP_TX_RT_DELAY = 100;
+
     private final AmqpMessageDispatcherService amqpMessageDispatcherService;
 
     private ControllerManagement controllerManagement;
@@ -88,6 +114,12 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
     private final SystemSecurityContext systemSecurityContext;
 
+    private final TransactionTemplate txTemplate;
+
+    private final RetryTemplate retryTemplate;
+
+    private final ErrorHandler errorHandler;
+
     private static final String THING_ID_NULL = "ThingId is null";
 
     private static final String EMPTY_MESSAGE_BODY = "\"\"";
@@ -109,12 +141,17 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            the tenant configuration Management
      * @param confirmationManagement
      *            the confirmation management
+     * @param txManager
+     *            to handle the grouped messages of a batch in one transaction
+     * @param errorHandler
+     *            to decide if a failed message of a batch is requeued
      */
     public AmqpMessageHandlerService(final RabbitTemplate rabbitTemplate,
             final AmqpMessageDispatcherService amqpMessageDispatcherService,
             final ControllerManagement controllerManagement, final EntityFactory entityFactory,
             final SystemSecurityContext systemSecurityContext,
-            final TenantConfigurationManagement tenantConfigurationManagement, final ConfirmationManagement confirmationManagement) {
+            final TenantConfigurationManagement tenantConfigurationManagement, final ConfirmationManagement confirmationManagement,
+            final PlatformTransactionManager txManager, final ErrorHandler errorHandler) {
         super(rabbitTemplate);
         this.amqpMessageDispatcherService = amqpMessageDispatcherService;
         this.controllerManagement = controllerManagement;
@@ -122,6 +159,25 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         this.systemSecurityContext = systemSecurityContext;
         this.tenantConfigurationManagement = tenantConfigurationManagement;
         this.confirmationManagement = confirmationManagement;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.txTemplate.setName("dmfBatch");
+        this.txTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.retryTemplate = createRetryTemplate();
+        this.errorHandler = errorHandler;
+    }
+
+    private static RetryTemplate createRetryTemplate() {
+        final RetryTemplate template = new RetryTemplate();
+
+        final FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+        backOffPolicy.setBackOffPeriod(GROUP_TX_RT_DELAY);
+        template.setBackOffPolicy(backOffPolicy);
+
+        final SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy(GROUP_TX_RT_MAX,
+                Collections.singletonMap(ConcurrencyFailureException.class, true));
+        template.setRetryPolicy(retryPolicy);
+
+        return template;
     }
 
     /**
@@ -135,7 +191,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            the contentType of the message
      * @return a message if <null> no message is send back to sender
      */
-    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory")
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory", autoStartup = "#{!${hawkbit.dmf.rabbitmq.batchListenerEnabled:false}}")
     public Message onMessage(final Message message,
             @Header(name = MessageHeaderKey.TYPE, required = false) final String type,
             @Header(name = MessageHeaderKey.TENANT, required = false) final String tenant) {
@@ -162,28 +218,9 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
         final SecurityContext oldContext = SecurityContextHolder.getContext();
         try {
-            final MessageType messageType = MessageType.valueOf(type);
-            switch (messageType) {
-            case THING_CREATED:
-                setTenantSecurityContext(tenant);
-                registerTarget(message, virtualHost);
-                break;
-            case THING_REMOVED:
-                setTenantSecurityContext(tenant);
-                deleteTarget(message);
-                break;
-            case EVENT:
-                checkContentTypeJson(message);
-                setTenantSecurityContext(tenant);
-                handleIncomingEvent(message);
-                break;
-            case PING:
-                if (isCorrelationIdNotEmpty(message)) {
-                    amqpMessageDispatcherService.sendPingReponseToDmfReceiver(message, tenant, virtualHost);
-                }
-                break;
-            default:
-                logAndThrowMessageError(message, "No handle method was found for the given message type.");
+            final Target target = handleMessage(message, type, tenant, virtualHost);
+            if (target != null) {
+                sendUpdateCommandToTarget(target);
             }
         } catch(AssignmentQuotaExceededException ex) {
             throw new AmqpRejectAndDontRequeueException("Could not handle message due to quota violation!", ex);
@@ -195,6 +232,192 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         return null;
     }
 
+    /**
+     * Method to handle a batch of incoming DMF amqp messages.
+     *
+     * @param messages
+     *            incoming messages
+     * @param channel
+     *            to acknowledge or reject the messages
+     */
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "batchListenerContainerFactory", autoStartup = "${hawkbit.dmf.rabbitmq.batchListenerEnabled:false}")
+    public void onMessages(final List<Message> messages, final Channel channel) {
+        onMessages(messages, channel, getRabbitTemplate().getConnectionFactory().getVirtualHost());
+    }
+
+    /**
+     * Executed if a batch of amqp messages arrives. The messages are split by
+     * tenant in the order of their first message and the messages of a
+     * tenant keep their order, so that the messages of a target are handled
+     * in the order of their arrival. Consecutive THING_CREATED,
+     * UPDATE_ACTION_STATUS and UPDATE_ATTRIBUTES messages of a tenant are
+     * handled in one transaction and the update commands are sent to the
+     * targets after the commit. As the retries of the
+     * {@link ControllerManagement} do not help within this transaction, the
+     * transaction is retried as a whole on a
+     * {@link ConcurrencyFailureException}. If the transaction still fails, the
+     * messages are handled one by one. Every message is acknowledged or
+     * rejected on its own.
+     *
+     * @param messages
+     *            the messages
+     * @param channel
+     *            to acknowledge or reject the messages
+     * @param virtualHost
+     *            the virtual host
+     */
+    public void onMessages(final List<Message> messages, final Channel channel, final String virtualHost) {
+        final Map<String, List<Message>> messagesByTenant = new LinkedHashMap<>();
+        messages.forEach(message -> messagesByTenant
+                .computeIfAbsent(getHeader(message, MessageHeaderKey.TENANT), key -> new ArrayList<>())
+                .add(message));
+
+        messagesByTenant.values().forEach(tenantMessages -> {
+            final List<Message> group = new ArrayList<>();
+            tenantMessages.forEach(message -> {
+                if (isGroupedInTransaction(message)) {
+                    group.add(message);
+                    return;
+                }
+                handleGroup(group, channel, virtualHost);
+                group.clear();
+                handleAndAcknowledge(message, channel, virtualHost);
+            });
+            handleGroup(group, channel, virtualHost);
+        });
+    }
+
+    private void handleGroup(final List<Message> group, final Channel channel, final String virtualHost) {
+        final List<Target> targets = group.size() > 1 ? onMessagesInTransaction(group, virtualHost) : null;
+        if (targets == null) {
+            group.forEach(message -> handleAndAcknowledge(message, channel, virtualHost));
+            return;
+        }
+
+        group.forEach(message -> ack(message, channel));
+
+        final SecurityContext oldContext = SecurityContextHolder.getContext();
+        try {
+            setTenantSecurityContext(getHeader(group.get(0), MessageHeaderKey.TENANT));
+            targets.stream().filter(Objects::nonNull).forEach(this::sendUpdateCommandToTarget);
+        } catch (final RuntimeException e) {
+            // the messages are already handled and acknowledged
+            LOG.error("Failed to send the update commands for {} messages.", group.size(), e);
+        } finally {
+            SecurityContextHolder.setContext(oldContext);
+        }
+    }
+
+    private void handleAndAcknowledge(final Message message, final Channel channel, final String virtualHost) {
+        try {
+            onMessage(message, getHeader(message, MessageHeaderKey.TYPE), getHeader(message, MessageHeaderKey.TENANT),
+                    virtualHost);
+            ack(message, channel);
+        } catch (final RuntimeException e) {
+            reject(message, channel, e);
+        }
+    }
+
+    private List<Target> onMessagesInTransaction(final List<Message> group, final String virtualHost) {
+        final String tenant = getHeader(group.get(0), MessageHeaderKey.TENANT);
+
+        try {
+            // the tenant has to be set before the transaction is opened
+            return systemSecurityContext
+                    .runAsSystemAsTenant(() -> retryTemplate.execute(context -> txTemplate.execute(status -> {
+                        final List<Target> updated = new ArrayList<>(group.size());
+                        group.forEach(message -> updated.add(handleMessage(message,
+                                getHeader(message, MessageHeaderKey.TYPE), tenant, virtualHost)));
+                        return updated;
+                    })), tenant);
+        } catch (final RuntimeException e) {
+            LOG.debug("Failed to handle {} messages of tenant {} in one transaction, handle them one by one.",
+                    group.size(), tenant, e);
+            return null;
+        }
+    }
+
+    private static String getHeader(final Message message, final String key) {
+        return message.getMessageProperties().getHeader(key);
+    }
+
+    private static boolean isGroupedInTransaction(final Message message) {
+        if (StringUtils.isEmpty(getHeader(message, MessageHeaderKey.TENANT))) {
+            return false;
+        }
+
+        final String type = getHeader(message, MessageHeaderKey.TYPE);
+        if (MessageType.THING_CREATED.name().equals(type)) {
+            return true;
+        }
+
+        final String topic = getHeader(message, MessageHeaderKey.TOPIC);
+        return MessageType.EVENT.name().equals(type) && (EventTopic.UPDATE_ACTION_STATUS.name().equals(topic)
+                || EventTopic.UPDATE_ATTRIBUTES.name().equals(topic));
+    }
+
+    private static void ack(final Message message, final Channel channel) {
+        try {
+            channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
+        } catch (final IOException e) {
+            LOG.error("Failed to acknowledge message with delivery tag {}.",
+                    message.getMessageProperties().getDeliveryTag(), e);
+        }
+    }
+
+    private void reject(final Message message, final Channel channel, final RuntimeException cause) {
+        final boolean requeue = isRequeued(message, cause);
+        try {
+            channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, requeue);
+        } catch (final IOException e) {
+            LOG.error("Failed to reject message with delivery tag {}.",
+                    message.getMessageProperties().getDeliveryTag(), e);
+        }
+    }
+
+    // decides like the listener container if the message is requeued
+    private boolean isRequeued(final Message message, final RuntimeException cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof AmqpRejectAndDontRequeueException) {
+                LOG.error("Received an AmqpRejectAndDontRequeueException due to {}", t.getMessage());
+                return false;
+            }
+        }
+
+        try {
+            errorHandler.handleError(new ListenerExecutionFailedException("Listener threw exception", cause, message));
+        } catch (final AmqpRejectAndDontRequeueException e) {
+            return false;
+        }
+        return true;
+    }
+
+    private Target handleMessage(final Message message, final String type, final String tenant,
+            final String virtualHost) {
+        final MessageType messageType = MessageType.valueOf(type);
+        switch (messageType) {
+        case THING_CREATED:
+            setTenantSecurityContext(tenant);
+            return registerTarget(message, virtualHost);
+        case THING_REMOVED:
+            setTenantSecurityContext(tenant);
+            deleteTarget(message);
+            break;
+        case EVENT:
+            checkContentTypeJson(message);
+            setTenantSecurityContext(tenant);
+            return handleIncomingEvent(message);
+        case PING:
+            if (isCorrelationIdNotEmpty(message)) {
+                amqpMessageDispatcherService.sendPingReponseToDmfReceiver(message, tenant, virtualHost);
+            }
+            break;
+        default:
+            logAndThrowMessageError(message, "No handle method was found for the given message type.");
+        }
+        return null;
+    }
+
     private static void setSecurityContext(final Authentication authentication) {
         final SecurityContextImpl securityContextImpl = new SecurityContextImpl();
         securityContextImpl.setAuthentication(authentication);
@@ -218,8 +441,9 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            name and attributes in body
      * @param virtualHost
      *            the virtual host
+     * @return the target to send the update command to
      */
-    private void registerTarget(final Message message, final String virtualHost) {
+    private Target registerTarget(final Message message, final String virtualHost) {
         final String thingId = getStringHeaderKey(message, MessageHeaderKey.THING_ID, THING_ID_NULL);
         final String replyTo = message.getMessageProperties().getReplyTo();
 
@@ -246,7 +470,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
                 }
             }
             LOG.debug("Target {} reported online state.", thingId);
-            sendUpdateCommandToTarget(target);
+            return target;
         } catch (final EntityAlreadyExistsException e) {
             throw new AmqpRejectAndDontRequeueException(
                     "Tried to register previously registered target, message will be ignored!", e);
@@ -316,12 +540,13 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *
      * @param message
      *            the incoming event message.
+     * @return the target to send the update command to, <code>null</code> if
+     *         no update command is sent
      */
-    private void handleIncomingEvent(final Message message) {
+    private Target handleIncomingEvent(final Message message) {
         switch (EventTopic.valueOf(getStringHeaderKey(message, MessageHeaderKey.TOPIC, "EventTopic is null"))) {
         case UPDATE_ACTION_STATUS:
-            updateActionStatus(message);
-            break;
+            return updateActionStatus(message);
         case UPDATE_ATTRIBUTES:
             updateAttributes(message);
             break;
@@ -332,7 +557,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
             logAndThrowMessageError(message, "Got event without appropriate topic.");
             break;
         }
-
+        return null;
     }
 
     private void deleteTarget(final Message message) {
@@ -369,8 +594,10 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *
      * @param message
      *            the object form the ampq message
+     * @return the target to send the update command to, <code>null</code> if
+     *         the target should not proceed
      */
-    private void updateActionStatus(final Message message) {
+    private Target updateActionStatus(final Message message) {
         final DmfActionUpdateStatus actionUpdateStatus = convertMessage(message, DmfActionUpdateStatus.class);
         final Action action = checkActionExist(message, actionUpdateStatus);
 
@@ -404,8 +631,9 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         }
 
         if (shouldTargetProceed(updatedAction) || actionUpdateStatus.getActionStatus() == DmfActionStatus.CONFIRMED) {
-            sendUpdateCommandToTarget(action.getTarget());
+            return action.getTarget();
         }
+        return null;
     }
 
     private static boolean shouldTargetProceed(final Action action) {
@@ -23,6 +23,16 @@ public class AmqpProperties {
 
     private static final long DEFAULT_REQUEUE_DELAY = 0;
 
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private static final long DEFAULT_PAYLOAD_TEMPLATE_TTL = 10_000;
+
+    private static final long DEFAULT_PAYLOAD_TEMPLATE_CACHE_SIZE = 1_000;
+
+    private static final int DEFAULT_PARTITION_SIZE = 1_000;
+
+    private static final int DEFAULT_PARTITION_PARALLELISM = 4;
+
     /**
      * Enable DMF API based on AMQP 0.9
      */
@@ -67,6 +77,92 @@ public class AmqpProperties {
      */
     private long requeueDelay = DEFAULT_REQUEUE_DELAY;
 
+    /**
+     * Receive the messages of the receiver queue in batches instead of one by
+     * one.
+     */
+    private boolean batchListenerEnabled;
+
+    /**
+     * Maximum number of messages received in one batch if the batch listener
+     * is enabled.
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Time in milliseconds the software modules of a distribution set are
+     * reused for the DMF messages of further targets, 0 to disable. Changes
+     * without an event, e.g. of the artifacts of a module, are sent after this
+     * time at the latest.
+     */
+    private long payloadTemplateTtl = DEFAULT_PAYLOAD_TEMPLATE_TTL;
+
+    /**
+     * Maximum number of distribution sets whose software modules are cached
+     * for the DMF messages.
+     */
+    private long payloadTemplateCacheSize = DEFAULT_PAYLOAD_TEMPLATE_CACHE_SIZE;
+
+    /**
+     * Maximum number of targets of an event which are loaded from the
+     * repository by one query.
+     */
+    private int partitionSize = DEFAULT_PARTITION_SIZE;
+
+    /**
+     * Maximum number of partitions of an event which are loaded in parallel,
+     * each of them uses a database connection.
+     */
+    private int partitionParallelism = DEFAULT_PARTITION_PARALLELISM;
+
+    public int getPartitionSize() {
+        return partitionSize;
+    }
+
+    public void setPartitionSize(final int partitionSize) {
+        this.partitionSize = partitionSize;
+    }
+
+    public int getPartitionParallelism() {
+        return partitionParallelism;
+    }
+
+    public void setPartitionParallelism(final int partitionParallelism) {
+        this.partitionParallelism = partitionParallelism;
+    }
+
+    public long getPayloadTemplateTtl() {
+        return payloadTemplateTtl;
+    }
+
+    public void setPayloadTemplateTtl(final long payloadTemplateTtl) {
+        this.payloadTemplateTtl = payloadTemplateTtl;
+    }
+
+    public long getPayloadTemplateCacheSize() {
+        return payloadTemplateCacheSize;
+    }
+
+    public void setPayloadTemplateCacheSize(final long payloadTemplateCacheSize) {
+        this.payloadTemplateCacheSize = payloadTemplateCacheSize;
+    }
+
+    public boolean isBatchListenerEnabled() {
+        return batchListenerEnabled;
+    }
+
+    public void setBatchListenerEnabled(final boolean batchListenerEnabled) {
+        this.batchListenerEnabled = batchListenerEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public long getRequeueDelay() {
         return requeueDelay;
     }
@@ -9,6 +9,7 @@
  */
 package org.eclipse.hawkbit.amqp;
 
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.listener.RabbitListenerEndpoint;
@@ -42,6 +43,21 @@ public class ConfigurableRabbitListenerContainerFactory extends SimpleRabbitList
         setMissingQueuesFatal(missingQueuesFatal);
     }
 
+    /**
+     * Configures the containers to receive the messages in batches of the given
+     * size. The listener has to acknowledge or reject every message of a batch
+     * on its own.
+     * 
+     * @param batchSize
+     *            maximum number of messages in a batch
+     */
+    public void enableBatchListener(final int batchSize) {
+        setBatchListener(true);
+        setConsumerBatchEnabled(true);
+        setBatchSize(batchSize);
+        setAcknowledgeMode(AcknowledgeMode.MANUAL);
+    }
+
     @Override
     // Exception squid:UnusedProtectedMethod - called by
     // AbstractRabbitListenerContainerFactory
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Loads the entities of large DMF events, e.g. the targets of an assignment,
+ * in partitions on a dedicated thread pool instead of the common fork join
+ * pool. The number of partitions loaded in parallel is bounded by the pool
+ * size, so a large event does not claim more database connections than
+ * configured. The security context of the caller is propagated to the pool.
+ * The latency of every partition is recorded as {@value #METRIC_NAME} timer.
+ */
+public class DmfPartitionExecutor implements DisposableBean {
+
+    private static final String METRIC_NAME = "hawkbit.dmf.partition";
+
+    private final int partitionSize;
+    private final Timer partitionTimer;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor.
+     *
+     * @param partitionSize
+     *            maximum number of entities loaded by one call
+     * @param parallelism
+     *            maximum number of partitions loaded in parallel, the
+     *            partitions are loaded one after another by the calling thread
+     *            if <code>1</code>
+     * @param meterRegistry
+     *            to record the latency per partition
+     */
+    public DmfPartitionExecutor(final int partitionSize, final int parallelism, final MeterRegistry meterRegistry) {
+        this.partitionSize = partitionSize;
+        this.partitionTimer = Timer.builder(METRIC_NAME).register(meterRegistry);
+        this.executor = parallelism > 1
+                ? new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(parallelism,
+                        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("dmf-partition-%d").build()))
+                : null;
+    }
+
+    /**
+     * Loads the entities of the given keys partition by partition.
+     *
+     * @param keys
+     *            to load the entities for
+     * @param loadingFunction
+     *            loads the entities of one partition
+     * @return the entities of all partitions in the order of the partitions
+     */
+    public <T, R> List<R> execute(final Collection<T> keys, final Function<Collection<T>, List<R>> loadingFunction) {
+        if (keys.size() <= partitionSize) {
+            return load(keys, loadingFunction);
+        }
+
+        final List<List<T>> partitions = Lists.partition(new ArrayList<>(keys), partitionSize);
+        final List<R> result = new ArrayList<>(keys.size());
+        if (executor == null) {
+            partitions.forEach(partition -> result.addAll(load(partition, loadingFunction)));
+            return result;
+        }
+
+        final List<Future<List<R>>> futures = new ArrayList<>(partitions.size());
+        partitions.forEach(partition -> futures.add(executor.submit(() -> load(partition, loadingFunction))));
+        try {
+            for (final Future<List<R>> future : futures) {
+                result.addAll(future.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while loading partitions", e);
+        } catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return result;
+    }
+
+    private <T, R> List<R> load(final Collection<T> partition,
+            final Function<Collection<T>, List<R>> loadingFunction) {
+        return partitionTimer.record(() -> loadingFunction.apply(partition));
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.api.ApiType;
+import org.eclipse.hawkbit.api.ArtifactUrl;
+import org.eclipse.hawkbit.api.ArtifactUrlHandler;
+import org.eclipse.hawkbit.api.URLPlaceholder;
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifact;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifactHash;
+import org.eclipse.hawkbit.dmf.json.model.DmfMetadata;
+import org.eclipse.hawkbit.dmf.json.model.DmfSoftwareModule;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * The target independent part of the software modules of a DMF message. The
+ * modules, their target visible metadata and the artifacts are converted once
+ * per distribution set, only the download URLs are rendered per target by the
+ * {@link ArtifactUrlHandler}.
+ */
+public final class DmfPayloadTemplate {
+
+    private final String tenant;
+    private final Long tenantId;
+    private final List<ModuleTemplate> modules;
+
+    private DmfPayloadTemplate(final String tenant, final Long tenantId, final List<ModuleTemplate> modules) {
+        this.tenant = tenant;
+        this.tenantId = tenantId;
+        this.modules = modules;
+    }
+
+    /**
+     * Creates the template of the given software modules.
+     *
+     * @param tenantMetaData
+     *            of the tenant the modules belong to
+     * @param softwareModules
+     *            the modules with their target visible metadata, may be
+     *            <code>null</code>
+     * @return the template
+     */
+    public static DmfPayloadTemplate of(final TenantMetaData tenantMetaData,
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+        final List<ModuleTemplate> modules = softwareModules == null ? Collections.emptyList()
+                : softwareModules.entrySet().stream()
+                        .map(entry -> new ModuleTemplate(entry.getKey(), entry.getValue()))
+                        .collect(Collectors.toList());
+        return new DmfPayloadTemplate(tenantMetaData.getTenant(), tenantMetaData.getId(), modules);
+    }
+
+    /**
+     * Renders the software modules for the given target.
+     *
+     * @param target
+     *            the download URLs are generated for
+     * @param artifactUrlHandler
+     *            to generate the download URLs
+     * @return the software modules of the DMF message
+     */
+    public List<DmfSoftwareModule> render(final Target target, final ArtifactUrlHandler artifactUrlHandler) {
+        final Function<SoftwareData, URLPlaceholder> placeholders = softwareData -> new URLPlaceholder(tenant,
+                tenantId, target.getControllerId(), target.getId(), softwareData);
+        return modules.stream().map(module -> module.render(placeholders, artifactUrlHandler))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param moduleId
+     *            of the software module
+     * @return <code>true</code> if the template contains the software module
+     */
+    public boolean containsModule(final Long moduleId) {
+        return modules.stream().anyMatch(module -> module.moduleId.equals(moduleId));
+    }
+
+    private static final class ModuleTemplate {
+        private final Long moduleId;
+        private final String moduleType;
+        private final String moduleVersion;
+        private final Boolean encrypted;
+        private final List<DmfMetadata> metadata;
+        private final List<ArtifactTemplate> artifacts;
+
+        private ModuleTemplate(final SoftwareModule module, final List<SoftwareModuleMetadata> metadata) {
+            this.moduleId = module.getId();
+            this.moduleType = module.getType().getKey();
+            this.moduleVersion = module.getVersion();
+            this.encrypted = module.isEncrypted() ? Boolean.TRUE : null;
+            this.metadata = CollectionUtils.isEmpty(metadata) ? null
+                    : Collections.unmodifiableList(metadata.stream()
+                            .map(md -> new DmfMetadata(md.getKey(), md.getValue())).collect(Collectors.toList()));
+            this.artifacts = module.getArtifacts().stream().map(ArtifactTemplate::new).collect(Collectors.toList());
+        }
+
+        private DmfSoftwareModule render(final Function<SoftwareData, URLPlaceholder> placeholders,
+                final ArtifactUrlHandler artifactUrlHandler) {
+            final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
+            amqpSoftwareModule.setModuleId(moduleId);
+            amqpSoftwareModule.setModuleType(moduleType);
+            amqpSoftwareModule.setModuleVersion(moduleVersion);
+            amqpSoftwareModule.setEncrypted(encrypted);
+            amqpSoftwareModule.setArtifacts(artifacts.isEmpty() ? Collections.emptyList()
+                    : artifacts.stream().map(artifact -> artifact.render(placeholders, artifactUrlHandler))
+                            .collect(Collectors.toList()));
+            if (metadata != null) {
+                amqpSoftwareModule.setMetadata(metadata);
+            }
+            return amqpSoftwareModule;
+        }
+    }
+
+    private static final class ArtifactTemplate {
+        private final SoftwareData softwareData;
+        private final DmfArtifactHash hashes;
+        private final long size;
+
+        private ArtifactTemplate(final Artifact artifact) {
+            this.softwareData = new SoftwareData(artifact.getSoftwareModule().getId(), artifact.getFilename(),
+                    artifact.getId(), artifact.getSha1Hash());
+            this.hashes = new DmfArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash());
+            this.size = artifact.getSize();
+        }
+
+        private DmfArtifact render(final Function<SoftwareData, URLPlaceholder> placeholders,
+                final ArtifactUrlHandler artifactUrlHandler) {
+            final DmfArtifact artifact = new DmfArtifact();
+            artifact.setUrls(artifactUrlHandler.getUrls(placeholders.apply(softwareData), ApiType.DMF).stream()
+                    .collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
+            artifact.setFilename(softwareData.getFilename());
+            artifact.setHashes(hashes);
+            artifact.setSize(size);
+            return artifact;
+        }
+    }
+}
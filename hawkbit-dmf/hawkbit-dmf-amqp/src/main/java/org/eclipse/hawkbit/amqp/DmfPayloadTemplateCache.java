@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caches the {@link DmfPayloadTemplate} of a distribution set per tenant, so
+ * the software modules of a distribution set are only converted once if the
+ * set is assigned to many targets. The templates are evicted if the
+ * distribution set or one of its software modules, including the metadata of
+ * a module, changes. Changes without an event, e.g. of the artifacts of a
+ * module, are sent after the given time to live at the latest.
+ */
+public class DmfPayloadTemplateCache {
+
+    private static final String METRIC_NAME = "hawkbit.dmf.payload.template.cache";
+
+    private final Cache<String, DmfPayloadTemplate> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry
+     *            to register the hit and miss metrics
+     * @param timeToLive
+     *            time in {@link TimeUnit#MILLISECONDS} after which a template
+     *            is built again, <code>0</code> to disable the cache
+     * @param maximumSize
+     *            maximum number of cached templates
+     */
+    public DmfPayloadTemplateCache(final MeterRegistry meterRegistry, final long timeToLive,
+            final long maximumSize) {
+        this.cache = timeToLive > 0
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS)
+                        .build()
+                : null;
+        this.hits = Counter.builder(METRIC_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME).tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached template of the distribution set or builds it. A
+     * built template is not cached if a template has been evicted meanwhile,
+     * as it might have been built before the change which caused the
+     * eviction.
+     *
+     * @param tenant
+     *            the distribution set belongs to
+     * @param distributionSetId
+     *            of the distribution set
+     * @param loader
+     *            to build the template, empty if the distribution set does not
+     *            exist
+     * @return the template or empty if the distribution set does not exist
+     */
+    public Optional<DmfPayloadTemplate> get(final String tenant, final Long distributionSetId,
+            final Supplier<Optional<DmfPayloadTemplate>> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+
+        final String key = getKey(tenant, distributionSetId);
+        final DmfPayloadTemplate cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+
+        final long loadedGeneration = generation.get();
+        final Optional<DmfPayloadTemplate> loaded = loader.get();
+        loaded.ifPresent(template -> {
+            if (generation.get() == loadedGeneration) {
+                cache.put(key, template);
+                if (generation.get() != loadedGeneration) {
+                    cache.invalidate(key);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Evicts the template of the changed or deleted distribution set.
+     *
+     * @param event
+     *            of the distribution set
+     */
+    @EventListener(classes = { DistributionSetUpdatedEvent.class, DistributionSetDeletedEvent.class })
+    public void onDistributionSetChange(final RemoteIdEvent event) {
+        if (cache != null) {
+            generation.incrementAndGet();
+            cache.invalidate(getKey(event.getTenant(), event.getEntityId()));
+        }
+    }
+
+    /**
+     * Evicts the templates of the distribution sets of the tenant which
+     * contain the changed or deleted software module.
+     *
+     * @param event
+     *            of the software module
+     */
+    @EventListener(classes = { SoftwareModuleUpdatedEvent.class, SoftwareModuleDeletedEvent.class })
+    public void onSoftwareModuleChange(final RemoteIdEvent event) {
+        if (cache != null) {
+            generation.incrementAndGet();
+            final String prefix = getKey(event.getTenant(), null);
+            cache.asMap().entrySet().removeIf(entry -> entry.getKey().startsWith(prefix)
+                    && entry.getValue().containsModule(event.getEntityId()));
+        }
+    }
+
+    private static String getKey(final String tenant, final Long distributionSetId) {
+        return tenant.toUpperCase(Locale.ROOT) + "." + (distributionSetId == null ? "" : distributionSetId);
+    }
+}
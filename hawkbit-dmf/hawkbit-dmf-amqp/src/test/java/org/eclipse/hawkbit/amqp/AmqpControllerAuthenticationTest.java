@@ -63,6 +63,8 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ErrorHandler;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -161,7 +163,8 @@ public class AmqpControllerAuthenticationTest {
 
         amqpMessageHandlerService = new AmqpMessageHandlerService(rabbitTemplate,
                 mock(AmqpMessageDispatcherService.class), controllerManagement, new JpaEntityFactory(),
-                systemSecurityContext, tenantConfigurationManagementMock, confirmationManagement);
+                systemSecurityContext, tenantConfigurationManagementMock, confirmationManagement,
+                mock(PlatformTransactionManager.class), mock(ErrorHandler.class));
 
         amqpAuthenticationMessageHandlerService = new AmqpAuthenticationMessageHandler(rabbitTemplate,
                 authenticationManager, artifactManagementMock, cacheMock, hostnameResolverMock, controllerManagement,
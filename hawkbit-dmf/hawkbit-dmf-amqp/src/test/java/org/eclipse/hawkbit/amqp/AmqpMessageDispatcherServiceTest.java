@@ -25,6 +25,7 @@ import java.util.UUID;
 
 import org.eclipse.hawkbit.api.ArtifactUrl;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
+import org.eclipse.hawkbit.api.URLPlaceholder;
 import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystem;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -62,6 +63,7 @@ import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -87,6 +89,10 @@ class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
 
     private DefaultAmqpMessageSenderService senderService;
 
+    private ArtifactUrlHandler artifactUrlHandlerMock;
+
+    private SystemManagement systemManagementMock;
+
     private Target testTarget;
 
     @BeforeEach
@@ -100,20 +106,22 @@ class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
 
         senderService = Mockito.mock(DefaultAmqpMessageSenderService.class);
 
-        final ArtifactUrlHandler artifactUrlHandlerMock = Mockito.mock(ArtifactUrlHandler.class);
+        artifactUrlHandlerMock = Mockito.mock(ArtifactUrlHandler.class);
         when(artifactUrlHandlerMock.getUrls(any(), any()))
                 .thenReturn(Collections.singletonList(new ArtifactUrl("http", "download", "http://mockurl")));
 
-        systemManagement = Mockito.mock(SystemManagement.class);
+        systemManagementMock = Mockito.mock(SystemManagement.class);
         final TenantMetaData tenantMetaData = Mockito.mock(TenantMetaData.class);
         when(tenantMetaData.getId()).thenReturn(TENANT_ID);
         when(tenantMetaData.getTenant()).thenReturn(TENANT);
 
-        when(systemManagement.getTenantMetadata()).thenReturn(tenantMetaData);
+        when(systemManagementMock.getTenantMetadata()).thenReturn(tenantMetaData);
 
         amqpMessageDispatcherService = new AmqpMessageDispatcherService(rabbitTemplate, senderService,
-                artifactUrlHandlerMock, systemSecurityContext, systemManagement, targetManagement, serviceMatcher,
-                distributionSetManagement, softwareModuleManagement, deploymentManagement, tenantConfigurationManagement);
+                artifactUrlHandlerMock, systemSecurityContext, systemManagementMock, targetManagement, serviceMatcher,
+                distributionSetManagement, softwareModuleManagement, deploymentManagement, tenantConfigurationManagement,
+                new DmfPayloadTemplateCache(new SimpleMeterRegistry(), 60_000, 100),
+                new DmfPartitionExecutor(1_000, 1, new SimpleMeterRegistry()));
 
     }
 
@@ -216,6 +224,40 @@ class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the software modules of a distribution set are converted once for the download "
+            + "and install events of several targets and only the download URLs are generated per target")
+    void payloadTemplateIsReusedForSeveralTargets() {
+        DistributionSet ds = testdataFactory.createDistributionSet(UUID.randomUUID().toString());
+        final SoftwareModule module = ds.getModules().iterator().next();
+        testdataFactory.createArtifacts(module.getId());
+        ds = distributionSetManagement.get(ds.getId()).get();
+        final Target secondTarget = targetManagement.create(entityFactory.target().create().controllerId("2")
+                .securityToken(TEST_TOKEN).address(AMQP_URI.toString()));
+
+        final List<Action> actions = assignDistributionSet(ds.getId(),
+                List.of(testTarget.getControllerId(), secondTarget.getControllerId()), Action.ActionType.FORCED)
+                        .getAssignedEntity();
+        actions.forEach(action -> amqpMessageDispatcherService
+                .targetAssignDistributionSet(new TargetAssignDistributionSetEvent(action, serviceMatcher.getBusId())));
+
+        final ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(senderService, Mockito.times(2)).sendMessage(messages.capture(), eq(AMQP_URI));
+        messages.getAllValues().forEach(message -> {
+            final DmfDownloadAndUpdateRequest request = convertMessage(message, DmfDownloadAndUpdateRequest.class);
+            assertThat(request.getSoftwareModules()).hasSize(3);
+            assertThat(request.getSoftwareModules()).filteredOn(sm -> sm.getModuleId().equals(module.getId()))
+                    .singleElement().satisfies(sm -> assertThat(sm.getArtifacts()).isNotEmpty()
+                            .allMatch(artifact -> artifact.getUrls().containsKey("http")));
+        });
+
+        Mockito.verify(systemManagementMock, Mockito.times(1)).getTenantMetadata();
+        final ArgumentCaptor<URLPlaceholder> placeholders = ArgumentCaptor.forClass(URLPlaceholder.class);
+        Mockito.verify(artifactUrlHandlerMock, Mockito.atLeast(2)).getUrls(placeholders.capture(), any());
+        assertThat(placeholders.getAllValues()).extracting(URLPlaceholder::getControllerId)
+                .contains(testTarget.getControllerId(), secondTarget.getControllerId());
+    }
+
     @Test
     @Description("Verifies that sending update controller attributes event works.")
     void sendUpdateAttributesRequest() {
@@ -15,8 +15,11 @@ import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationPrope
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,6 +28,7 @@ import java.lang.reflect.Field;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 
@@ -73,6 +77,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
@@ -83,6 +88,10 @@ import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConversionException;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ErrorHandler;
+
+import com.rabbitmq.client.Channel;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -148,6 +157,15 @@ public class AmqpMessageHandlerServiceTest {
     @Mock
     private UserAuthoritiesResolver authoritiesResolver;
 
+    @Mock
+    private PlatformTransactionManager txManagerMock;
+
+    @Mock
+    private ErrorHandler errorHandlerMock;
+
+    @Mock
+    private Channel channelMock;
+
     @Captor
     private ArgumentCaptor<Map<String, String>> attributesCaptor;
 
@@ -184,7 +202,7 @@ public class AmqpMessageHandlerServiceTest {
 
         amqpMessageHandlerService = new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherServiceMock,
                 controllerManagementMock, entityFactoryMock, systemSecurityContext, tenantConfigurationManagement,
-                confirmationManagementMock);
+                confirmationManagementMock, txManagerMock, errorHandlerMock);
         amqpAuthenticationMessageHandlerService = new AmqpAuthenticationMessageHandler(rabbitTemplate,
                 authenticationManagerMock, artifactManagementMock, downloadIdCache, hostnameResolverMock,
                 controllerManagementMock, tenantAwareMock);
@@ -771,6 +789,82 @@ public class AmqpMessageHandlerServiceTest {
         }
     }
 
+    @Test
+    @Description("Tests that consecutive messages of a tenant are handled in one transaction, that the messages are handled in the order of their arrival and that every message is acknowledged.")
+    public void batchIsHandledInArrivalOrder() throws Exception {
+        final MessageProperties createProperties = createMessageProperties(MessageType.THING_CREATED);
+        createProperties.setHeader(MessageHeaderKey.THING_ID, "1");
+        createProperties.setDeliveryTag(1);
+        final Message create = createMessage(new byte[0], createProperties);
+        final Message update1 = createAttributeUpdateMessage("1", 2);
+        final MessageProperties removeProperties = createMessageProperties(MessageType.THING_REMOVED);
+        removeProperties.setHeader(MessageHeaderKey.THING_ID, "3");
+        removeProperties.setDeliveryTag(3);
+        final Message remove = createMessage(new byte[0], removeProperties);
+        final Message update2 = createAttributeUpdateMessage("2", 4);
+
+        amqpMessageHandlerService.onMessages(Arrays.asList(create, update1, remove, update2), channelMock,
+                VIRTUAL_HOST);
+
+        verify(txManagerMock).getTransaction(any());
+        verify(txManagerMock).commit(any());
+        final InOrder inOrder = inOrder(controllerManagementMock);
+        inOrder.verify(controllerManagementMock).findOrRegisterTargetIfItDoesNotExist(eq("1"), any());
+        inOrder.verify(controllerManagementMock).updateControllerAttributes(eq("1"), any(), any());
+        inOrder.verify(controllerManagementMock).deleteExistingTarget("3");
+        inOrder.verify(controllerManagementMock).updateControllerAttributes(eq("2"), any(), any());
+        verify(channelMock).basicAck(1, false);
+        verify(channelMock).basicAck(2, false);
+        verify(channelMock).basicAck(3, false);
+        verify(channelMock).basicAck(4, false);
+    }
+
+    @Test
+    @Description("Tests that the messages of a group are handled one by one if the transaction of the group fails and that only the failed message is rejected.")
+    public void failedMessageOfBatchIsRejectedIndividually() throws Exception {
+        final Message update1 = createActionUpdateStatusMessage(2L, 1);
+        final Message update2 = createActionUpdateStatusMessage(3L, 2);
+
+        final Action action = mock(Action.class);
+        when(action.getId()).thenReturn(2L);
+        when(action.isActive()).thenReturn(true);
+        final ActionStatusBuilder builder = mock(ActionStatusBuilder.class);
+        final ActionStatusCreate create = mock(ActionStatusCreate.class);
+        when(builder.create(2L)).thenReturn(create);
+        when(create.status(any())).thenReturn(create);
+        when(create.messages(any())).thenReturn(create);
+        when(entityFactoryMock.actionStatus()).thenReturn(builder);
+        when(controllerManagementMock.findActionWithDetails(2L)).thenReturn(Optional.of(action));
+        when(controllerManagementMock.findActionWithDetails(3L)).thenReturn(Optional.empty());
+        when(controllerManagementMock.addUpdateActionStatus(any())).thenReturn(action);
+
+        amqpMessageHandlerService.onMessages(Arrays.asList(update1, update2), channelMock, VIRTUAL_HOST);
+
+        verify(txManagerMock).rollback(any());
+        verify(txManagerMock, never()).commit(any());
+        verify(controllerManagementMock, times(2)).addUpdateActionStatus(any());
+        verify(channelMock).basicAck(1, false);
+        verify(channelMock).basicNack(2, false, false);
+        verify(channelMock, never()).basicAck(2, false);
+    }
+
+    private Message createAttributeUpdateMessage(final String thingId, final long deliveryTag) {
+        final MessageProperties messageProperties = createMessageProperties(MessageType.EVENT);
+        messageProperties.setHeader(MessageHeaderKey.THING_ID, thingId);
+        messageProperties.setHeader(MessageHeaderKey.TOPIC, EventTopic.UPDATE_ATTRIBUTES.name());
+        messageProperties.setDeliveryTag(deliveryTag);
+        final DmfAttributeUpdate attributeUpdate = new DmfAttributeUpdate();
+        attributeUpdate.getAttributes().put("testKey", thingId);
+        return createMessage(attributeUpdate, messageProperties);
+    }
+
+    private Message createActionUpdateStatusMessage(final Long actionId, final long deliveryTag) {
+        final MessageProperties messageProperties = createMessageProperties(MessageType.EVENT);
+        messageProperties.setHeader(MessageHeaderKey.TOPIC, EventTopic.UPDATE_ACTION_STATUS.name());
+        messageProperties.setDeliveryTag(deliveryTag);
+        return createMessage(createActionUpdateStatus(DmfActionStatus.RUNNING, actionId), messageProperties);
+    }
+
     @Test
     @Description("Tests the deletion of a target/thing, requested by the target itself.")
     public void deleteThing() {
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Device Management Federation API")
+@Story("DMF Partition Executor")
+class DmfPartitionExecutorTest {
+
+    private static final List<Integer> KEYS = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DmfPartitionExecutor underTest;
+
+    @AfterEach
+    void tearDown() {
+        underTest.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @Description("Verifies that the partitions are loaded in parallel with the security context of the caller and "
+            + "that the results are returned in the order of the keys.")
+    void partitionsAreLoadedInParallel() {
+        underTest = new DmfPartitionExecutor(3, 4, meterRegistry);
+        final CyclicBarrier barrier = new CyclicBarrier(4);
+        final Set<Object> principals = ConcurrentHashMap.newKeySet();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+
+        final List<Integer> result = underTest.execute(KEYS, partition -> {
+            try {
+                // only passes if all partitions are loaded at the same time
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+            principals.add(SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+            return List.copyOf(partition);
+        });
+
+        assertThat(result).containsExactlyElementsOf(KEYS);
+        assertThat(principals).containsExactly("user");
+        assertThat(meterRegistry.get("hawkbit.dmf.partition").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    @Description("Verifies that the keys are loaded by the calling thread if they fit into one partition.")
+    void smallEventIsLoadedByCaller() {
+        underTest = new DmfPartitionExecutor(KEYS.size(), 4, meterRegistry);
+        final Thread caller = Thread.currentThread();
+
+        final List<Integer> result = underTest.execute(KEYS, partition -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return List.copyOf(partition);
+        });
+
+        assertThat(result).containsExactlyElementsOf(KEYS);
+        assertThat(meterRegistry.get("hawkbit.dmf.partition").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that the exception of a failing partition is thrown to the caller.")
+    void failingPartitionIsThrownToCaller() {
+        underTest = new DmfPartitionExecutor(3, 2, meterRegistry);
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> underTest.execute(KEYS,
+                partition -> {
+                    if (partition.contains(5)) {
+                        throw new IllegalArgumentException("partition failed");
+                    }
+                    return List.copyOf(partition);
+                }));
+    }
+}
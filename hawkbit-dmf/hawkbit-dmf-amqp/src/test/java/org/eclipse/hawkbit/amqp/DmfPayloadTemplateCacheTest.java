@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Device Management Federation API")
+@Story("DMF Payload Template Cache")
+class DmfPayloadTemplateCacheTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DmfPayloadTemplateCache underTest = new DmfPayloadTemplateCache(meterRegistry, 60_000, 100);
+
+    private final AtomicInteger loaded = new AtomicInteger();
+
+    @Test
+    @Description("Verifies that the template of a changed distribution set is evicted and that hits and misses are "
+            + "counted.")
+    void distributionSetChangeEvictsTemplate() {
+        get("default", 1L, 10L);
+        get(TENANT, 1L, 10L);
+        assertThat(loaded).hasValue(1);
+        assertThat(meterRegistry.get("hawkbit.dmf.payload.template.cache").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("hawkbit.dmf.payload.template.cache").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+
+        underTest.onDistributionSetChange(new DistributionSetDeletedEvent(TENANT, 1L, DistributionSet.class, "node"));
+
+        get(TENANT, 1L, 10L);
+        assertThat(loaded).hasValue(2);
+    }
+
+    @Test
+    @Description("Verifies that only the templates which contain a changed software module are evicted.")
+    void softwareModuleChangeEvictsTemplatesWithModule() {
+        get(TENANT, 1L, 10L);
+        get(TENANT, 2L, 20L);
+
+        underTest.onSoftwareModuleChange(new SoftwareModuleDeletedEvent(TENANT, 10L, SoftwareModule.class, "node"));
+
+        get(TENANT, 1L, 10L);
+        get(TENANT, 2L, 20L);
+        assertThat(loaded).hasValue(3);
+    }
+
+    @Test
+    @Description("Verifies that a template which is built before an eviction is not cached.")
+    void templateBuiltBeforeEvictionIsNotCached() {
+        underTest.get(TENANT, 1L, () -> {
+            underTest.onSoftwareModuleChange(
+                    new SoftwareModuleDeletedEvent(TENANT, 10L, SoftwareModule.class, "node"));
+            return Optional.of(createTemplate(10L));
+        });
+
+        get(TENANT, 1L, 10L);
+        assertThat(loaded).hasValue(1);
+    }
+
+    private void get(final String tenant, final Long distributionSetId, final Long moduleId) {
+        underTest.get(tenant, distributionSetId, () -> {
+            loaded.incrementAndGet();
+            return Optional.of(createTemplate(moduleId));
+        });
+    }
+
+    private static DmfPayloadTemplate createTemplate(final Long moduleId) {
+        final TenantMetaData tenantMetaData = mock(TenantMetaData.class);
+        when(tenantMetaData.getTenant()).thenReturn(TENANT);
+        final SoftwareModule module = mock(SoftwareModule.class, RETURNS_DEEP_STUBS);
+        when(module.getId()).thenReturn(moduleId);
+        when(module.getType().getKey()).thenReturn("os");
+        when(module.getArtifacts()).thenReturn(Collections.emptyList());
+        return DmfPayloadTemplate.of(tenantMetaData, Collections.singletonMap(module, Collections.emptyList()));
+    }
+}
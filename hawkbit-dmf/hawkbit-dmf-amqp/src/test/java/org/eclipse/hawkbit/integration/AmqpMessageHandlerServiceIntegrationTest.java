@@ -14,8 +14,10 @@ import static org.eclipse.hawkbit.repository.model.Action.ActionType.DOWNLOAD_ON
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -24,6 +26,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.RandomStringUtils;
@@ -72,9 +75,11 @@ import org.mockito.Mockito;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rabbitmq.client.Channel;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -898,6 +903,46 @@ class AmqpMessageHandlerServiceIntegrationTest extends AbstractAmqpServiceIntegr
         }
     }
 
+    @Test
+    @Description("Verifies that consecutive messages of a batch are handled in one transaction of the tenant of the messages.")
+    void batchIsHandledInOneTransaction() throws IOException {
+        final String controllerId = TARGET_PREFIX + "batchIsHandledInOneTransaction";
+        final Message create = createTargetMessage(controllerId, TENANT_EXIST);
+        create.getMessageProperties().setDeliveryTag(1);
+        final DmfAttributeUpdate attributeUpdate = new DmfAttributeUpdate();
+        attributeUpdate.getAttributes().put("batchKey", "batchValue");
+        final Message update = createUpdateAttributesMessage(controllerId, TENANT_EXIST, attributeUpdate);
+        update.getMessageProperties().setDeliveryTag(2);
+        final Channel channel = Mockito.mock(Channel.class);
+
+        // records the transaction of the handling of the messages
+        final List<String> transactionNames = new CopyOnWriteArrayList<>();
+        final ControllerManagement recordingControllerManagement = Mockito.mock(ControllerManagement.class,
+                invocation -> {
+                    if (invocation.getMethod().getName().startsWith("findOrRegisterTarget")
+                            || invocation.getMethod().getName().equals("updateControllerAttributes")) {
+                        transactionNames.add(TransactionSynchronizationManager.getCurrentTransactionName());
+                    }
+                    try {
+                        return invocation.getMethod().invoke(controllerManagement, invocation.getArguments());
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+
+        try {
+            amqpMessageHandlerService.setControllerManagement(recordingControllerManagement);
+            amqpMessageHandlerService.onMessages(Arrays.asList(create, update), channel, getVirtualHost());
+        } finally {
+            amqpMessageHandlerService.setControllerManagement(controllerManagement);
+        }
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        assertThat(transactionNames).containsExactly("dmfBatch", "dmfBatch");
+        assertThat(targetManagement.getControllerAttributes(controllerId)).containsEntry("batchKey", "batchValue");
+    }
+
     @Step
     private void verifyAssignedDsAndInstalledDs(final Long assignedDsId, final Long installedDsId) {
         final Optional<Target> target = controllerManagement.getByControllerId(DMF_REGISTER_TEST_CONTROLLER_ID);
@@ -11,6 +11,9 @@ package org.eclipse.hawkbit.security;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
@@ -31,10 +34,20 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import io.micrometer.core.instrument.Metrics;
+
 /**
  * Filter for protection against denial of service attacks. It reduces the
  * maximum number of request per seconds which can be separately configured for
  * read (GET) and write (PUT/POST/DELETE) requests.
+ * 
+ * By default requests are counted per client IP in fixed one second windows.
+ * If a {@link DosRateLimiter} is given, requests to paths with
+ * <code>{tenant}</code> and <code>{controllerId}</code> variables are limited
+ * per controller and optionally per tenant instead, so that devices behind a
+ * shared IP do not throttle each other. As the controller ID is taken from the
+ * not yet authenticated request, the requests of all controllers behind an IP
+ * are additionally capped. Other requests are still limited per IP.
  */
 public class DosFilter extends OncePerRequestFilter {
 
@@ -43,6 +56,14 @@ public class DosFilter extends OncePerRequestFilter {
     private static final Logger LOG_BLACKLIST = LoggerFactory
             .getLogger(SecurityConstants.SECURITY_LOG_PREFIX + ".blacklist");
 
+    private static final String METRIC_REJECTED = "hawkbit.security.dos.rejected";
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+    private static final String CLIENT_IP = "ip";
+    private static final String CLIENT_TENANT = "tenant";
+    private static final String CLIENT_CONTROLLER = "controller";
+    private static final String CLIENT_IP_CONTROLLERS = "ip-controllers";
+
     private final AntPathMatcher antMatcher = new AntPathMatcher();
     private final Collection<String> includeAntPaths;
 
@@ -61,6 +82,12 @@ public class DosFilter extends OncePerRequestFilter {
 
     private final String forwardHeader;
 
+    private final DosRateLimiter rateLimiter;
+    private final int maxTenantRead;
+    private final int maxTenantWrite;
+    private final int maxIpRead;
+    private final int maxIpWrite;
+
     /**
      * Filter constructor including configuration.
      * 
@@ -84,11 +111,60 @@ public class DosFilter extends OncePerRequestFilter {
      */
     public DosFilter(final Collection<String> includeAntPaths, final int maxRead, final int maxWrite,
             final String ipDosWhiteListPattern, final String ipBlackListPattern, final String forwardHeader) {
+        this(includeAntPaths, maxRead, maxWrite, ipDosWhiteListPattern, ipBlackListPattern, forwardHeader, null, 0,
+                0, 0, 0);
+    }
+
+    /**
+     * Filter constructor including configuration.
+     * 
+     * @param includeAntPaths
+     *            paths where filter should hit
+     *
+     * @param maxRead
+     *            Maximum number of allowed REST read/GET requests per second
+     *            per client
+     * @param maxWrite
+     *            Maximum number of allowed REST write/(PUT/POST/etc.) requests
+     *            per second per client
+     * @param ipDosWhiteListPattern
+     *            {@link Pattern} with with white list of peer IP addresses for
+     *            DOS filter
+     * @param ipBlackListPattern
+     *            {@link Pattern} with black listed IP addresses
+     * @param forwardHeader
+     *            the header containing the forwarded IP address e.g.
+     *            {@code x-forwarded-for}
+     * @param rateLimiter
+     *            to limit requests per controller or <code>null</code> to
+     *            count requests per IP
+     * @param maxTenantRead
+     *            Maximum number of allowed read requests per second of all
+     *            controllers of a tenant (0 to disable)
+     * @param maxTenantWrite
+     *            Maximum number of allowed write requests per second of all
+     *            controllers of a tenant (0 to disable)
+     * @param maxIpRead
+     *            Maximum number of allowed read requests per second of all
+     *            controllers behind a client IP (0 to disable)
+     * @param maxIpWrite
+     *            Maximum number of allowed write requests per second of all
+     *            controllers behind a client IP (0 to disable)
+     */
+    public DosFilter(final Collection<String> includeAntPaths, final int maxRead, final int maxWrite,
+            final String ipDosWhiteListPattern, final String ipBlackListPattern, final String forwardHeader,
+            final DosRateLimiter rateLimiter, final int maxTenantRead, final int maxTenantWrite, final int maxIpRead,
+            final int maxIpWrite) {
 
         this.includeAntPaths = includeAntPaths;
         this.maxRead = maxRead;
         this.maxWrite = maxWrite;
         this.forwardHeader = forwardHeader;
+        this.rateLimiter = rateLimiter;
+        this.maxTenantRead = maxTenantRead;
+        this.maxTenantWrite = maxTenantWrite;
+        this.maxIpRead = maxIpRead;
+        this.maxIpWrite = maxIpWrite;
 
         if (ipBlackListPattern != null && !ipBlackListPattern.isEmpty()) {
             ipAdressBlacklist = Pattern.compile(ipBlackListPattern);
@@ -131,8 +207,11 @@ public class DosFilter extends OncePerRequestFilter {
             processChain = checkAgainstBlacklist(response, ip);
 
             if (processChain && (whitelist == null || !whitelist.matcher(ip).find())) {
+                if (rateLimiter != null) {
+                    processChain = handleRateLimitedRequest(request, response, ip);
+                }
                 // read request
-                if (HttpMethod.valueOf(request.getMethod()) == HttpMethod.GET) {
+                else if (HttpMethod.valueOf(request.getMethod()) == HttpMethod.GET) {
                     processChain = handleReadRequest(response, ip);
                 }
                 // write request
@@ -179,6 +258,7 @@ public class DosFilter extends OncePerRequestFilter {
         } else if (count.getAndIncrement() > maxWrite) {
             LOG_DOS.info("Registered DOS attack! Client {} is above configured WRITE request threshold ({})!", ip,
                     maxWrite);
+            countRejection(WRITE, CLIENT_IP);
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             processChain = false;
         }
@@ -195,10 +275,64 @@ public class DosFilter extends OncePerRequestFilter {
         } else if (count.getAndIncrement() > maxRead) {
             LOG_DOS.info("Registered DOS attack! Client {} is above configured READ request threshold ({})!", ip,
                     maxRead);
+            countRejection(READ, CLIENT_IP);
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             processChain = false;
         }
 
         return processChain;
     }
+
+    private boolean handleRateLimitedRequest(final HttpServletRequest request, final HttpServletResponse response,
+            final String ip) {
+        final boolean read = HttpMethod.valueOf(request.getMethod()) == HttpMethod.GET;
+        final String type = read ? READ : WRITE;
+        final int max = read ? maxRead : maxWrite;
+        final int maxTenant = read ? maxTenantRead : maxTenantWrite;
+        final int maxIp = read ? maxIpRead : maxIpWrite;
+
+        final Map<String, String> variables = extractPathVariables(request);
+        final String tenant = variables.get("tenant");
+        final String controllerId = variables.get("controllerId");
+
+        if (tenant == null || controllerId == null) {
+            return tryAcquire(response, type, CLIENT_IP, ip, max);
+        }
+
+        // the IP is checked first as the controller ID is not authenticated,
+        // and the controller before the tenant, so that a single flooding
+        // controller does not use up the permits of its tenant
+        final String tenantKey = tenant.toUpperCase(Locale.ROOT);
+        return (maxIp <= 0 || tryAcquire(response, type, CLIENT_IP_CONTROLLERS, ip, maxIp))
+                && tryAcquire(response, type, CLIENT_CONTROLLER, tenantKey + "/" + controllerId, max)
+                && (maxTenant <= 0 || tryAcquire(response, type, CLIENT_TENANT, tenantKey, maxTenant));
+    }
+
+    private boolean tryAcquire(final HttpServletResponse response, final String type, final String client,
+            final String key, final int max) {
+        if (rateLimiter.tryAcquire(type + ":" + client + ":" + key, max)) {
+            return true;
+        }
+
+        LOG_DOS.info("Registered DOS attack! Client {} is above configured {} request threshold ({})!", key,
+                type.toUpperCase(Locale.ROOT), max);
+        countRejection(type, client);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return false;
+    }
+
+    private Map<String, String> extractPathVariables(final HttpServletRequest request) {
+        if (includeAntPaths == null) {
+            return Collections.emptyMap();
+        }
+
+        return includeAntPaths.stream().map(pattern -> request.getContextPath() + pattern)
+                .filter(pattern -> antMatcher.match(pattern, request.getRequestURI())).findFirst()
+                .map(pattern -> antMatcher.extractUriTemplateVariables(pattern, request.getRequestURI()))
+                .orElse(Collections.emptyMap());
+    }
+
+    private static void countRejection(final String type, final String client) {
+        Metrics.counter(METRIC_REJECTED, "type", type, "client", client).increment();
+    }
 }
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+/**
+ * Rate limiter of the {@link DosFilter}. The default
+ * {@link TokenBucketRateLimiter} keeps its state node local. An
+ * implementation backed by a store shared by all nodes of a cluster can be
+ * provided as bean in order to enforce the limits cluster wide.
+ */
+@FunctionalInterface
+public interface DosRateLimiter {
+
+    /**
+     * Acquires a permit for a request.
+     *
+     * @param key
+     *            the client the request is accounted to
+     * @param permitsPerSecond
+     *            the number of requests per second the client is allowed to
+     *            send
+     * @return <code>true</code> if the request is permitted,
+     *         <code>false</code> if the client exceeded its rate
+     */
+    boolean tryAcquire(String key, int permitsPerSecond);
+}
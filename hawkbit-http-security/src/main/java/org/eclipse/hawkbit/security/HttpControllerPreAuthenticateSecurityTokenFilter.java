@@ -32,6 +32,7 @@ import org.eclipse.hawkbit.tenancy.TenantAware;
 public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHttpControllerAuthenticationFilter {
 
     private final ControllerManagement controllerManagement;
+    private final SecurityTokenCache securityTokenCache;
 
     /**
      * Constructor.
@@ -51,14 +52,40 @@ public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHt
     public HttpControllerPreAuthenticateSecurityTokenFilter(
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
             final ControllerManagement controllerManagement, final SystemSecurityContext systemSecurityContext) {
+        this(tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext, null);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenantConfigurationManagement
+     *            the system management service to retrieve configuration
+     *            properties
+     * @param tenantAware
+     *            the tenant aware service to get configuration for the specific
+     *            tenant
+     * @param controllerManagement
+     *            the controller management to retrieve the specific target
+     *            security token to verify
+     * @param systemSecurityContext
+     *            the system security context
+     * @param securityTokenCache
+     *            the cache of verified target security tokens or
+     *            <code>null</code>
+     */
+    public HttpControllerPreAuthenticateSecurityTokenFilter(
+            final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
+            final ControllerManagement controllerManagement, final SystemSecurityContext systemSecurityContext,
+            final SecurityTokenCache securityTokenCache) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
         this.controllerManagement = controllerManagement;
+        this.securityTokenCache = securityTokenCache;
     }
 
     @Override
     protected PreAuthenticationFilter createControllerAuthenticationFilter() {
         return new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagement, controllerManagement,
-                tenantAware, systemSecurityContext);
+                tenantAware, systemSecurityContext, securityTokenCache);
     }
 
 }
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Node local {@link DosRateLimiter} with a token bucket per key. A bucket holds
+ * up to one second of permits and is refilled continuously, so unlike fixed
+ * one second windows a client cannot send twice its rate around a window
+ * boundary. Buckets are updated lock free. The number of buckets is bounded, so
+ * requests with ever new keys cannot exhaust the memory.
+ */
+public class TokenBucketRateLimiter implements DosRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long DEFAULT_MAX_BUCKETS = 100_000;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final LongSupplier nanoTime;
+
+    /**
+     * Constructor.
+     */
+    public TokenBucketRateLimiter() {
+        this(DEFAULT_MAX_BUCKETS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxBuckets
+     *            the maximum number of clients a bucket is kept for
+     */
+    public TokenBucketRateLimiter(final long maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(final long maxBuckets, final LongSupplier nanoTime) {
+        // an idle bucket is full after one second, so it can be dropped
+        this.buckets = Caffeine.newBuilder().maximumSize(maxBuckets).expireAfterAccess(10, TimeUnit.SECONDS)
+                .build();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public boolean tryAcquire(final String key, final int permitsPerSecond) {
+        final long now = nanoTime.getAsLong();
+        return buckets.get(key, k -> new TokenBucket(permitsPerSecond, now)).tryAcquire(permitsPerSecond, now);
+    }
+
+    private static final class TokenBucket {
+        private final AtomicReference<State> state;
+
+        private TokenBucket(final int permitsPerSecond, final long now) {
+            state = new AtomicReference<>(new State(permitsPerSecond, now));
+        }
+
+        private boolean tryAcquire(final int permitsPerSecond, final long now) {
+            while (true) {
+                final State current = state.get();
+                final long elapsed = Math.max(0, now - current.refilledAt);
+                final double tokens = Math.min(permitsPerSecond,
+                        current.tokens + (double) elapsed * permitsPerSecond / NANOS_PER_SECOND);
+                if (tokens < 1) {
+                    return false;
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.refilledAt)))) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static final class State {
+        private final double tokens;
+        private final long refilledAt;
+
+        private State(final double tokens, final long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
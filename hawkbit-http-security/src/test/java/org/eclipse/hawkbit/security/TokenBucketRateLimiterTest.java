@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Security")
+@Story("DoS rate limiting")
+public class TokenBucketRateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final TokenBucketRateLimiter underTest = new TokenBucketRateLimiter(100, nanoTime::get);
+
+    @Test
+    @Description("Verifies that a bucket permits a burst of one second and is refilled continuously.")
+    public void bucketIsRefilledContinuously() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(underTest.tryAcquire("key", 10)).isTrue();
+        }
+        assertThat(underTest.tryAcquire("key", 10)).isFalse();
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(underTest.tryAcquire("key", 10)).isTrue();
+        assertThat(underTest.tryAcquire("key", 10)).isFalse();
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 10; i++) {
+            assertThat(underTest.tryAcquire("key", 10)).isTrue();
+        }
+        assertThat(underTest.tryAcquire("key", 10)).isFalse();
+    }
+}
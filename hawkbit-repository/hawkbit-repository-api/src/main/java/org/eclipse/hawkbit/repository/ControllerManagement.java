@@ -34,6 +34,7 @@ import org.eclipse.hawkbit.repository.model.AutoConfirmationStatus;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetPollState;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.springframework.data.domain.Page;
@@ -238,6 +239,24 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Target findOrRegisterTargetIfItDoesNotExist(@NotEmpty String controllerId, @NotNull URI address, String name);
 
+    /**
+     * Registers a poll of the target like
+     * {@link #findOrRegisterTargetIfItDoesNotExist(String, URI)} and returns
+     * the state which is needed to answer the poll. If enabled by
+     * {@link RepositoryProperties#isPollStateCache()} the state of targets
+     * without an active {@link Action} is cached, so that repeated polls from
+     * the same address are answered without loading the target. Such polls
+     * are still registered with the next lazy poll persistence flush.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target, might be {@code null}
+     * @return the poll state of the target
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    TargetPollState pollTarget(@NotEmpty String controllerId, @NotNull URI address);
+
     /**
      * Retrieves last {@link Action} for a download of an artifact of given
      * module and target if exists and is not canceled.
@@ -11,6 +11,8 @@ package org.eclipse.hawkbit.repository;
 
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiTargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -40,6 +42,23 @@ public class RepositoryProperties {
      */
     private boolean publishTargetPollEvent = true;
 
+    /**
+     * Set to <code>true</code> if the repository should publish
+     * {@link DownloadProgressEvent}s during artifact downloads to the other
+     * nodes over the bus. Activated by default but may be worth to disable if
+     * no download progress is shown. The events are always published to the
+     * listeners of the local node.
+     */
+    private boolean publishDownloadProgressEvent = true;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the shipped bytes of a download
+     * are accumulated before one {@link DownloadProgressEvent} is published
+     * per action status. Every progress is published immediately if set to
+     * <code>0</code>.
+     */
+    private long downloadProgressFlushTime;
+
     /**
      * Maximum number of poll operations queued before flush.
      */
@@ -66,6 +85,153 @@ public class RepositoryProperties {
      */
     private long dsInvalidationLockTimeout = 5;
 
+    /**
+     * Number of lock stripes per tenant used to serialize the auto assignment
+     * check of targets with each other and with the scheduled auto assignment.
+     * Targets are mapped to a stripe by the hash of their controller ID, so
+     * unrelated targets are checked in parallel.
+     */
+    private int autoAssignLockStripes = 256;
+
+    /**
+     * Set to true to run the auto assignment check of targets with updated
+     * attributes asynchronously instead of within the attribute update.
+     */
+    private boolean autoAssignAsync = false;
+
+    /**
+     * Maximum number of targets queued for the asynchronous auto assignment
+     * check. The check is executed synchronously if the queue is full. A
+     * check of a target with a busy lock stripe which cannot be queued again
+     * requests the attributes of the target, so it is checked with the next
+     * attribute report.
+     */
+    private int autoAssignQueueSize = 10_000;
+
+    /**
+     * Maximum number of queued targets checked and assigned together.
+     */
+    private int autoAssignBatchSize = 100;
+
+    /**
+     * Number of workers draining the auto assignment queue.
+     */
+    private int autoAssignWorkers = 2;
+
+    /**
+     * Delay between two drains of the auto assignment queue by a worker in
+     * {@link TimeUnit#MILLISECONDS}.
+     */
+    private long autoAssignFlushTime = 500;
+
+    /**
+     * Set to true to skip the target update if the reported controller
+     * attributes are unchanged. The time of the report is then only written
+     * to a dedicated column by native SQL, queued like the target polls.
+     */
+    private boolean attributeNoOpDetection = false;
+
+    /**
+     * Set to true to publish one {@link MultiTargetPollEvent} per persisted
+     * chunk of queued polls instead of a {@link TargetPollEvent} per target.
+     * Only applies if polls are not persisted eagerly.
+     */
+    private boolean coalescePollEvents = false;
+
+    /**
+     * Set to true to cache the poll state of targets without an active
+     * action, see ControllerManagement#pollTarget. The cache is invalidated by
+     * target, tag and action events. It is only effective without
+     * {@link #isEagerPollPersistence()} as every eager poll updates the target.
+     */
+    private boolean pollStateCache = false;
+
+    /**
+     * Maximum number of cached target poll states per tenant.
+     */
+    private long pollStateCacheSize = 100_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which a cached target poll
+     * state expires, which limits the time a missed invalidation may be
+     * visible. Polls answered from the cache are still registered with the
+     * next poll persistence flush.
+     */
+    private long pollStateCacheExpiry = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Maximum number of cached target security token hashes per tenant, see
+     * TargetSecurityTokenCache.
+     */
+    private long securityTokenCacheSize = 100_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which a cached target
+     * security token hash expires.
+     */
+    private long securityTokenCacheExpiry = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Set to true to reload the entities of received remote events in
+     * batches. Entities of events which are received while a listener reloads
+     * an entity are loaded together with it by one query per tenant and entity
+     * type, see JpaEventEntityManager.
+     */
+    private boolean eventEntityBatching = false;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} a batch loaded entity is kept until
+     * a listener of its event asks for it.
+     */
+    private long eventEntitySnapshotExpiry = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * Set to true to send remote events of the same tenant and type in
+     * compressed envelopes over the bus instead of one message per event. All
+     * nodes have to support the envelopes before it is enabled.
+     */
+    private boolean busEventBatching = false;
+
+    /**
+     * Number of pending remote events which triggers sending the envelopes.
+     */
+    private int busEventBatchSize = 500;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which pending remote events
+     * are sent, which limits the delay of an event.
+     */
+    private long busEventBatchInterval = 100;
+
+    /**
+     * Maximum number of tenants each scheduler handles in parallel. The
+     * tenants are handled one after another if 1.
+     */
+    private int tenantSchedulerParallelism = 1;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which a scheduler continues
+     * without a tenant, 0 to wait until the tenant is done. The tenant is not
+     * interrupted but stops after its current batch, a tenant which has not
+     * started within the time is skipped.
+     */
+    private long tenantSchedulerTimeBudget = 0;
+
+    /**
+     * Set if the database compares the filtered columns case insensitively,
+     * i.e. MySQL or SQL Server with their default collations. RSQL filters
+     * then compare the columns as they are instead of upper-casing them, so
+     * the indexes of the columns can be used. Ignored with a warning for the
+     * other databases, which compare case sensitively.
+     */
+    private boolean rsqlCaseInsensitiveDb = false;
+
+    /**
+     * Maximum number of cached parsed and validated RSQL strings, see
+     * RsqlNodeCache.
+     */
+    private long rsqlCacheSize = 1_000;
+
     public boolean isEagerPollPersistence() {
         return eagerPollPersistence;
     }
@@ -106,6 +272,22 @@ public class RepositoryProperties {
         this.publishTargetPollEvent = publishTargetPollEvent;
     }
 
+    public boolean isPublishDownloadProgressEvent() {
+        return publishDownloadProgressEvent;
+    }
+
+    public void setPublishDownloadProgressEvent(final boolean publishDownloadProgressEvent) {
+        this.publishDownloadProgressEvent = publishDownloadProgressEvent;
+    }
+
+    public long getDownloadProgressFlushTime() {
+        return downloadProgressFlushTime;
+    }
+
+    public void setDownloadProgressFlushTime(final long downloadProgressFlushTime) {
+        this.downloadProgressFlushTime = downloadProgressFlushTime;
+    }
+
     public int getActionWeightIfAbsent() {
         return actionWeightIfAbsent;
     }
@@ -122,4 +304,180 @@ public class RepositoryProperties {
         this.dsInvalidationLockTimeout = dsInvalidationLockTimeout;
     }
 
+    public int getAutoAssignLockStripes() {
+        return autoAssignLockStripes;
+    }
+
+    public void setAutoAssignLockStripes(final int autoAssignLockStripes) {
+        this.autoAssignLockStripes = autoAssignLockStripes;
+    }
+
+    public boolean isAutoAssignAsync() {
+        return autoAssignAsync;
+    }
+
+    public void setAutoAssignAsync(final boolean autoAssignAsync) {
+        this.autoAssignAsync = autoAssignAsync;
+    }
+
+    public int getAutoAssignQueueSize() {
+        return autoAssignQueueSize;
+    }
+
+    public void setAutoAssignQueueSize(final int autoAssignQueueSize) {
+        this.autoAssignQueueSize = autoAssignQueueSize;
+    }
+
+    public int getAutoAssignBatchSize() {
+        return autoAssignBatchSize;
+    }
+
+    public void setAutoAssignBatchSize(final int autoAssignBatchSize) {
+        this.autoAssignBatchSize = autoAssignBatchSize;
+    }
+
+    public int getAutoAssignWorkers() {
+        return autoAssignWorkers;
+    }
+
+    public void setAutoAssignWorkers(final int autoAssignWorkers) {
+        this.autoAssignWorkers = autoAssignWorkers;
+    }
+
+    public long getAutoAssignFlushTime() {
+        return autoAssignFlushTime;
+    }
+
+    public void setAutoAssignFlushTime(final long autoAssignFlushTime) {
+        this.autoAssignFlushTime = autoAssignFlushTime;
+    }
+
+    public long getSecurityTokenCacheSize() {
+        return securityTokenCacheSize;
+    }
+
+    public void setSecurityTokenCacheSize(final long securityTokenCacheSize) {
+        this.securityTokenCacheSize = securityTokenCacheSize;
+    }
+
+    public long getSecurityTokenCacheExpiry() {
+        return securityTokenCacheExpiry;
+    }
+
+    public void setSecurityTokenCacheExpiry(final long securityTokenCacheExpiry) {
+        this.securityTokenCacheExpiry = securityTokenCacheExpiry;
+    }
+
+    public boolean isBusEventBatching() {
+        return busEventBatching;
+    }
+
+    public void setBusEventBatching(final boolean busEventBatching) {
+        this.busEventBatching = busEventBatching;
+    }
+
+    public int getBusEventBatchSize() {
+        return busEventBatchSize;
+    }
+
+    public void setBusEventBatchSize(final int busEventBatchSize) {
+        this.busEventBatchSize = busEventBatchSize;
+    }
+
+    public long getBusEventBatchInterval() {
+        return busEventBatchInterval;
+    }
+
+    public void setBusEventBatchInterval(final long busEventBatchInterval) {
+        this.busEventBatchInterval = busEventBatchInterval;
+    }
+
+    public int getTenantSchedulerParallelism() {
+        return tenantSchedulerParallelism;
+    }
+
+    public void setTenantSchedulerParallelism(final int tenantSchedulerParallelism) {
+        this.tenantSchedulerParallelism = tenantSchedulerParallelism;
+    }
+
+    public long getTenantSchedulerTimeBudget() {
+        return tenantSchedulerTimeBudget;
+    }
+
+    public void setTenantSchedulerTimeBudget(final long tenantSchedulerTimeBudget) {
+        this.tenantSchedulerTimeBudget = tenantSchedulerTimeBudget;
+    }
+
+    public boolean isRsqlCaseInsensitiveDb() {
+        return rsqlCaseInsensitiveDb;
+    }
+
+    public void setRsqlCaseInsensitiveDb(final boolean rsqlCaseInsensitiveDb) {
+        this.rsqlCaseInsensitiveDb = rsqlCaseInsensitiveDb;
+    }
+
+    public long getRsqlCacheSize() {
+        return rsqlCacheSize;
+    }
+
+    public void setRsqlCacheSize(final long rsqlCacheSize) {
+        this.rsqlCacheSize = rsqlCacheSize;
+    }
+
+    public boolean isEventEntityBatching() {
+        return eventEntityBatching;
+    }
+
+    public void setEventEntityBatching(final boolean eventEntityBatching) {
+        this.eventEntityBatching = eventEntityBatching;
+    }
+
+    public long getEventEntitySnapshotExpiry() {
+        return eventEntitySnapshotExpiry;
+    }
+
+    public void setEventEntitySnapshotExpiry(final long eventEntitySnapshotExpiry) {
+        this.eventEntitySnapshotExpiry = eventEntitySnapshotExpiry;
+    }
+
+    public boolean isPollStateCache() {
+        return pollStateCache;
+    }
+
+    public void setPollStateCache(final boolean pollStateCache) {
+        this.pollStateCache = pollStateCache;
+    }
+
+    public long getPollStateCacheSize() {
+        return pollStateCacheSize;
+    }
+
+    public void setPollStateCacheSize(final long pollStateCacheSize) {
+        this.pollStateCacheSize = pollStateCacheSize;
+    }
+
+    public long getPollStateCacheExpiry() {
+        return pollStateCacheExpiry;
+    }
+
+    public void setPollStateCacheExpiry(final long pollStateCacheExpiry) {
+        this.pollStateCacheExpiry = pollStateCacheExpiry;
+    }
+
+    public boolean isCoalescePollEvents() {
+        return coalescePollEvents;
+    }
+
+    public void setCoalescePollEvents(final boolean coalescePollEvents) {
+        this.coalescePollEvents = coalescePollEvents;
+    }
+
+    public boolean isAttributeNoOpDetection() {
+        return attributeNoOpDetection;
+    }
+
+    public void setAttributeNoOpDetection(final boolean attributeNoOpDetection) {
+        this.attributeNoOpDetection = attributeNoOpDetection;
+    }
+
 }
@@ -67,6 +67,21 @@ public interface SystemManagement {
     @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
     void forEachTenant(Consumer<String> consumer);
 
+    /**
+     * Runs a scheduled task for each tenant like
+     * {@link #forEachTenant(Consumer)}, but handles up to the configured
+     * number of tenants in parallel. A tenant is skipped if the lock of the
+     * task and tenant is held, e.g. by another node of the cluster or by the
+     * previous run of the task.
+     *
+     * @param task
+     *            name of the task used for the lock and the latency metric
+     * @param consumer
+     *            to run as tenant
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    void forEachTenant(String task, Consumer<String> consumer);
+
     /**
      * Calculated system usage statistics, both overall for the entire system
      * and per tenant;
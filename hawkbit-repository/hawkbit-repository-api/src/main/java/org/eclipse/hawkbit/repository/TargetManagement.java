@@ -327,6 +327,51 @@ public interface TargetManagement {
     Slice<Target> findByFailedRolloutAndNotInRolloutGroups(@NotNull Pageable pageRequest,
         @NotEmpty Collection<Long> groups, @NotNull String rolloutId);
 
+    /**
+     * Finds the IDs of the targets for the given parameter
+     * {@link TargetFilterQuery} that are not assigned to one of the
+     * {@link RolloutGroup}s and are compatible with the passed
+     * {@link DistributionSetType}, without loading the targets. The IDs are
+     * sorted ascending so that the targets can be paged by ID range.
+     *
+     * @param afterId
+     *            only IDs greater than this one are returned
+     * @param limit
+     *            the maximum number of IDs
+     * @param groups
+     *            the list of {@link RolloutGroup}s
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @param distributionSetType
+     *            type of the {@link DistributionSet} the targets must be
+     *            compatible with
+     * @return the IDs of the found {@link Target}s
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    List<Long> findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(long afterId, int limit,
+            @NotEmpty Collection<Long> groups, @NotNull String rsqlParam,
+            @NotNull DistributionSetType distributionSetType);
+
+    /**
+     * Finds the IDs of the targets with failed actions for specific Rollout
+     * that are not assigned to one of the retried {@link RolloutGroup}s,
+     * without loading the targets. The IDs are sorted ascending so that the
+     * targets can be paged by ID range.
+     *
+     * @param afterId
+     *            only IDs greater than this one are returned
+     * @param limit
+     *            the maximum number of IDs
+     * @param groups
+     *            the list of {@link RolloutGroup}s
+     * @param rolloutId
+     *            rolloutId of the rollout to be retried.
+     * @return the IDs of the found {@link Target}s
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    List<Long> findIdsByFailedRolloutAndNotInRolloutGroups(long afterId, int limit,
+            @NotEmpty Collection<Long> groups, @NotNull String rolloutId);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery}
      * and that are not assigned to one of the {@link RolloutGroup}s and are
@@ -30,4 +30,21 @@ public interface EventEntityManager {
      */
     <E extends TenantAwareBaseEntity> E findEntity(String tenant, Long id, Class<E> entityType);
 
+    /**
+     * Announces that an entity will be loaded soon, e.g. because a remote
+     * event about it is received. Implementations may use this to load
+     * several announced entities at once. Does nothing by default.
+     * 
+     * @param tenant
+     *            the tenant
+     * @param id
+     *            the id
+     * @param entityType
+     *            the entity type
+     */
+    default void announceEntity(final String tenant, final Long id,
+            final Class<? extends TenantAwareBaseEntity> entityType) {
+        // entities are loaded one by one
+    }
+
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Event is send once for a number of target polls which have been persisted
+ * together, instead of a {@link TargetPollEvent} per target. The event payload
+ * holds the controller IDs of the polling targets.
+ */
+public class MultiTargetPollEvent extends RemoteTenantAwareEvent implements Iterable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> controllerIds = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public MultiTargetPollEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            tenant the event is scoped to
+     * @param applicationId
+     *            the application id
+     * @param controllerIds
+     *            the controller IDs of the polling targets
+     */
+    public MultiTargetPollEvent(final String tenant, final String applicationId,
+            final Collection<String> controllerIds) {
+        super(applicationId, tenant, applicationId);
+        this.controllerIds.addAll(controllerIds);
+    }
+
+    public List<String> getControllerIds() {
+        return controllerIds;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return controllerIds.iterator();
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+/**
+ * Envelope which carries a number of remote events of the same tenant and
+ * type over the bus in one message. The events are serialized and compressed
+ * by the sending node and unpacked by the receiving node before they are
+ * published to its listeners, so listeners never see the envelope itself.
+ */
+public class RemoteEventEnvelope extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private int eventType;
+
+    private int size;
+
+    private byte[] events;
+
+    /**
+     * Default constructor.
+     */
+    public RemoteEventEnvelope() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            tenant the events are scoped to
+     * @param applicationId
+     *            the application id
+     * @param eventType
+     *            the encoded type of the events
+     * @param size
+     *            the number of events
+     * @param events
+     *            the serialized and compressed events
+     */
+    public RemoteEventEnvelope(final String tenant, final String applicationId, final int eventType,
+            final int size, final byte[] events) {
+        super(applicationId, tenant, applicationId);
+        this.eventType = eventType;
+        this.size = size;
+        this.events = events;
+    }
+
+    public int getEventType() {
+        return eventType;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public byte[] getEvents() {
+        return events;
+    }
+}
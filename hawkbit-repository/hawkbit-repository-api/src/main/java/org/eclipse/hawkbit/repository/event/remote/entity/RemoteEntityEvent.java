@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.event.remote.entity;
 
 import java.util.Optional;
 
+import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
 import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
@@ -62,16 +63,37 @@ public class RemoteEntityEvent<E extends TenantAwareBaseEntity> extends RemoteId
         return Optional.ofNullable(entity);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Announces the entity of a received event to the
+     * {@link EventEntityManager}, so that it can be reloaded together with the
+     * entities of other received events once a listener asks for it.
+     */
+    public void announceEntity() {
+        final EventEntityManager eventEntityManager = EventEntityManagerHolder.getInstance().getEventEntityManager();
+        if (entity != null || eventEntityManager == null) {
+            return;
+        }
+
+        try {
+            eventEntityManager.announceEntity(getTenant(), getEntityId(), getEntityType());
+        } catch (final ClassNotFoundException e) {
+            LOG.error("Cannot announce entity because class is not found", e);
+        }
+    }
+
     private E reloadEntityFromRepository() {
         try {
-            final Class<E> clazz = (Class<E>) Class.forName(getEntityClass());
             return EventEntityManagerHolder.getInstance().getEventEntityManager().findEntity(getTenant(), getEntityId(),
-                    clazz);
+                    getEntityType());
         } catch (final ClassNotFoundException e) {
             LOG.error("Cannot reload entity because class is not found", e);
         }
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    private Class<E> getEntityType() throws ClassNotFoundException {
+        return (Class<E>) Class.forName(getEntityClass());
+    }
+
 }
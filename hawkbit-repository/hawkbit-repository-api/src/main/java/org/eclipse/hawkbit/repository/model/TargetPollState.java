@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.net.URI;
+
+/**
+ * A view on the state of a {@link Target} which is needed to answer its
+ * poll, e.g. by the controller base resource of the DDI API.
+ */
+public final class TargetPollState {
+
+    /**
+     * Name of the {@link TargetTag} which marks targets with the low poll
+     * interval.
+     */
+    public static final String LOW_POLL_TAG = "low-poll";
+
+    private final long targetId;
+    private final String controllerId;
+    private final URI address;
+    private final Long activeActionId;
+    private final Long installedActionId;
+    private final boolean lowPoll;
+    private final boolean requestControllerAttributes;
+
+    /**
+     * Constructor.
+     *
+     * @param targetId
+     *            the ID of the target
+     * @param controllerId
+     *            the controller ID of the target
+     * @param address
+     *            the address the target polled from
+     * @param activeActionId
+     *            ID of the active {@link Action} with the highest weight or
+     *            <code>null</code>
+     * @param installedActionId
+     *            ID of the finished and no longer active {@link Action} of the
+     *            installed {@link DistributionSet} or <code>null</code>
+     * @param lowPoll
+     *            <code>true</code> if the target is tagged with
+     *            {@link #LOW_POLL_TAG}
+     * @param requestControllerAttributes
+     *            see {@link Target#isRequestControllerAttributes()}
+     */
+    public TargetPollState(final long targetId, final String controllerId, final URI address,
+            final Long activeActionId, final Long installedActionId, final boolean lowPoll,
+            final boolean requestControllerAttributes) {
+        this.targetId = targetId;
+        this.controllerId = controllerId;
+        this.address = address;
+        this.activeActionId = activeActionId;
+        this.installedActionId = installedActionId;
+        this.lowPoll = lowPoll;
+        this.requestControllerAttributes = requestControllerAttributes;
+    }
+
+    public long getTargetId() {
+        return targetId;
+    }
+
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    public URI getAddress() {
+        return address;
+    }
+
+    public Long getActiveActionId() {
+        return activeActionId;
+    }
+
+    public Long getInstalledActionId() {
+        return installedActionId;
+    }
+
+    public boolean isLowPoll() {
+        return lowPoll;
+    }
+
+    public boolean isRequestControllerAttributes() {
+        return requestControllerAttributes;
+    }
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.bus.BusBridge;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.messaging.converter.MessageConversionException;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtobufIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.RuntimeSchema;
+
+/**
+ * {@link BusBridge} which packs the outgoing {@link RemoteTenantAwareEvent}s
+ * into compressed {@link RemoteEventEnvelope}s per tenant and event type
+ * instead of sending every event in its own message. The events are flushed
+ * if the given number of events is pending or after the given interval. All
+ * pending envelopes are flushed together in the order their first event has
+ * been sent, so events of different types may only be reordered within one
+ * interval. Other events are sent immediately. If an envelope cannot be sent,
+ * its events are sent one by one instead.
+ *
+ * The receiving node has to {@link #unpack(RemoteEventEnvelope)} the
+ * envelopes before the events are published.
+ */
+public class BatchingBusBridge implements BusBridge, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingBusBridge.class);
+    private static final String METRIC_FAILED = "hawkbit.bus.batching.failed";
+
+    private final BusBridge delegate;
+    private final int maxEvents;
+    private final ScheduledExecutorService scheduler;
+    private final Counter failedBatches;
+    private final Counter failedEvents;
+
+    private final Object sendLock = new Object();
+    // guarded by this
+    private final Map<String, List<RemoteTenantAwareEvent>> batches = new LinkedHashMap<>();
+    private int pendingEvents;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            the bridge which sends the envelopes
+     * @param maxEvents
+     *            number of pending events which triggers a flush
+     * @param flushInterval
+     *            interval in {@link TimeUnit#MILLISECONDS} after which the
+     *            pending events are flushed
+     */
+    public BatchingBusBridge(final BusBridge delegate, final int maxEvents, final long flushInterval) {
+        this(delegate, maxEvents, flushInterval, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            the bridge which sends the envelopes
+     * @param maxEvents
+     *            number of pending events which triggers a flush
+     * @param flushInterval
+     *            interval in {@link TimeUnit#MILLISECONDS} after which the
+     *            pending events are flushed
+     * @param meterRegistry
+     *            to count the envelopes and events which could not be sent
+     */
+    public BatchingBusBridge(final BusBridge delegate, final int maxEvents, final long flushInterval,
+            final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.failedBatches = Counter.builder(METRIC_FAILED).tag("unit", "batch").register(meterRegistry);
+        this.failedEvents = Counter.builder(METRIC_FAILED).tag("unit", "event").register(meterRegistry);
+        this.maxEvents = maxEvents;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("bus-event-batching-%d").build());
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void send(final RemoteApplicationEvent event) {
+        if (!(event instanceof RemoteTenantAwareEvent) || event instanceof RemoteEventEnvelope
+                || EventType.from(event.getClass()) == null) {
+            delegate.send(event);
+            return;
+        }
+
+        final RemoteTenantAwareEvent tenantAwareEvent = (RemoteTenantAwareEvent) event;
+        synchronized (this) {
+            batches.computeIfAbsent(tenantAwareEvent.getTenant() + "/" + event.getClass().getName(),
+                    key -> new ArrayList<>()).add(tenantAwareEvent);
+            if (++pendingEvents < maxEvents) {
+                return;
+            }
+        }
+
+        flush();
+    }
+
+    /**
+     * Sends all pending events.
+     */
+    public void flush() {
+        synchronized (sendLock) {
+            final List<List<RemoteTenantAwareEvent>> pending;
+            synchronized (this) {
+                pending = new ArrayList<>(batches.values());
+                batches.clear();
+                pendingEvents = 0;
+            }
+
+            pending.forEach(events -> Lists.partition(events, maxEvents).forEach(this::sendBatch));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    private void sendBatch(final List<RemoteTenantAwareEvent> events) {
+        if (events.size() == 1) {
+            sendEvents(events);
+            return;
+        }
+
+        try {
+            delegate.send(pack(events));
+        } catch (final RuntimeException e) {
+            failedBatches.increment();
+            LOG.warn("Failed to send {} remote events of type {} in one envelope, sending them one by one",
+                    events.size(), events.get(0).getClass(), e);
+            sendEvents(events);
+        }
+    }
+
+    private void sendEvents(final List<RemoteTenantAwareEvent> events) {
+        RuntimeException failure = null;
+        int failed = 0;
+        for (final RemoteTenantAwareEvent event : events) {
+            try {
+                delegate.send(event);
+            } catch (final RuntimeException e) {
+                failure = e;
+                failed++;
+            }
+        }
+
+        if (failure != null) {
+            failedEvents.increment(failed);
+            LOG.error("Failed to send {} remote events of type {}", failed, events.get(0).getClass(), failure);
+        }
+    }
+
+    /**
+     * Packs the given events into an envelope.
+     *
+     * @param events
+     *            of the same tenant and type
+     * @return the envelope
+     */
+    public static RemoteEventEnvelope pack(final List<? extends RemoteTenantAwareEvent> events) {
+        final RemoteTenantAwareEvent first = events.get(0);
+        final EventType eventType = EventType.from(first.getClass());
+        if (eventType == null) {
+            throw new MessageConversionException("Missing EventType for given class : " + first.getClass());
+        }
+
+        @SuppressWarnings("unchecked")
+        final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema((Class<?>) first.getClass());
+        final LinkedBuffer buffer = LinkedBuffer.allocate();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final OutputStream out = new GZIPOutputStream(bytes)) {
+            for (final RemoteTenantAwareEvent event : events) {
+                ProtobufIOUtil.writeDelimitedTo(out, event, schema, buffer);
+                buffer.clear();
+            }
+        } catch (final IOException e) {
+            throw new MessageConversionException("Cannot pack remote events", e);
+        }
+
+        return new RemoteEventEnvelope(first.getTenant(), first.getOriginService(), eventType.getValue(),
+                events.size(), bytes.toByteArray());
+    }
+
+    /**
+     * Unpacks the events of an envelope.
+     *
+     * @param envelope
+     *            to unpack
+     * @return the events in the order they have been sent
+     */
+    public static List<RemoteApplicationEvent> unpack(final RemoteEventEnvelope envelope) {
+        final Class<?> targetClass = new EventType(envelope.getEventType()).getTargetClass();
+        if (targetClass == null) {
+            throw new MessageConversionException("Missing mapping of EventType for value " + envelope.getEventType());
+        }
+
+        @SuppressWarnings("unchecked")
+        final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(targetClass);
+        final List<RemoteApplicationEvent> events = new ArrayList<>(envelope.getSize());
+        try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(envelope.getEvents()))) {
+            for (int i = 0; i < envelope.getSize(); i++) {
+                final Object event = schema.newMessage();
+                ProtobufIOUtil.mergeDelimitedFrom(in, event, schema);
+                events.add((RemoteApplicationEvent) event);
+            }
+        } catch (final IOException e) {
+            throw new MessageConversionException("Cannot unpack remote events", e);
+        }
+
+        return events;
+    }
+}
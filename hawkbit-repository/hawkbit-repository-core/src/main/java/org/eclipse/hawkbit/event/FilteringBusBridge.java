@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.bus.BusBridge;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * {@link BusBridge} which does not send the remote events matched by the given
+ * {@link ApplicationEventFilter} to the bus. The events are still published to
+ * the listeners of the local node.
+ */
+public class FilteringBusBridge implements BusBridge, DisposableBean {
+
+    private final BusBridge delegate;
+    private final ApplicationEventFilter remoteEventFilter;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            the bridge which sends the remaining events
+     * @param remoteEventFilter
+     *            returns <code>true</code> for the events which are not sent
+     */
+    public FilteringBusBridge(final BusBridge delegate, final ApplicationEventFilter remoteEventFilter) {
+        this.delegate = delegate;
+        this.remoteEventFilter = remoteEventFilter;
+    }
+
+    @Override
+    public void send(final RemoteApplicationEvent event) {
+        if (!remoteEventFilter.filter(event)) {
+            delegate.send(event);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean) {
+            ((DisposableBean) delegate).destroy();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.TenantConfiguration;
+import org.eclipse.hawkbit.security.SecurityTokenCache;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tenant aware {@link SecurityTokenCache}. An entry is evicted if the target
+ * is updated, e.g. its token is regenerated, or deleted. All entries of a
+ * tenant are evicted if its authentication mode changes. Every eviction
+ * increments the generation, so a target which has been loaded before a
+ * concurrent eviction is not cached.
+ */
+public class TargetSecurityTokenCache implements SecurityTokenCache {
+    private static final String CACHE_TOKEN_NAME = "TargetSecurityToken";
+    private static final String CACHE_TARGET_ID_NAME = "TargetSecurityTokenTargetId";
+    private static final String METRIC_NAME = "hawkbit.security.token.cache";
+    private static final Set<String> AUTHENTICATION_MODE_KEYS = Set.of(
+            TenantConfigurationKey.AUTHENTICATION_MODE_HEADER_ENABLED,
+            TenantConfigurationKey.AUTHENTICATION_MODE_HEADER_AUTHORITY_NAME,
+            TenantConfigurationKey.AUTHENTICATION_MODE_TARGET_SECURITY_TOKEN_ENABLED,
+            TenantConfigurationKey.AUTHENTICATION_MODE_GATEWAY_SECURITY_TOKEN_ENABLED,
+            TenantConfigurationKey.AUTHENTICATION_MODE_GATEWAY_SECURITY_TOKEN_KEY);
+
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param meterRegistry
+     *            to register the hit and miss metrics
+     * @param size
+     *            the maximum size of the cache
+     * @param expiry
+     *            time in {@link TimeUnit#MILLISECONDS} after which an entry
+     *            expires
+     */
+    public TargetSecurityTokenCache(final TenantAware tenantAware, final MeterRegistry meterRegistry,
+            final long size, final long expiry) {
+        this.tenantAware = tenantAware;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size)
+                .expireAfterWrite(expiry, TimeUnit.MILLISECONDS);
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+        this.hits = Counter.builder(METRIC_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME).tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    public String getTokenHash(final String controllerId) {
+        final Cache cache = cacheManager.getCache(CACHE_TOKEN_NAME);
+        final String tokenHash = cache == null ? null : cache.get(controllerId, String.class);
+        (tokenHash == null ? misses : hits).increment();
+        return tokenHash;
+    }
+
+    @Override
+    public String getControllerId(final long targetId) {
+        final Cache cache = cacheManager.getCache(CACHE_TARGET_ID_NAME);
+        return cache == null ? null : cache.get(targetId, String.class);
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Needs to be called in a context which is allowed to read the token.
+     */
+    @Override
+    public String put(final long targetId, final String controllerId, final String securityToken,
+            final long loadedGeneration) {
+        final String tokenHash = SecurityTokenCache.hash(securityToken);
+        final Cache cache = cacheManager.getCache(CACHE_TOKEN_NAME);
+        final Cache targetIdCache = cacheManager.getCache(CACHE_TARGET_ID_NAME);
+        if (cache == null || targetIdCache == null || generation.get() != loadedGeneration) {
+            return tokenHash;
+        }
+
+        targetIdCache.put(targetId, controllerId);
+        cache.put(controllerId, tokenHash);
+
+        // an eviction between the check and the put might have missed the entry
+        if (generation.get() != loadedGeneration) {
+            cache.evict(controllerId);
+        }
+        return tokenHash;
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    public void invalidateOnTargetUpdated(final TargetUpdatedEvent event) {
+        evictTarget(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    public void invalidateOnTargetDeleted(final TargetDeletedEvent event) {
+        evictTarget(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TenantConfigurationCreatedEvent.class)
+    public void invalidateOnTenantConfigurationCreated(final TenantConfigurationCreatedEvent event) {
+        if (event.getEntity().map(TenantConfiguration::getKey).filter(AUTHENTICATION_MODE_KEYS::contains)
+                .isPresent()) {
+            evictCaches(event.getTenant());
+        }
+    }
+
+    @EventListener(classes = TenantConfigurationUpdatedEvent.class)
+    public void invalidateOnTenantConfigurationUpdated(final TenantConfigurationUpdatedEvent event) {
+        if (event.getEntity().map(TenantConfiguration::getKey).filter(AUTHENTICATION_MODE_KEYS::contains)
+                .isPresent()) {
+            evictCaches(event.getTenant());
+        }
+    }
+
+    @EventListener(classes = TenantConfigurationDeletedEvent.class)
+    public void invalidateOnTenantConfigurationDeleted(final TenantConfigurationDeletedEvent event) {
+        if (AUTHENTICATION_MODE_KEYS.contains(event.getConfigKey())) {
+            evictCaches(event.getTenant());
+        }
+    }
+
+    /**
+     * Evicts all caches for a given tenant.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        generation.incrementAndGet();
+        cacheManager.evictCaches(tenant);
+    }
+
+    private void evictTarget(final String tenant, final Long targetId) {
+        if (targetId == null) {
+            return;
+        }
+
+        // also if the target is not cached, as it might be loading
+        generation.incrementAndGet();
+        tenantAware.runAsTenant(tenant, () -> {
+            final Cache cache = cacheManager.getCache(CACHE_TOKEN_NAME);
+            final Cache targetIdCache = cacheManager.getCache(CACHE_TARGET_ID_NAME);
+            if (cache != null && targetIdCache != null) {
+                final String controllerId = targetIdCache.get(targetId, String.class);
+                if (controllerId != null) {
+                    cache.evict(controllerId);
+                    targetIdCache.evict(targetId);
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.bus.event.RefreshRemoteApplicationEvent;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Bus event batching")
+public class BatchingBusBridgeTest {
+
+    private final List<RemoteApplicationEvent> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    @Description("Verifies that packed events survive the protostuff conversion of their envelope.")
+    public void envelopeIsConvertedAndUnpacked() {
+        final List<TargetPollEvent> events = createPollEvents("DEFAULT", 100);
+        final RemoteEventEnvelope envelope = BatchingBusBridge.pack(events);
+
+        final BusProtoStuffMessageConverter converter = new BusProtoStuffMessageConverter();
+        final Object payload = converter.convertToInternal(envelope, new MessageHeaders(new HashMap<>()), null);
+        final Object received = converter.convertFromInternal(MessageBuilder.withPayload(payload).build(),
+                RemoteApplicationEvent.class, null);
+
+        assertThat(received).isEqualTo(envelope);
+        assertThat(BatchingBusBridge.unpack((RemoteEventEnvelope) received)).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    @Description("Verifies that events are packed per tenant and type once the batch size is reached.")
+    public void eventsArePackedPerTenantAndType() {
+        final BatchingBusBridge underTest = new BatchingBusBridge(sent::add, 5, TimeUnit.HOURS.toMillis(1));
+
+        final List<TargetPollEvent> defaultEvents = createPollEvents("DEFAULT", 3);
+        defaultEvents.forEach(underTest::send);
+        final TargetAttributesRequestedEvent otherType = new TargetAttributesRequestedEvent("DEFAULT", 1L, "target",
+                "target", Target.class, "application");
+        underTest.send(otherType);
+        assertThat(sent).isEmpty();
+
+        final List<TargetPollEvent> otherTenantEvents = createPollEvents("OTHER", 1);
+        underTest.send(otherTenantEvents.get(0));
+
+        assertThat(sent).hasSize(3);
+        assertThat(BatchingBusBridge.unpack((RemoteEventEnvelope) sent.get(0))).containsExactlyElementsOf(defaultEvents);
+        assertThat(sent.get(1)).isEqualTo(otherType);
+        assertThat(sent.get(2)).isEqualTo(otherTenantEvents.get(0));
+    }
+
+    @Test
+    @Description("Verifies that events which are not tenant aware are not batched.")
+    public void otherEventsAreSentImmediately() {
+        final BatchingBusBridge underTest = new BatchingBusBridge(sent::add, 5, TimeUnit.HOURS.toMillis(1));
+
+        final RefreshRemoteApplicationEvent refresh = new RefreshRemoteApplicationEvent(this, "application",
+                () -> "**");
+        underTest.send(refresh);
+
+        assertThat(sent).containsExactly(refresh);
+    }
+
+    @Test
+    @Description("Verifies that pending events are sent after the flush interval.")
+    public void eventsAreFlushedAfterInterval() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final BatchingBusBridge underTest = new BatchingBusBridge(event -> {
+            sent.add(event);
+            latch.countDown();
+        }, 500, 50);
+
+        final TargetPollEvent event = createPollEvents("DEFAULT", 1).get(0);
+        underTest.send(event);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sent).containsExactly(event);
+        underTest.destroy();
+    }
+
+    @Test
+    @Description("Verifies that the events of an envelope which cannot be sent are sent one by one.")
+    public void eventsAreSentOneByOneIfEnvelopeFails() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final AtomicBoolean failNext = new AtomicBoolean();
+        final BatchingBusBridge underTest = new BatchingBusBridge(event -> {
+            if (event instanceof RemoteEventEnvelope || failNext.getAndSet(false)) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            sent.add(event);
+        }, 3, TimeUnit.HOURS.toMillis(1), meterRegistry);
+
+        final List<TargetPollEvent> events = createPollEvents("DEFAULT", 3);
+        failNext.set(true);
+        events.forEach(underTest::send);
+
+        assertThat(sent).containsExactlyElementsOf(events.subList(1, 3));
+        assertThat(meterRegistry.get("hawkbit.bus.batching.failed").tag("unit", "batch").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("hawkbit.bus.batching.failed").tag("unit", "event").counter().count())
+                .isEqualTo(1);
+    }
+
+    static List<TargetPollEvent> createPollEvents(final String tenant, final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TargetPollEvent("controller-" + i, tenant, "hawkbit-node-1"))
+                .collect(Collectors.toList());
+    }
+}
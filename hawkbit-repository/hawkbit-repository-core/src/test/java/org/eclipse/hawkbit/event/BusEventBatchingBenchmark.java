@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.messaging.MessageHeaders;
+
+import com.google.common.collect.Lists;
+
+/**
+ * JMH benchmark comparing sending remote events one message per event against
+ * sending them in {@link BatchingBusBridge} envelopes. Besides the events per
+ * second the sender can serialize, it reports the bus messages and bytes per
+ * second, which is what the broker CPU load scales with. Not executed as part
+ * of the test suite, run it with {@link #main(String[])} from the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusEventBatchingBenchmark {
+
+    @Param({ "100", "500" })
+    private int batchSize;
+
+    private final BusProtoStuffMessageConverter converter = new BusProtoStuffMessageConverter();
+    private final MessageHeaders headers = new MessageHeaders(new HashMap<>());
+    private List<List<TargetPollEvent>> batches;
+
+    /**
+     * Counts the sent bus messages and bytes.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class BusCounters {
+        public long messages;
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messages = 0;
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        batches = Lists.partition(BatchingBusBridgeTest.createPollEvents("DEFAULT", 10_000), batchSize);
+    }
+
+    @Benchmark
+    public void singleMessages(final BusCounters counters) {
+        for (final List<TargetPollEvent> batch : batches) {
+            for (final TargetPollEvent event : batch) {
+                send(event, counters);
+            }
+        }
+    }
+
+    @Benchmark
+    public void batchedMessages(final BusCounters counters) {
+        for (final List<TargetPollEvent> batch : batches) {
+            send(BatchingBusBridge.pack(batch), counters);
+        }
+    }
+
+    private void send(final Object event, final BusCounters counters) {
+        final byte[] message = (byte[]) converter.convertToInternal(event, headers, null);
+        counters.messages++;
+        counters.bytes += message.length;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BusEventBatchingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
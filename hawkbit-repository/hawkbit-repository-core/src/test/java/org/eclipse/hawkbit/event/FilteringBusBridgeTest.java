@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Bus event filtering")
+public class FilteringBusBridgeTest {
+
+    private final List<RemoteApplicationEvent> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    @Description("Verifies that only the events which are not filtered are sent to the bus.")
+    public void filteredEventsAreNotSent() {
+        final FilteringBusBridge underTest = new FilteringBusBridge(sent::add,
+                event -> event instanceof DownloadProgressEvent);
+
+        final TargetPollEvent poll = new TargetPollEvent("controller", "DEFAULT", "hawkbit-node-1");
+        underTest.send(poll);
+        underTest.send(new DownloadProgressEvent("DEFAULT", 1L, 10L, "hawkbit-node-1"));
+
+        assertThat(sent).containsExactly(poll);
+    }
+}
@@ -393,6 +393,18 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
      */
     Long countByTargetId(Long targetId);
 
+    /**
+     * Counts the {@link Action}s of each of the given targets by one grouped
+     * query.
+     *
+     * @param targetIds
+     *            the targets to count the {@link Action}s
+     * @return pairs of target ID and count of actions, targets without
+     *         actions are omitted
+     */
+    @Query("SELECT a.target.id, COUNT(a.id) FROM JpaAction a WHERE a.target.id IN :targetIds GROUP BY a.target.id")
+    List<Object[]> countByTargetIdIn(@Param("targetIds") Collection<Long> targetIds);
+
     /**
      * Counts all {@link Action}s referring to the given DistributionSet.
      *
@@ -555,6 +567,22 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
      */
     Page<JpaAction> findByRolloutIdAndStatus(Pageable pageable, Long rolloutId, Status actionStatus);
 
+    /**
+     * Retrieves the IDs of the actions of the given rollouts in the given
+     * status, ordered by ID.
+     *
+     * @param rolloutIds
+     *            the IDs of the rollouts
+     * @param status
+     *            the status of the actions
+     * @param pageable
+     *            to limit the number of IDs
+     * @return the IDs of the actions
+     */
+    @Query("SELECT a.id FROM JpaAction a WHERE a.rollout.id IN :rolloutIds AND a.status = :status ORDER BY a.id")
+    List<Long> findIdsByRolloutIdInAndStatus(@Param("rolloutIds") Collection<Long> rolloutIds,
+            @Param("status") Status status, Pageable pageable);
+
     /**
      * Get list of objects which has details of status and count of targets in
      * each status in specified rollout.
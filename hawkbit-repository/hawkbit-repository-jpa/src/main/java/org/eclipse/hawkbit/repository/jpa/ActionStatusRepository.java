@@ -23,6 +23,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -97,6 +98,32 @@ public interface ActionStatusRepository
     Page<String> findMessagesByActionIdAndMessageNotLike(Pageable pageable, @Param("actionId") Long actionId,
             @Param("filter") String filter);
 
+    /**
+     * Finds the IDs of the {@link ActionStatus} entries of the given targets
+     * which can be cleaned up, i.e. all but the newest status of an action
+     * which do not belong to the newest action of their target. Statuses and
+     * actions in {@link Action.Status#ERROR} are never cleaned up and are
+     * ignored when the newest one is determined. The IDs are sorted ascending
+     * so that they can be paged by ID range.
+     *
+     * @param targetIds
+     *            of the targets to clean up
+     * @param afterId
+     *            only IDs greater than this one are returned
+     * @param error
+     *            {@link Action.Status#ERROR}
+     * @param pageable
+     *            to limit the number of IDs
+     * @return the IDs of the action statuses which can be deleted
+     */
+    @Query("SELECT s.id FROM JpaActionStatus s WHERE s.action.target.id IN :targetIds AND s.id > :afterId"
+            + " AND s.status <> :error AND s.action.status <> :error"
+            + " AND s.action.id < (SELECT MAX(a.id) FROM JpaAction a WHERE a.target = s.action.target AND a.status <> :error)"
+            + " AND s.id < (SELECT MAX(s2.id) FROM JpaActionStatus s2 WHERE s2.action = s.action AND s2.status <> :error)"
+            + " ORDER BY s.id")
+    List<Long> findIdsOfCleanableStatusByTargetIds(@Param("targetIds") Collection<Long> targetIds,
+            @Param("afterId") long afterId, @Param("error") Action.Status error, Pageable pageable);
+
     /**
      * Delete action status messages with the given Ids
      *
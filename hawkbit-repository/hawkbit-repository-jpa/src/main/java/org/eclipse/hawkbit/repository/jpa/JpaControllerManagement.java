@@ -15,14 +15,17 @@ import static org.eclipse.hawkbit.repository.model.Target.CONTROLLER_ATTRIBUTE_K
 import static org.eclipse.hawkbit.repository.model.Target.CONTROLLER_ATTRIBUTE_VALUE_SIZE;
 
 import java.net.URI;
-import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
 import java.util.*;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -36,10 +39,12 @@ import javax.persistence.criteria.Root;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
-import com.google.common.collect.MapDifference;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.eclipse.hawkbit.repository.*;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
 import org.eclipse.hawkbit.repository.event.remote.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiTargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
@@ -48,15 +53,18 @@ import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.InvalidTargetAttributeException;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaActionStatusCreate;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignFilterCache;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignFilterCache.AutoAssignFilter;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignLocks;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.*;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
-import org.eclipse.hawkbit.repository.jpa.rsql.RsqlMatcher;
 import org.eclipse.hawkbit.repository.jpa.specifications.ActionSpecifications;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.jpa.utils.InStatementHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
 import org.eclipse.hawkbit.repository.model.*;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
@@ -65,13 +73,14 @@ import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.*;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -82,8 +91,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * JPA based {@link ControllerManagement} implementation.
@@ -91,11 +100,24 @@ import com.google.common.collect.Sets;
  */
 @Transactional(readOnly = true)
 @Validated
-public class JpaControllerManagement extends JpaActionManagement implements ControllerManagement {
+public class JpaControllerManagement extends JpaActionManagement
+        implements ControllerManagement, InitializingBean, DisposableBean {
     private static final Logger LOG = LoggerFactory.getLogger(JpaControllerManagement.class);
 
+    private static final String METRIC_AUTO_ASSIGN_LOCK_CONTENDED = "hawkbit.autoassign.lock.contended";
+    private static final String METRIC_AUTO_ASSIGN_ATTRIBUTES_REQUESTED = "hawkbit.autoassign.attributes.requested";
+    private static final String METRIC_AUTO_ASSIGN_QUEUE_DEPTH = "hawkbit.autoassign.queue.depth";
+    private static final String METRIC_AUTO_ASSIGN_QUEUE_LAG = "hawkbit.autoassign.queue.lag";
+    private static final String METRIC_AUTO_ASSIGN_QUEUE_REJECTED = "hawkbit.autoassign.queue.rejected";
+
     private final BlockingDeque<TargetPoll> queue;
 
+    private final BlockingQueue<TargetPoll> autoAssignQueue;
+
+    private final Map<TargetPoll, AutoAssignCheck> pendingAutoAssignChecks;
+
+    private final ScheduledExecutorService autoAssignExecutor;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -112,10 +134,7 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     private SystemSecurityContext systemSecurityContext;
 
     @Autowired
-    private SystemManagement systemManagement;
-
-    @Autowired
-    private LockRegistry lockRegistry;
+    private AutoAssignLocks autoAssignLocks;
 
     @Autowired
     private EntityFactory entityFactory;
@@ -138,9 +157,6 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     @Autowired
     private ConfirmationManagement confirmationManagement;
 
-    @Autowired
-    private TargetFilterQueryManagement targetFilterQueryManagement;
-
     @Autowired
     private PlatformTransactionManager transactionManager;
 
@@ -150,6 +166,15 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     @Autowired
     private TargetFieldExtractor fieldExtractor;
 
+    @Autowired
+    private AutoAssignFilterCache autoAssignFilterCache;
+
+    @Autowired
+    private TargetPollStateCache pollStateCache;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     @Autowired
     private TargetTypeRepository targetTypeRepository;
 
@@ -159,14 +184,49 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         super(actionRepository, actionStatusRepository, quotaManagement, repositoryProperties);
 
         if (!repositoryProperties.isEagerPollPersistence()) {
+            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
+
             executorService.scheduleWithFixedDelay(this::flushUpdateQueue,
                     repositoryProperties.getPollPersistenceFlushTime(),
                     repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
-
-            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
         } else {
             queue = null;
         }
+
+        if (repositoryProperties.isAutoAssignAsync()) {
+            autoAssignQueue = new LinkedBlockingQueue<>(repositoryProperties.getAutoAssignQueueSize());
+            pendingAutoAssignChecks = new ConcurrentHashMap<>();
+            // the checks may take long, so they run on their own pool to not
+            // block the shared scheduler
+            autoAssignExecutor = Executors.newScheduledThreadPool(
+                    Math.max(1, repositoryProperties.getAutoAssignWorkers()),
+                    new ThreadFactoryBuilder().setDaemon(true).setNameFormat("autoassign-%d").build());
+        } else {
+            autoAssignQueue = null;
+            pendingAutoAssignChecks = null;
+            autoAssignExecutor = null;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (autoAssignExecutor == null) {
+            return;
+        }
+
+        meterRegistry.gauge(METRIC_AUTO_ASSIGN_QUEUE_DEPTH, autoAssignQueue, Collection::size);
+        for (int i = 0; i < Math.max(1, repositoryProperties.getAutoAssignWorkers()); i++) {
+            autoAssignExecutor.scheduleWithFixedDelay(this::drainAutoAssignQueue,
+                    repositoryProperties.getAutoAssignFlushTime(), repositoryProperties.getAutoAssignFlushTime(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (autoAssignExecutor != null) {
+            autoAssignExecutor.shutdownNow();
+        }
     }
 
     @Override
@@ -397,6 +457,54 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                 .orElseGet(() -> createTarget(controllerId, address, name));
     }
 
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(include = ConcurrencyFailureException.class, exclude = EntityAlreadyExistsException.class, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public TargetPollState pollTarget(final String controllerId, final URI address) {
+        final boolean cacheEnabled = repositoryProperties.isPollStateCache()
+                && !repositoryProperties.isEagerPollPersistence();
+
+        final long generation = cacheEnabled ? pollStateCache.getGeneration() : 0;
+        if (cacheEnabled) {
+            final TargetPollState cached = pollStateCache.get(controllerId);
+            // only the state is taken from the cache, the poll is queued like
+            // the poll of a loaded target and the last target query and the
+            // poll event are written with the next flush
+            if (cached != null && !isAddressChanged(cached.getAddress(), address) && queue
+                    .offer(new TargetPoll(tenantAware.getCurrentTenant().toUpperCase(), controllerId))) {
+                return cached;
+            }
+        }
+
+        final Target target = findOrRegisterTargetIfItDoesNotExist(controllerId, address);
+        if (target.getId() == null) {
+            // a newly registered target gets its ID on flush
+            entityManager.flush();
+        }
+        final TargetPollState pollState = toPollState(target, address);
+        if (cacheEnabled && pollState.getActiveActionId() == null) {
+            pollStateCache.put(pollState, generation);
+        }
+        return pollState;
+    }
+
+    private TargetPollState toPollState(final Target target, final URI address) {
+        final Long activeActionId = findActiveActionWithHighestWeight(target.getControllerId()).map(Action::getId)
+                .orElse(null);
+
+        // the installed action is only of interest if it is not active anymore
+        final Long installedActionId = Optional.ofNullable(target.getInstalledDistributionSet())
+                .flatMap(ds -> actionRepository.findFirstByTargetIdAndDistributionSetIdAndStatusOrderByIdDesc(
+                        target.getId(), ds.getId(), FINISHED))
+                .filter(action -> !action.isActive()).map(Action::getId).orElse(null);
+
+        final boolean lowPoll = ((JpaTarget) target).getTags().stream()
+                .anyMatch(tag -> TargetPollState.LOW_POLL_TAG.equals(tag.getName()));
+
+        return new TargetPollState(target.getId(), target.getControllerId(), address, activeActionId,
+                installedActionId, lowPoll, target.isRequestControllerAttributes());
+    }
+
     private Target createTarget(final String controllerId, final URI address, final String name) {
 
         final Target result = targetRepository.save((JpaTarget) entityFactory.target().create()
@@ -449,19 +557,48 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
         LOG.debug("Persist {} targetqueries.", polls.size());
 
-        final List<List<String>> pollChunks = Lists.partition(
-                polls.stream().map(TargetPoll::getControllerId).collect(Collectors.toList()),
+        final Map<Boolean, List<String>> controllerIdsByAttributeReport = polls.stream()
+                .collect(Collectors.partitioningBy(TargetPoll::isAttributeReport,
+                        Collectors.mapping(TargetPoll::getControllerId, Collectors.toList())));
+
+        final List<List<String>> pollChunks = Lists.partition(controllerIdsByAttributeReport.get(false),
                 Constants.MAX_ENTRIES_IN_STATEMENT);
 
         pollChunks.forEach(chunk -> {
             setLastTargetQuery(tenant, System.currentTimeMillis(), chunk);
-            chunk.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                    .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
+            publishPollEvents(tenant, chunk);
         });
 
+        Lists.partition(controllerIdsByAttributeReport.get(true), Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(chunk -> setLastAttributeUpdate(tenant, System.currentTimeMillis(), chunk));
+
         return null;
     }
 
+    private void publishPollEvents(final String tenant, final List<String> controllerIds) {
+        if (repositoryProperties.isCoalescePollEvents()) {
+            final List<String> polled = new ArrayList<>(controllerIds);
+            afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                    .publishEvent(new MultiTargetPollEvent(tenant, eventPublisherHolder.getApplicationId(), polled)));
+            return;
+        }
+
+        controllerIds.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
+    }
+
+    /**
+     * Queues the update of {@link JpaTarget#getLastAttributeUpdate()} like a
+     * target poll. It is written directly if polls are persisted eagerly or
+     * the queue is full.
+     */
+    private void updateLastAttributeUpdate(final JpaTarget target) {
+        if (queue == null || !queue.offer(new TargetPoll(target, true))) {
+            setLastAttributeUpdate(target.getTenant(), System.currentTimeMillis(),
+                    Collections.singletonList(target.getControllerId()));
+        }
+    }
+
     /**
      * Sets {@link Target#getLastTargetQuery()} by native SQL in order to avoid
      * raising opt lock revision as this update is not mission critical and in
@@ -469,28 +606,37 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
      * itself.
      */
     private void setLastTargetQuery(final String tenant, final long currentTimeMillis, final List<String> chunk) {
-        final Map<String, String> paramMapping = Maps.newHashMapWithExpectedSize(chunk.size());
+        final int updated = setTimestamp("last_target_query", tenant, currentTimeMillis, chunk);
+        if (updated < chunk.size()) {
+            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
+        }
+    }
 
-        for (int i = 0; i < chunk.size(); i++) {
-            paramMapping.put("cid" + i, chunk.get(i));
+    /**
+     * Sets {@link JpaTarget#getLastAttributeUpdate()} by native SQL for the
+     * same reason as {@link #setLastTargetQuery(String, long, List)}.
+     */
+    private void setLastAttributeUpdate(final String tenant, final long currentTimeMillis, final List<String> chunk) {
+        final int updated = setTimestamp("last_attribute_update", tenant, currentTimeMillis, chunk);
+        if (updated < chunk.size()) {
+            LOG.error("Target attribute reports could not be applied completely ({} instead of {}).", updated,
+                    chunk.size());
         }
+    }
 
-        final Query updateQuery = entityManager.createNativeQuery(
-                "UPDATE sp_target SET last_target_query = #last_target_query WHERE controller_id IN ("
-                        + formatQueryInStatementParams(paramMapping.keySet()) + ") AND tenant = #tenant");
+    private int setTimestamp(final String column, final String tenant, final long currentTimeMillis,
+            final List<String> chunk) {
+        final Map<String, String> paramMapping = InStatementHelper.padParameters("cid", chunk);
+
+        final Query updateQuery = entityManager.createNativeQuery("UPDATE sp_target SET " + column + " = #" + column
+                + " WHERE controller_id IN (" + InStatementHelper.formatParameters(paramMapping)
+                + ") AND tenant = #tenant");
 
         paramMapping.forEach(updateQuery::setParameter);
-        updateQuery.setParameter("last_target_query", currentTimeMillis);
+        updateQuery.setParameter(column, currentTimeMillis);
         updateQuery.setParameter("tenant", tenant);
 
-        final int updated = updateQuery.executeUpdate();
-        if (updated < chunk.size()) {
-            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
-        }
-    }
-
-    private static String formatQueryInStatementParams(final Collection<String> paramNames) {
-        return "#" + String.join(",#", paramNames);
+        return updateQuery.executeUpdate();
     }
 
     /**
@@ -716,21 +862,23 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
 	
 	    final TargetUpdateStatus targetStatus = target.getUpdateStatus();
 
-        // Add last_update attribute
-        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ENGLISH);
-        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-
-        MapDifference<String, String> diff = Maps.difference(controllerAttributes, data);
-        Map<String, String> entriesOnlyOnLeft = diff.entriesOnlyOnLeft();
+        final long now = System.currentTimeMillis();
 
         // Check if attributes except last_update have actually changed; if not, return without updating distribution set
-        if(controllerAttributes.containsKey("last_update")) { controllerAttributes.remove("last_update"); }
+        final Map<String, String> storedAttributes = new HashMap<>(controllerAttributes);
+        storedAttributes.remove(JpaTarget.LAST_UPDATE_ATTRIBUTE);
 
         // Does "data" have updated or new attributes?
-        if (controllerAttributes.equals(data)) {
+        if (storedAttributes.equals(data)) {
             LOG.debug("Attributes have not changed, returning without updating distribution set.");
             target.setRequestControllerAttributes(false);
-            controllerAttributes.put("last_update", dateFormat.format(System.currentTimeMillis())); // Add / update last_update attribute
+            if (repositoryProperties.isAttributeNoOpDetection()) {
+                // only the report time is written, the target itself is
+                // only updated if the attributes had been requested
+                updateLastAttributeUpdate(target);
+                return target;
+            }
+            controllerAttributes.put(JpaTarget.LAST_UPDATE_ATTRIBUTE, JpaTarget.formatLastUpdate(now)); // Add / update last_update attribute
             return targetRepository.save(target);
         }
 
@@ -776,7 +924,10 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
             throw new IllegalStateException("The update mode " + updateMode + " is not supported.");
         }
 
-        controllerAttributes.put("last_update", dateFormat.format(System.currentTimeMillis())); // Add / update last_update attribute
+        controllerAttributes.put(JpaTarget.LAST_UPDATE_ATTRIBUTE, JpaTarget.formatLastUpdate(now)); // Add / update last_update attribute
+        if (repositoryProperties.isAttributeNoOpDetection()) {
+            target.setLastAttributeUpdate(now);
+        }
 
         assertTargetAttributesQuota(target);
 	
@@ -810,66 +961,263 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     @Override
     public void triggerDistributionSetAssignmentCheck(String controllerId, final Map<String, String> controllerAttributes, final String targetType){
         LOG.debug("Auto assign check with ID: {} triggered...", controllerId);
+
+        if (autoAssignQueue != null) {
+            final AutoAssignCheck check = new AutoAssignCheck(tenantAware.getCurrentTenant(), controllerId,
+                    controllerAttributes, targetType);
+            // queued after commit, so the worker reads the updated target
+            afterCommit.afterCommit(() -> {
+                if (!enqueueAutoAssignCheck(check)) {
+                    LOG.debug("Auto assign queue is full, checking controller {} synchronously", controllerId);
+                    // the caller's transaction is already committed
+                    systemSecurityContext.runAsSystem(() -> DeploymentHelper.runInNewTransaction(transactionManager,
+                            "autoAssignCheck", status -> executeAutoAssignCheck(controllerId,
+                                    check.getAttributes(), targetType)));
+                }
+            });
+            return;
+        }
+
         systemSecurityContext.runAsSystem(() -> executeAutoAssignCheck(controllerId, controllerAttributes, targetType));
     }
 
-    private Object executeAutoAssignCheck(String controllerId, final Map<String, String> controllerAttributes, final String targetType) {
+    /**
+     * Queues the check of the given target. A target which is already queued
+     * is checked only once with its latest attributes.
+     *
+     * @return <code>false</code> if the queue is full
+     */
+    private boolean enqueueAutoAssignCheck(final AutoAssignCheck check) {
+        final TargetPoll key = check.getKey();
+
+        // the pending check and the queue entry of a target are changed
+        // atomically per target, so a concurrent drain or enqueue can neither
+        // lose a check nor leave a pending check without a queue entry
+        final AutoAssignCheck pending = pendingAutoAssignChecks.compute(key, (k, queued) -> {
+            if (queued != null) {
+                return check.queuedSince(queued);
+            }
+            return autoAssignQueue.offer(key) ? check : null;
+        });
 
-        final int PAGE_SIZE = 1000;
-        final PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE);
-        final Slice<TargetFilterQuery> filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(pageRequest);
+        if (pending == null) {
+            meterRegistry.counter(METRIC_AUTO_ASSIGN_QUEUE_REJECTED).increment();
+            return false;
+        }
+        return true;
+    }
 
-        final Lock lock = lockRegistry.obtain("autoassign");
-        if (!lock.tryLock()) {
-            LOG.debug("Failed to obtain lock for controller {}, will continue to request attributes from controller.", controllerId);
-            final JpaTarget target = (JpaTarget) targetRepository.findByControllerId(controllerId)
-                    .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
+    /**
+     * Drains the auto assign queue in batches and checks the targets of each
+     * batch per tenant against the auto assign filters. Only the checks which
+     * are queued when the run starts are drained, so contended checks which
+     * are queued again wait for the next run.
+     */
+    private void drainAutoAssignQueue() {
+        final int batchSize = Math.max(1,
+                Math.min(repositoryProperties.getAutoAssignBatchSize(), Constants.MAX_ENTRIES_IN_STATEMENT));
+        final List<TargetPoll> keys = new ArrayList<>(batchSize);
+
+        int remaining = autoAssignQueue.size();
+        while (remaining > 0 && autoAssignQueue.drainTo(keys, Math.min(batchSize, remaining)) > 0) {
+            remaining -= keys.size();
+            final List<AutoAssignCheck> checks = keys.stream().map(pendingAutoAssignChecks::remove)
+                    .filter(Objects::nonNull).collect(Collectors.toList());
+            keys.clear();
+
+            checks.stream().collect(Collectors.groupingBy(AutoAssignCheck::getTenant))
+                    .forEach((tenant, tenantChecks) -> {
+                        try {
+                            tenantAware.runAsTenant(tenant, () -> systemSecurityContext.runAsSystem(() -> {
+                                checkForAutoAssignDS(tenantChecks);
+                                return null;
+                            }));
+                        } catch (final RuntimeException ex) {
+                            LOG.error("Failed to run auto assign check of {} targets for tenant {}.",
+                                    tenantChecks.size(), tenant, ex);
+                        }
+                    });
+        }
+    }
 
-            target.setRequestControllerAttributes(true);
+    private Object executeAutoAssignCheck(String controllerId, final Map<String, String> controllerAttributes, final String targetType) {
+
+        final List<AutoAssignFilter> filters = autoAssignFilterCache.getFilters();
+        if (filters.isEmpty()) {
+            LOG.debug("No auto assign filters for tenant {}, skipping check for controller {}",
+                    tenantAware.getCurrentTenant(), controllerId);
+            return null;
+        }
 
+        final String lockKey = autoAssignLocks.getKey(controllerId);
+        final Lock lock = autoAssignLocks.obtain(controllerId);
+        if (!lock.tryLock()) {
+            LOG.debug("Failed to obtain lock {} for controller {}, will continue to request attributes from controller.", lockKey, controllerId);
+            meterRegistry.counter(METRIC_AUTO_ASSIGN_LOCK_CONTENDED).increment();
+            requestAttributesForAutoAssignCheck(controllerId);
             return null;
         }
 
-        LOG.debug("Obtained lock with key: autoassign for controller {}", controllerId);
+        LOG.debug("Obtained lock with key: {} for controller {}", lockKey, controllerId);
 
         try {
-            systemManagement.forEachTenant(tenant -> checkForAutoAssignDS(controllerId, filterQueries, controllerAttributes, targetType));
+            // the target is loaded and assigned outside of the caller's
+            // transaction to keep its entity out of the caller's context
+            DeploymentHelper.runWithoutTransaction(transactionManager, status -> {
+                checkForAutoAssignDS(controllerId, filters, controllerAttributes, targetType);
+                return null;
+            });
         } finally {
             lock.unlock();
-            LOG.debug("Unlocked lock with key: autoassign for controller {}", controllerId);
+            LOG.debug("Unlocked lock with key: {} for controller {}", lockKey, controllerId);
         }
 
         return null;
     }
 
-    private void checkForAutoAssignDS(String controllerId, Slice<TargetFilterQuery> filterQueries, final Map<String, String> controllerAttributes, final String targetType){
-
+    /**
+     * Requests the attributes of the target, so that its auto assignment is
+     * checked again with its next attribute report. Needs a transaction.
+     */
+    private void requestAttributesForAutoAssignCheck(final String controllerId) {
         final JpaTarget target = (JpaTarget) targetRepository.findByControllerId(controllerId)
                 .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
 
+        target.setRequestControllerAttributes(true);
+        targetRepository.save(target);
+        meterRegistry.counter(METRIC_AUTO_ASSIGN_ATTRIBUTES_REQUESTED).increment();
+    }
+
+    private void checkForAutoAssignDS(String controllerId, final List<AutoAssignFilter> filters, final Map<String, String> controllerAttributes, final String targetType){
+
+        final JpaTarget target = targetRepository.findWithFieldDataByControllerId(controllerId)
+                .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
+
         TargetFieldData fieldData = fieldExtractor.extractData(target, controllerAttributes, targetType);
 
-        TargetFilterQuery matchedQuery = null;
+        final Optional<AutoAssignFilter> matchedFilter = filters.stream().filter(filter -> filter.matches(fieldData))
+                .findFirst();
 
-        for(TargetFilterQuery query: filterQueries){
-            if(RsqlMatcher.matches(query.getQuery(), fieldData)){
-                matchedQuery = query;
-                break;
-            }
+        if (!matchedFilter.isPresent()) {
+            LOG.debug("Returning from checkForAutoAssignDS since no filter matches controller {}", controllerId);
+            return;
         }
 
-        if(matchedQuery == null) {
-            LOG.debug("Returning from checkForAutoAssignDS since matchedQuery is null for controller {}", controllerId);
+        assignDsToTarget(target, matchedFilter.get());
+    }
+
+    private void checkForAutoAssignDS(final List<AutoAssignCheck> checks) {
+        final List<AutoAssignFilter> filters = autoAssignFilterCache.getFilters();
+        if (filters.isEmpty()) {
             return;
         }
 
-        assignDsToTarget(target, matchedQuery);
+        // the checks of a target are serialized by the same lock stripes as
+        // the synchronous checks, contended targets are queued again for the
+        // next run or have to report their attributes again if the queue is
+        // full
+        final List<Lock> locks = new ArrayList<>(checks.size());
+        try {
+            final List<AutoAssignCheck> lockedChecks = new ArrayList<>(checks.size());
+            checks.forEach(check -> {
+                final Lock lock = autoAssignLocks.obtain(check.getControllerId());
+                if (lock.tryLock()) {
+                    locks.add(lock);
+                    lockedChecks.add(check);
+                } else {
+                    meterRegistry.counter(METRIC_AUTO_ASSIGN_LOCK_CONTENDED).increment();
+                    if (!enqueueAutoAssignCheck(check)) {
+                        LOG.warn("Auto assign queue is full, requesting attributes of contended controller {}",
+                                check.getControllerId());
+                        requestAttributesForQueuedAutoAssignCheck(check.getControllerId());
+                    }
+                }
+            });
+
+            final long now = System.currentTimeMillis();
+            lockedChecks.forEach(check -> meterRegistry.timer(METRIC_AUTO_ASSIGN_QUEUE_LAG)
+                    .record(now - check.getQueuedAt(), TimeUnit.MILLISECONDS));
+
+            if (!lockedChecks.isEmpty()) {
+                checkLockedForAutoAssignDS(lockedChecks, filters);
+            }
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    private void requestAttributesForQueuedAutoAssignCheck(final String controllerId) {
+        try {
+            DeploymentHelper.runInNewTransaction(transactionManager, "requestAttributesForAutoAssignCheck", status -> {
+                requestAttributesForAutoAssignCheck(controllerId);
+                return null;
+            });
+        } catch (final EntityNotFoundException e) {
+            LOG.debug("Target {} of auto assign check does not exist anymore", controllerId, e);
+        }
+    }
+
+    private void checkLockedForAutoAssignDS(final List<AutoAssignCheck> checks,
+            final List<AutoAssignFilter> filters) {
+        final Map<String, JpaTarget> targets = targetRepository
+                .findWithFieldDataByControllerIdIn(
+                        checks.stream().map(AutoAssignCheck::getControllerId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(JpaTarget::getControllerId, target -> target));
+
+        final Map<AutoAssignFilter, List<JpaTarget>> matchedTargets = new LinkedHashMap<>();
+        checks.forEach(check -> {
+            final JpaTarget target = targets.get(check.getControllerId());
+            if (target == null) {
+                LOG.debug("Target {} of auto assign check does not exist anymore", check.getControllerId());
+                return;
+            }
+
+            final TargetFieldData fieldData = fieldExtractor.extractData(target, check.getAttributes(),
+                    check.getTargetType());
+            filters.stream().filter(filter -> filter.matches(fieldData)).findFirst().ifPresent(
+                    filter -> matchedTargets.computeIfAbsent(filter, f -> new ArrayList<>()).add(target));
+        });
+
+        matchedTargets.forEach(this::assignDsToTargets);
+    }
+
+    /**
+     * Assigns the distribution set of the filter to all targets in one
+     * transaction. Falls back to one transaction per target if the batch
+     * fails, so a single failing target does not block the others.
+     */
+    private void assignDsToTargets(final AutoAssignFilter filter, final List<JpaTarget> targets) {
+        try {
+            DeploymentHelper.runInNewTransaction(transactionManager, "AutoAssignDSToTargets",
+                    Isolation.READ_COMMITTED.value(), status -> {
+                        targets.forEach(target -> deploymentManagement.assignDistributionSet(target,
+                                createDeploymentRequest(filter, target), getAutoAssignActionMessage(filter, target)));
+                        return null;
+                    });
+            LOG.info("Auto assignment by target filter: {}; {} targets", filter.getName(), targets.size());
+        } catch (final RuntimeException ex) {
+            LOG.warn("Batched auto assignment by target filter {} failed, assigning {} targets one by one.",
+                    filter.getName(), targets.size(), ex);
+            targets.forEach(target -> {
+                try {
+                    assignDsToTarget(target, filter);
+                } catch (final RuntimeException e) {
+                    LOG.error("Auto assignment of target {} by target filter {} failed.", target.getControllerId(),
+                            filter.getName(), e);
+                }
+            });
+        }
+    }
+
+    private static String getAutoAssignActionMessage(final AutoAssignFilter filter, final Target target) {
+        return String.format("Auto assignment by target filter: %s; Target ID: %s", filter.getName(),
+                target.getControllerId());
     }
 
-    private void assignDsToTarget(Target target, TargetFilterQuery query){
-        final String actionMessage = String.format("Auto assignment by target filter: %s; Target ID: %s", query.getName(), target.getControllerId());
+    private void assignDsToTarget(Target target, AutoAssignFilter filter){
+        final String actionMessage = getAutoAssignActionMessage(filter, target);
 
-        DeploymentRequest deploymentRequest = createDeploymentRequest(query, target);
+        DeploymentRequest deploymentRequest = createDeploymentRequest(filter, target);
 
         DeploymentHelper.runInNewTransaction(transactionManager, "AutoAssignDSToTarget",
                 Isolation.READ_COMMITTED.value(), status -> deploymentManagement.assignDistributionSet(target, deploymentRequest, actionMessage));
@@ -877,9 +1225,9 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         LOG.info(actionMessage);
     }
 
-    private DeploymentRequest createDeploymentRequest(TargetFilterQuery tfq, Target target){
-        return DeploymentManagement.deploymentRequest(target.getControllerId(), tfq.getAutoAssignDistributionSet().getId())
-                .setActionType(tfq.getAutoAssignActionType()).setWeight(tfq.getAutoAssignWeight().orElse(null)).build();
+    private DeploymentRequest createDeploymentRequest(AutoAssignFilter filter, Target target){
+        return DeploymentManagement.deploymentRequest(target.getControllerId(), filter.getDistributionSetId())
+                .setActionType(filter.getActionType()).setWeight(filter.getWeight()).build();
     }
 
     private static boolean isAttributeEntryValid(final Map.Entry<String, String> e) {
@@ -1052,10 +1400,24 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
 
         private final String tenant;
         private final String controllerId;
+        private final boolean attributeReport;
 
         TargetPoll(final Target target) {
-            this.tenant = target.getTenant();
-            this.controllerId = target.getControllerId();
+            this(target, false);
+        }
+
+        TargetPoll(final Target target, final boolean attributeReport) {
+            this(target.getTenant(), target.getControllerId(), attributeReport);
+        }
+
+        TargetPoll(final String tenant, final String controllerId) {
+            this(tenant, controllerId, false);
+        }
+
+        private TargetPoll(final String tenant, final String controllerId, final boolean attributeReport) {
+            this.tenant = tenant;
+            this.controllerId = controllerId;
+            this.attributeReport = attributeReport;
         }
 
         public String getTenant() {
@@ -1066,12 +1428,21 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
             return controllerId;
         }
 
+        /**
+         * @return <code>true</code> if this is an unchanged attribute report
+         *         instead of a poll
+         */
+        public boolean isAttributeReport() {
+            return attributeReport;
+        }
+
         @Override
         public int hashCode() {
             final int prime = 31;
             int result = 1;
             result = prime * result + (controllerId == null ? 0 : controllerId.hashCode());
             result = prime * result + (tenant == null ? 0 : tenant.hashCode());
+            result = prime * result + (attributeReport ? 1231 : 1237);
             return result;
         }
 
@@ -1101,7 +1472,7 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
             } else if (!tenant.equals(other.tenant)) {
                 return false;
             }
-            return true;
+            return attributeReport == other.attributeReport;
         }
 
     }
@@ -1220,4 +1591,61 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     public void deleteByIds(final List<Long> actionStatusIds) {
         actionStatusRepository.deleteByIds(actionStatusIds);
     }
+
+    /**
+     * Queued auto assignment check of a single target.
+     */
+    private static final class AutoAssignCheck {
+        private final String tenant;
+        private final String controllerId;
+        private final Map<String, String> attributes;
+        private final String targetType;
+        private final long queuedAt;
+
+        AutoAssignCheck(final String tenant, final String controllerId, final Map<String, String> attributes,
+                final String targetType) {
+            this(tenant, controllerId, new HashMap<>(attributes), targetType, System.currentTimeMillis());
+        }
+
+        private AutoAssignCheck(final String tenant, final String controllerId, final Map<String, String> attributes,
+                final String targetType, final long queuedAt) {
+            this.tenant = tenant;
+            this.controllerId = controllerId;
+            this.attributes = attributes;
+            this.targetType = targetType;
+            this.queuedAt = queuedAt;
+        }
+
+        /**
+         * @return this check with the queue time of the already queued check
+         *         of the same target
+         */
+        AutoAssignCheck queuedSince(final AutoAssignCheck queued) {
+            return new AutoAssignCheck(tenant, controllerId, attributes, targetType, queued.queuedAt);
+        }
+
+        TargetPoll getKey() {
+            return new TargetPoll(tenant, controllerId);
+        }
+
+        String getTenant() {
+            return tenant;
+        }
+
+        String getControllerId() {
+            return controllerId;
+        }
+
+        Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        String getTargetType() {
+            return targetType;
+        }
+
+        long getQueuedAt() {
+            return queuedAt;
+        }
+    }
 }
@@ -9,14 +9,17 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.QuotaManagement;
@@ -31,14 +34,15 @@ import org.eclipse.hawkbit.repository.event.remote.RolloutStoppedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
-import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.EvaluatorNotConfiguredException;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupEvaluationManager;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.jpa.utils.InStatementHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
@@ -64,6 +68,9 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionException;
 import org.springframework.util.StringUtils;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
 /**
  * A Jpa implementation of {@link RolloutExecutor}
  */
@@ -556,12 +563,19 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         try {
 
             long targetsLeftToAdd = expectedInGroup - currentlyInGroup;
+            long lastTargetId = 0;
 
             do {
-                // Add up to TRANSACTION_TARGETS of the left targets
+                // Add up to TRANSACTION_TARGETS of the left targets, the
+                // targets are assigned by ID range
                 // In case a TransactionException is thrown this loop aborts
-                targetsLeftToAdd -= assignTargetsToGroupInNewTransaction(rollout, group, groupTargetFilter,
-                        Math.min(maxTargetsPerTransaction, targetsLeftToAdd));
+                final List<Long> assignedTargetIds = assignTargetsToGroupInNewTransaction(rollout, group,
+                        groupTargetFilter, lastTargetId, Math.min(maxTargetsPerTransaction, targetsLeftToAdd));
+                if (assignedTargetIds.isEmpty()) {
+                    break;
+                }
+                targetsLeftToAdd -= assignedTargetIds.size();
+                lastTargetId = assignedTargetIds.get(assignedTargetIds.size() - 1);
             } while (targetsLeftToAdd > 0);
 
             group.setStatus(RolloutGroupStatus.READY);
@@ -576,25 +590,26 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         }
     }
 
-    private Long assignTargetsToGroupInNewTransaction(final JpaRollout rollout, final RolloutGroup group,
-            final String targetFilter, final long limit) {
+    private List<Long> assignTargetsToGroupInNewTransaction(final JpaRollout rollout, final RolloutGroup group,
+            final String targetFilter, final long afterTargetId, final long limit) {
 
         return DeploymentHelper.runInNewTransaction(txManager, "assignTargetsToRolloutGroup", status -> {
-            final PageRequest pageRequest = PageRequest.of(0, Math.toIntExact(limit));
             final List<Long> readyGroups = RolloutHelper.getGroupsByStatusIncludingGroup(rollout.getRolloutGroups(),
                     RolloutGroupStatus.READY, group);
-            Slice<Target> targets;
+            final List<Long> targetIds;
             if (!RolloutHelper.isRolloutRetried(rollout.getTargetFilterQuery())) {
-                targets = targetManagement.findByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(
-                    pageRequest, readyGroups, targetFilter, rollout.getDistributionSet().getType());
+                targetIds = targetManagement.findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(
+                        afterTargetId, Math.toIntExact(limit), readyGroups, targetFilter,
+                        rollout.getDistributionSet().getType());
             } else {
-                targets = targetManagement.findByFailedRolloutAndNotInRolloutGroups(
-                    pageRequest, readyGroups, RolloutHelper.getIdFromRetriedTargetFilter(rollout.getTargetFilterQuery()));
+                targetIds = targetManagement.findIdsByFailedRolloutAndNotInRolloutGroups(afterTargetId,
+                        Math.toIntExact(limit), readyGroups,
+                        RolloutHelper.getIdFromRetriedTargetFilter(rollout.getTargetFilterQuery()));
             }
 
-            createAssignmentOfTargetsToGroup(targets, group);
+            createAssignmentOfTargetsToGroup(targetIds, group);
 
-            return Long.valueOf(targets.getNumberOfElements());
+            return targetIds;
         });
     }
 
@@ -657,14 +672,43 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         });
     }
 
-    private void createAssignmentOfTargetsToGroup(final Slice<Target> targets, final RolloutGroup group) {
-        targets.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
+    /**
+     * Assigns the targets to the group by native SQL, which inserts up to
+     * {@link Constants#MAX_ENTRIES_IN_STATEMENT} targets per statement without
+     * loading them. The IN clause is padded by {@link InStatementHelper}.
+     */
+    private void createAssignmentOfTargetsToGroup(final List<Long> targetIds, final RolloutGroup group) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        for (final List<Long> chunk : Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final Map<String, Long> paramMapping = InStatementHelper.padParameters("t", chunk);
+            final Query insertQuery = entityManager.createNativeQuery(
+                    "INSERT INTO sp_rollouttargetgroup (rolloutGroup_Id, target_id) SELECT #rolloutGroup, id"
+                            + " FROM sp_target WHERE tenant = #tenant AND id IN ("
+                            + InStatementHelper.formatParameters(paramMapping) + ")");
+            paramMapping.forEach(insertQuery::setParameter);
+            insertQuery.setParameter("rolloutGroup", group.getId());
+            insertQuery.setParameter("tenant", tenant);
+
+            final int inserted = insertQuery.executeUpdate();
+            if (inserted < chunk.size()) {
+                LOGGER.debug("{} of {} targets have been deleted before they could be assigned to group {}.",
+                        chunk.size() - inserted, chunk.size(), group.getId());
+            }
+        }
     }
 
     /**
      * Creates an action entry into the action repository. In case of existing
      * scheduled actions the scheduled actions gets canceled. A scheduled action
-     * is created in-active.
+     * is created in-active. The quota and the cleaned up flag of the targets
+     * are handled by one statement per chunk of
+     * {@link Constants#MAX_ENTRIES_IN_STATEMENT} targets instead of two
+     * statements per target. The actions themselves are still inserted one by
+     * one, one statement per target.
      */
     private void createScheduledAction(final Collection<Target> targets, final DistributionSet distributionSet,
             final ActionType actionType, final Long forcedTime, final Rollout rollout,
@@ -675,39 +719,52 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         // created.
         final List<Long> targetIds = targets.stream().map(Target::getId).collect(Collectors.toList());
         deploymentManagement.cancelInactiveScheduledActionsForTargets(targetIds);
-        targets.forEach(target -> {
-
-            assertActionsPerTargetQuota(target, 1);
-
-            final JpaAction action = new JpaAction();
-            action.setTarget(target);
-            action.setActive(false);
-            action.setDistributionSet(distributionSet);
-            action.setActionType(actionType);
-            action.setForcedTime(forcedTime);
-            action.setStatus(Status.SCHEDULED);
-            action.setRollout(rollout);
-            action.setRolloutGroup(rolloutGroup);
-            action.setInitiatedBy(rollout.getCreatedBy());
-            rollout.getWeight().ifPresent(action::setWeight);
-            rolloutManagement.setIsCleanedUpToFalseForTargetWithId(target.getId());
-
-            actionRepository.save(action);
-        });
+
+        final List<JpaAction> actions = new ArrayList<>(targets.size());
+        for (final List<Target> chunk : Iterables.partition(targets, Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final List<Long> chunkIds = chunk.stream().map(Target::getId).collect(Collectors.toList());
+            assertActionsPerTargetQuota(chunkIds, 1);
+            targetManagement.updateIsCleanedUpForTargetsWithIds(chunkIds, false);
+
+            chunk.forEach(target -> {
+                final JpaAction action = new JpaAction();
+                action.setTarget(target);
+                action.setActive(false);
+                action.setDistributionSet(distributionSet);
+                action.setActionType(actionType);
+                action.setForcedTime(forcedTime);
+                action.setStatus(Status.SCHEDULED);
+                action.setRollout(rollout);
+                action.setRolloutGroup(rolloutGroup);
+                action.setInitiatedBy(rollout.getCreatedBy());
+                rollout.getWeight().ifPresent(action::setWeight);
+                actions.add(action);
+            });
+        }
+
+        // the configured JDBC batch writing does not apply here, EclipseLink
+        // reads the IDENTITY id back after each insert
+        actionRepository.saveAll(actions);
     }
 
     /**
      * Enforces the quota defining the maximum number of {@link Action}s per
-     * {@link Target}.
+     * {@link Target} for all given targets by one grouped count.
      *
-     * @param target
-     *            The target
+     * @param targetIds
+     *            The targets
      * @param requested
-     *            number of actions to check
+     *            number of actions to check per target
      */
-    private void assertActionsPerTargetQuota(final Target target, final int requested) {
+    private void assertActionsPerTargetQuota(final List<Long> targetIds, final int requested) {
         final int quota = quotaManagement.getMaxActionsPerTarget();
-        QuotaHelper.assertAssignmentQuota(target.getId(), requested, quota, Action.class, Target.class,
-                actionRepository::countByTargetId);
+        if (quota <= 0) {
+            return;
+        }
+
+        final Map<Long, Long> actionsPerTarget = actionRepository.countByTargetIdIn(targetIds).stream()
+                .collect(Collectors.toMap(count -> (Long) count[0], count -> ((Number) count[1]).longValue()));
+        targetIds.forEach(targetId -> QuotaHelper.assertAssignmentQuota(targetId, requested, quota, Action.class,
+                Target.class, id -> actionsPerTarget.getOrDefault(id, 0L)));
     }
 }
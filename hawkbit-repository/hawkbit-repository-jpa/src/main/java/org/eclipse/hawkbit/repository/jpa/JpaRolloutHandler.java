@@ -16,6 +16,7 @@ import java.util.concurrent.locks.Lock;
 import org.eclipse.hawkbit.repository.RolloutExecutor;
 import org.eclipse.hawkbit.repository.RolloutHandler;
 import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.BaseEntity;
 import org.eclipse.hawkbit.tenancy.TenantAware;
@@ -79,7 +80,13 @@ public class JpaRolloutHandler implements RolloutHandler {
 
         try {
             LOGGER.trace("Trigger handling {} rollouts.", rollouts.size());
-            rollouts.forEach(rolloutId -> handleRolloutInNewTransaction(rolloutId, handlerId));
+            for (final Long rolloutId : rollouts) {
+                if (ParallelTenantExecutor.isTimeBudgetExceeded()) {
+                    LOGGER.debug("Time budget exceeded, remaining rollouts are handled with the next run.");
+                    break;
+                }
+                handleRolloutInNewTransaction(rolloutId, handlerId);
+            }
         } finally {
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("Unlock lock {}", lock);
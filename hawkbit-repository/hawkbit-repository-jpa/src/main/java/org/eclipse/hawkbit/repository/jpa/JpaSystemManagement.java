@@ -9,7 +9,9 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -19,13 +21,17 @@ import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
 import org.eclipse.hawkbit.cache.TenancyCacheManager;
 import org.eclipse.hawkbit.repository.RolloutStatusCache;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignFilterCache;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModuleType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantMetaData;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlMatcherCache;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleType;
@@ -126,9 +132,24 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private RsqlMatcherCache rsqlMatcherCache;
+
+    @Autowired
+    private AutoAssignFilterCache autoAssignFilterCache;
+
+    @Autowired
+    private TargetPollStateCache targetPollStateCache;
+
+    @Autowired
+    private TargetSecurityTokenCache targetSecurityTokenCache;
+
     @Autowired
     private ArtifactRepository artifactRepository;
 
+    @Autowired
+    private ParallelTenantExecutor parallelTenantExecutor;
+
     private final String countArtifactQuery;
     private final String countSoftwareModulesQuery;
 
@@ -251,6 +272,10 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
         final String tenant = t.toUpperCase();
         cacheManager.evictCaches(tenant);
         rolloutStatusCache.evictCaches(tenant);
+        rsqlMatcherCache.evictCaches(tenant);
+        autoAssignFilterCache.evictCaches(tenant);
+        targetPollStateCache.evictCaches(tenant);
+        targetSecurityTokenCache.evictCaches(tenant);
         tenantAware.runAsTenant(tenant, () -> {
             entityManager.setProperty(PersistenceUnitProperties.MULTITENANT_PROPERTY_DEFAULT, tenant);
             tenantMetaDataRepository.deleteByTenantIgnoreCase(tenant);
@@ -361,4 +386,22 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
         } while ((query = tenants.nextPageable()) != Pageable.unpaged());
 
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    // Exception squid:S2229 - calling findTenants without transaction is
+    // intended in this case
+    @SuppressWarnings("squid:S2229")
+    public void forEachTenant(final String task, final Consumer<String> consumer) {
+        final List<String> allTenants = new ArrayList<>();
+
+        Page<String> tenants;
+        Pageable query = PageRequest.of(0, MAX_TENANTS_QUERY);
+        do {
+            tenants = findTenants(query);
+            allTenants.addAll(tenants.getContent());
+        } while ((query = tenants.nextPageable()) != Pageable.unpaged());
+
+        parallelTenantExecutor.execute(task, allTenants, consumer);
+    }
 }
@@ -763,6 +763,44 @@ public class JpaTargetManagement implements TargetManagement {
         return JpaManagementHelper.findAllWithCountBySpec(targetRepository, pageRequest, specList);
     }
 
+    @Override
+    public List<Long> findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(final long afterId,
+            final int limit, final Collection<Long> groups, final String targetFilterQuery,
+            final DistributionSetType dsType) {
+        final List<Specification<JpaTarget>> specList = Arrays.asList(
+                RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class, virtualPropertyReplacer,
+                        database),
+                TargetSpecifications.isNotInRolloutGroups(groups),
+                TargetSpecifications.isCompatibleWithDistributionSetType(dsType.getId()));
+
+        return findIdsBySpec(afterId, limit, specList);
+    }
+
+    @Override
+    public List<Long> findIdsByFailedRolloutAndNotInRolloutGroups(final long afterId, final int limit,
+            final Collection<Long> groups, final String rolloutId) {
+        final List<Specification<JpaTarget>> specList = Arrays.asList(
+                TargetSpecifications.failedActionsForRollout(rolloutId),
+                TargetSpecifications.isNotInRolloutGroups(groups));
+
+        return findIdsBySpec(afterId, limit, specList);
+    }
+
+    private List<Long> findIdsBySpec(final long afterId, final int limit,
+            final List<Specification<JpaTarget>> specList) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+
+        final Specification<JpaTarget> spec = SpecificationsBuilder.combineWithAnd(specList);
+        query.select(targetRoot.get(JpaTarget_.id)).distinct(true)
+                .where(cb.and(spec.toPredicate(targetRoot, query, cb),
+                        cb.greaterThan(targetRoot.get(JpaTarget_.id), afterId)))
+                .orderBy(cb.asc(targetRoot.get(JpaTarget_.id)));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
     @Override
     public Slice<Target> findByInRolloutGroupWithoutAction(final Pageable pageRequest, final long group) {
         if (!rolloutGroupRepository.existsById(group)) {
@@ -907,8 +945,26 @@ public class JpaTargetManagement implements TargetManagement {
 
         final List<Object[]> attr = entityManager.createQuery(query).getResultList();
 
-        return attr.stream().collect(Collectors.toMap(entry -> (String) entry[0], entry -> (String) entry[1],
-                (v1, v2) -> v1, LinkedHashMap::new));
+        final Map<String, String> controllerAttributes = attr.stream().collect(Collectors.toMap(
+                entry -> (String) entry[0], entry -> (String) entry[1], (v1, v2) -> v1, LinkedHashMap::new));
+
+        // unchanged attribute reports only update the report time of the
+        // target, see RepositoryProperties#isAttributeNoOpDetection(). The
+        // newer of both times is returned, as the column is not maintained
+        // while the detection is disabled.
+        if (!controllerAttributes.isEmpty()) {
+            final CriteriaQuery<Long> lastUpdateQuery = cb.createQuery(Long.class);
+            final Root<JpaTarget> lastUpdateRoot = lastUpdateQuery.from(JpaTarget.class);
+            lastUpdateQuery.select(lastUpdateRoot.get(JpaTarget_.lastAttributeUpdate))
+                    .where(cb.equal(lastUpdateRoot.get(JpaTarget_.controllerId), controllerId));
+            entityManager.createQuery(lastUpdateQuery).getResultList().stream().filter(Objects::nonNull).findFirst()
+                    .map(JpaTarget::formatLastUpdate)
+                    .ifPresent(lastUpdate -> controllerAttributes.merge(JpaTarget.LAST_UPDATE_ATTRIBUTE, lastUpdate,
+                            // the fixed width UTC format sorts chronologically
+                            (attribute, column) -> attribute.compareTo(column) >= 0 ? attribute : column));
+        }
+
+        return controllerAttributes;
     }
 
     @Override
@@ -45,6 +45,7 @@ import org.eclipse.hawkbit.repository.SoftwareModuleTypeManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.TargetTypeManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
@@ -61,9 +62,12 @@ import org.eclipse.hawkbit.repository.builder.TargetTypeBuilder;
 import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
+import org.eclipse.hawkbit.repository.event.remote.MultiTargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.jpa.aspects.ExceptionMappingAspectHandler;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignFilterCache;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChecker;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignLocks;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignScheduler;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.AutoActionCleanup;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.AutoCleanupScheduler;
@@ -84,6 +88,7 @@ import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactio
 import org.eclipse.hawkbit.repository.jpa.event.JpaEventEntityManager;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitDefaultServiceExecutor;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.helper.AfterTransactionCommitExecutorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
@@ -97,6 +102,9 @@ import org.eclipse.hawkbit.repository.jpa.rollout.condition.StartNextGroupRollou
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.ThresholdRolloutGroupErrorCondition;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.ThresholdRolloutGroupSuccessCondition;
 import org.eclipse.hawkbit.repository.jpa.rsql.DefaultRsqlVisitorFactory;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlConfigHolder;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlMatcherCache;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlNodeCache;
 import org.eclipse.hawkbit.repository.jpa.rsql.RsqlParserValidationOracle;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
@@ -120,6 +128,8 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.hibernate.validator.BaseHibernateValidatorConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -152,6 +162,9 @@ import org.springframework.validation.beanvalidation.MethodValidationPostProcess
 
 import com.google.common.collect.Maps;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 /**
  * General configuration for hawkBit's Repository.
  *
@@ -170,6 +183,8 @@ import com.google.common.collect.Maps;
 @AutoConfigureAfter(DataSourceAutoConfiguration.class)
 public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
 
+    private static final Logger LOG = LoggerFactory.getLogger(RepositoryApplicationConfiguration.class);
+
     protected RepositoryApplicationConfiguration(final DataSource dataSource, final JpaProperties properties,
             final ObjectProvider<JtaTransactionManager> jtaTransactionManagerProvider) {
         super(dataSource, properties, jtaTransactionManagerProvider);
@@ -244,10 +259,47 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new RolloutStatusCache(tenantAware);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    RsqlMatcherCache rsqlMatcherCache(final TenantAware tenantAware) {
+        return new RsqlMatcherCache(tenantAware);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    AutoAssignLocks autoAssignLocks(final LockRegistry lockRegistry, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new AutoAssignLocks(lockRegistry, tenantAware, repositoryProperties.getAutoAssignLockStripes());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    AutoAssignFilterCache autoAssignFilterCache(final TenantAware tenantAware,
+            final TargetFilterQueryRepository targetFilterQueryRepository, final RsqlMatcherCache rsqlMatcherCache) {
+        return new AutoAssignFilterCache(tenantAware, targetFilterQueryRepository, rsqlMatcherCache);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    TargetPollStateCache targetPollStateCache(final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new TargetPollStateCache(tenantAware, repositoryProperties.getPollStateCacheSize(),
+                repositoryProperties.getPollStateCacheExpiry());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    TargetSecurityTokenCache targetSecurityTokenCache(final TenantAware tenantAware,
+            final ObjectProvider<MeterRegistry> meterRegistry, final RepositoryProperties repositoryProperties) {
+        return new TargetSecurityTokenCache(tenantAware, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                repositoryProperties.getSecurityTokenCacheSize(), repositoryProperties.getSecurityTokenCacheExpiry());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     ApplicationEventFilter applicationEventFilter(final RepositoryProperties repositoryProperties) {
-        return e -> e instanceof TargetPollEvent && !repositoryProperties.isPublishTargetPollEvent();
+        return e -> (e instanceof TargetPollEvent || e instanceof MultiTargetPollEvent)
+                && !repositoryProperties.isPublishTargetPollEvent();
     }
 
     /**
@@ -481,6 +533,21 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new JpaSystemManagement(properties);
     }
 
+    /**
+     * {@link ParallelTenantExecutor} bean.
+     *
+     * @return a new {@link ParallelTenantExecutor} for the tenant schedulers
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ParallelTenantExecutor parallelTenantExecutor(final TenantAware tenantAware, final LockRegistry lockRegistry,
+            final ObjectProvider<MeterRegistry> meterRegistry, final RepositoryProperties repositoryProperties) {
+        return new ParallelTenantExecutor(tenantAware, lockRegistry,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                repositoryProperties.getTenantSchedulerParallelism(),
+                repositoryProperties.getTenantSchedulerTimeBudget());
+    }
+
     /**
      * {@link JpaDistributionSetManagement} bean.
      *
@@ -833,12 +900,16 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            the tenant aware
      * @param entityManager
      *            the entitymanager
+     * @param repositoryProperties
+     *            to configure the batch loading of entities
      * @return a new {@link EventEntityManager}
      */
     @Bean
     @ConditionalOnMissingBean
-    EventEntityManager eventEntityManager(final TenantAware aware, final EntityManager entityManager) {
-        return new JpaEventEntityManager(aware, entityManager);
+    EventEntityManager eventEntityManager(final TenantAware aware, final EntityManager entityManager,
+            final RepositoryProperties repositoryProperties) {
+        return new JpaEventEntityManager(aware, entityManager, repositoryProperties.isEventEntityBatching(),
+                repositoryProperties.getEventEntitySnapshotExpiry());
     }
 
     /**
@@ -852,15 +923,18 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to assign distribution sets to targets
      * @param transactionManager
      *            to run transactions
+     * @param autoAssignLocks
+     *            to serialize the assignments per target
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
     @ConditionalOnMissingBean
     AutoAssignExecutor autoAssignExecutor(final TargetFilterQueryManagement targetFilterQueryManagement,
             final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager, final TenantAware tenantAware) {
+            final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+            final AutoAssignLocks autoAssignLocks) {
         return new AutoAssignChecker(targetFilterQueryManagement, targetManagement, deploymentManagement,
-                transactionManager, tenantAware);
+                transactionManager, tenantAware, autoAssignLocks);
     }
 
     /**
@@ -877,8 +951,6 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run as system
      * @param autoAssignChecker
      *            to run a check as tenant
-     * @param lockRegistry
-     *            to lock the tenant for auto assignment
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
@@ -888,9 +960,8 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Profile("!test")
     @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
     AutoAssignScheduler autoAssignScheduler(final SystemManagement systemManagement,
-            final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
-        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry);
+            final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor) {
+        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor);
     }
 
     /**
@@ -912,20 +983,26 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     /**
      * {@link AutoRolloutCleanup} bean.
      *
-     * @param deploymentManagement
-     *            Deployment management service
-     * @param configManagement
-     *            Tenant configuration service
-     * @param rolloutManagement
-     *            Rollout management service
+     * @param rolloutRepository
+     *            Rollout repository
+     * @param rolloutGroupRepository
+     *            Rollout group repository
+     * @param rolloutTargetGroupRepository
+     *            Rollout target group repository
+     * @param actionRepository
+     *            Action repository
+     * @param txManager
+     *            transaction manager
      *
-     * @return a new {@link AutoActionCleanup} bean
+     * @return a new {@link AutoRolloutCleanup} bean
      */
     @Bean
-    CleanupTask rolloutCleanup(final RolloutManagement rolloutManagement,
-                               final RolloutGroupManagement rolloutGroupManagement,
-                               final QuotaManagement quotaManagement) {
-        return new AutoRolloutCleanup(rolloutManagement, rolloutGroupManagement, quotaManagement);
+    CleanupTask rolloutCleanup(final RolloutRepository rolloutRepository,
+                               final RolloutGroupRepository rolloutGroupRepository,
+                               final RolloutTargetGroupRepository rolloutTargetGroupRepository,
+                               final ActionRepository actionRepository, final PlatformTransactionManager txManager) {
+        return new AutoRolloutCleanup(rolloutRepository, rolloutGroupRepository, rolloutTargetGroupRepository,
+                actionRepository, txManager);
     }
 
     /**
@@ -956,17 +1033,28 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      * {@link AutoRolloutCleanupScheduler} bean.
      * {@link AutoActionStatusCleanup} bean.
      *
-     * @param deploymentManagement
-     *            Deployment management service
      * @param configManagement
      *            Tenant configuration service
+     * @param controllerManagement
+     *            Controller management service
+     * @param targetManagement
+     *            Target management service
+     * @param targetRepository
+     *            Target repository
+     * @param actionStatusRepository
+     *            Action status repository
+     * @param meterRegistry
+     *            to record the deleted action statuses
      *
      * @return a new {@link AutoActionStatusCleanup} bean
      */
     @Bean
-    CleanupTask actionStatusCleanup(final DeploymentManagement deploymentManagement, final TenantConfigurationManagement configManagement,
-                                    final ControllerManagement controllerManagement, final TargetManagement targetManagement, final QuotaManagement quotaManagement) {
-        return new AutoActionStatusCleanup(deploymentManagement, configManagement, controllerManagement, targetManagement, quotaManagement);
+    CleanupTask actionStatusCleanup(final TenantConfigurationManagement configManagement,
+                                    final ControllerManagement controllerManagement, final TargetManagement targetManagement,
+                                    final TargetRepository targetRepository, final ActionStatusRepository actionStatusRepository,
+                                    final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AutoActionStatusCleanup(configManagement, controllerManagement, targetManagement, targetRepository,
+                actionStatusRepository, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     /**
@@ -1062,6 +1150,40 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return RsqlVisitorFactoryHolder.getInstance();
     }
 
+    /**
+     * Obtains the {@link RsqlConfigHolder} bean.
+     *
+     * @param repositoryProperties
+     *            to check the RSQL settings
+     * @param properties
+     *            of the database
+     *
+     * @return The {@link RsqlConfigHolder} singleton.
+     */
+    @Bean
+    RsqlConfigHolder rsqlConfigHolder(final RepositoryProperties repositoryProperties,
+            final JpaProperties properties) {
+        if (repositoryProperties.isRsqlCaseInsensitiveDb()
+                && !RsqlConfigHolder.isCaseInsensitive(properties.getDatabase())) {
+            LOG.warn("hawkbit.server.repository.rsqlCaseInsensitiveDb is ignored as {} compares case sensitively",
+                    properties.getDatabase());
+        }
+        return RsqlConfigHolder.getInstance();
+    }
+
+    /**
+     * {@link RsqlNodeCache} bean.
+     *
+     * @return a new {@link RsqlNodeCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RsqlNodeCache rsqlNodeCache(final ObjectProvider<MeterRegistry> meterRegistry,
+            final RepositoryProperties repositoryProperties) {
+        return new RsqlNodeCache(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                repositoryProperties.getRsqlCacheSize());
+    }
+
     /**
      * {@link JpaDistributionSetInvalidationManagement} bean.
      *
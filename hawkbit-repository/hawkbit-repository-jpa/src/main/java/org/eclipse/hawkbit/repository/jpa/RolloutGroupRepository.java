@@ -171,6 +171,16 @@ public interface RolloutGroupRepository
      */
     long countByRolloutId(Long rolloutId);
 
+    /**
+     * Finds the IDs of all {@link RolloutGroup}s of the given rollouts.
+     *
+     * @param rolloutIds
+     *            the IDs of the rollouts
+     * @return the IDs of the rollout groups
+     */
+    @Query("SELECT g.id FROM JpaRolloutGroup g WHERE g.rollout.id IN :rolloutIds")
+    List<Long> findIdsByRolloutIdIn(@Param("rolloutIds") Collection<Long> rolloutIds);
+
     @Modifying
     @Query("DELETE FROM JpaRolloutGroup g where g.id in :rolloutGroupIds")
     void deleteByIds(@Param("rolloutGroupIds") List<Long> rolloutGroups);
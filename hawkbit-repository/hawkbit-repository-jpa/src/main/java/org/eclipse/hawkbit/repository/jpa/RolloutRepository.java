@@ -73,6 +73,28 @@ public interface RolloutRepository
      */
     Page<Rollout> findByIsCleanedUpIsFalseAndDeletedIsTrue(Pageable pageRef);
 
+    /**
+     * Finds the IDs of the deleted rollouts that have `is_cleaned_up` set to
+     * false, ordered by ID.
+     *
+     * @param pageRef
+     *            to limit the number of IDs
+     * @return the IDs of the rollouts
+     */
+    @Query("SELECT r.id FROM JpaRollout r WHERE r.deleted = true AND r.isCleanedUp = false ORDER BY r.id")
+    List<Long> findIdsByIsCleanedUpIsFalseAndDeletedIsTrue(Pageable pageRef);
+
+    /**
+     * Sets `is_cleaned_up` of the given rollouts to true.
+     *
+     * @param rolloutIds
+     *            the IDs of the rollouts
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JpaRollout r SET r.isCleanedUp = true WHERE r.id IN :rolloutIds")
+    void setCleanedUpByIds(@Param("rolloutIds") Collection<Long> rolloutIds);
+
     /**
      * Deletes all {@link TenantAwareBaseEntity} of a given tenant. For safety
      * reasons (this is a "delete everything" query after all) we add the tenant
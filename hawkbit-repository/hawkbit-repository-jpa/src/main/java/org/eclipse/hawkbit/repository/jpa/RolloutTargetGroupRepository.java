@@ -9,11 +9,17 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.List;
+
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroupId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -32,4 +38,31 @@ public interface RolloutTargetGroupRepository
      * @return count of targets in the group
      */
     Long countByRolloutGroup(JpaRolloutGroup rolloutGroup);
+
+    /**
+     * Finds the IDs of the targets in the given rollout group, ordered by ID.
+     *
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @param pageable
+     *            to limit the number of IDs
+     * @return the IDs of the targets
+     */
+    @Query("SELECT t.target.id FROM RolloutTargetGroup t WHERE t.rolloutGroup.id = :rolloutGroupId ORDER BY t.target.id")
+    List<Long> findTargetIdsByRolloutGroupId(@Param("rolloutGroupId") long rolloutGroupId, Pageable pageable);
+
+    /**
+     * Removes the targets up to the given target ID from the rollout group.
+     *
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @param targetId
+     *            the highest target ID to remove
+     * @return the number of removed targets
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RolloutTargetGroup t WHERE t.rolloutGroup.id = :rolloutGroupId AND t.target.id <= :targetId")
+    int deleteByRolloutGroupIdAndTargetIdLessThanEqual(@Param("rolloutGroupId") long rolloutGroupId,
+            @Param("targetId") long targetId);
 }
@@ -9,34 +9,48 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import org.eclipse.hawkbit.repository.TargetFields;
-import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
-import org.eclipse.hawkbit.repository.rsql.VirtualPropertyResolver;
+import org.eclipse.hawkbit.repository.jpa.rsql.ComparisonMatcher;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+/**
+ * The fields of a single target as used for the in-memory evaluation of target
+ * filter queries. Fields are kept in a map keyed by the normalized (lower case)
+ * selector, e.g. <code>attribute.device_type</code>, so that looking up the
+ * values of a selector does not depend on the number of fields of the target.
+ */
 public class TargetFieldData {
 
-    private final List<TargetFieldContent> contentList = new ArrayList<>();
+    private static final int DEFAULT_CAPACITY = 32;
+
+    private final Map<String, List<String>> fields;
+
+    public TargetFieldData() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedFields
+     *            the expected number of fields to size the index for
+     */
+    public TargetFieldData(int expectedFields) {
+        fields = new HashMap<>(Math.max(16, (int) (expectedFields / 0.75f) + 1));
+    }
 
     public void add(TargetFields name, String value) {
-        TargetFieldContent content = new TargetFieldContent(name, value);
-        contentList.add(content);
+        put(name.name().toLowerCase(), value);
     }
 
     public void add(TargetFields name, String subKey, String value) {
-        TargetFieldContent content = new TargetFieldContent(name, subKey, value);
-        contentList.add(content);
+        put(subKey.isEmpty() ? name.name().toLowerCase() : (name.name() + "." + subKey).toLowerCase(), value);
     }
 
     public boolean hasEntry(String key, String value){
-        return contentList.stream()
-                .filter(c -> c.fieldName.equalsIgnoreCase(key))
-                .anyMatch(c -> c.fieldValue.equalsIgnoreCase(value));
+        return getValues(key).stream().anyMatch(value::equalsIgnoreCase);
     }
 
     public boolean request(String selector, String operator, String value) {
@@ -44,151 +58,25 @@ public class TargetFieldData {
     }
 
     public boolean request(String selector, String operator, List<String> inputValues) {
-
-        VirtualPropertyReplacer propertyReplacer = new VirtualPropertyResolver();
-
-        List<String> values = inputValues.stream()
-                .map(propertyReplacer::replace)
-                .collect(Collectors.toList());
-
-        List<TargetFieldContent> fieldContent = contentList.stream()
-                .filter(c -> selector.equalsIgnoreCase(c.fieldName))
-                .collect(Collectors.toList());
-
-        if("==".equalsIgnoreCase(operator) || "=in=".equalsIgnoreCase(operator))
-            return containsAnyOf(fieldContent, values);
-
-        if("!=".equalsIgnoreCase(operator) || "=out=".equalsIgnoreCase(operator))
-            return containsNoneOf(fieldContent, values, withSubKey(selector));
-
-        if("=gt=".equalsIgnoreCase(operator))
-            return valueGreaterThan(fieldContent, values);
-
-        if("=ge=".equalsIgnoreCase(operator))
-            return valueGreaterOrEqualTo(fieldContent, values);
-
-        if("=lt=".equalsIgnoreCase(operator))
-            return valueLessThan(fieldContent, values);
-
-        if("=le=".equalsIgnoreCase(operator))
-            return valueLessOrEqualTo(fieldContent, values);
-
-        throw new IllegalArgumentException("Unknown operator: {" + operator + "}");
-    }
-
-    private static boolean containsWildCard(String input){
-        return input.contains("*");
-    }
-
-    private static boolean matchWithWildCards(String fieldValue, String inputValue){
-        String modifiedValue = inputValue.replaceAll("\\*", ".*");
-        return Pattern.matches(modifiedValue, fieldValue);
-    }
-
-    private static boolean isEmpty(List<String> input){
-        return input.stream().allMatch(String::isEmpty);
-    }
-
-    private static boolean withSubKey(String key){
-        return key.toLowerCase().startsWith("attribute.") || key.toLowerCase().startsWith("metadata.");
-    }
-
-    private static boolean containsAnyOf(List<TargetFieldContent> fieldValues, List<String> inputValues){
-        // for cases like [tag == ""]
-        if(fieldValues.isEmpty() && isEmpty(inputValues))
-            return true;
-
-        for(TargetFieldContent content : fieldValues){
-            for(String inputValue : inputValues){
-                if(containsWildCard(inputValue) && matchWithWildCards(content.fieldValue, inputValue)){
-                    return true;
-                }
-            }
-
-            if(inputValues.stream().anyMatch(content.fieldValue::equalsIgnoreCase))
-                return true;
-        }
-        return false;
-    }
-
-    private static boolean containsNoneOf(List<TargetFieldContent> fieldValues, List<String> inputValues,
-            boolean withSubKey) {
-        // must not match non-existent fields with subkey like [attribute.noexist != value]
-        // but must match other non-existent fields like [tag != "alpha"]
-        if(fieldValues.isEmpty() && withSubKey)
-            return false;
-
-        if(isEmpty(inputValues))
-            return true;
-
-        for(TargetFieldContent content : fieldValues){
-            for(String inputValue : inputValues){
-                if(containsWildCard(inputValue) && matchWithWildCards(content.fieldValue, inputValue)){
-                    return false;
-                }
-            }
-
-            if(inputValues.stream().anyMatch(content.fieldValue::equalsIgnoreCase))
-                return false;
-        }
-        return true;
-    }
-
-    private static boolean valueGreaterThan(List<TargetFieldContent> fieldValues, List<String> inputValues){
-        if(fieldValues.isEmpty() || isEmpty(inputValues))
-            return false;
-
-        return fieldValues.get(0).fieldValue.compareToIgnoreCase(inputValues.get(0)) > 0;
-    }
-
-    private static boolean valueGreaterOrEqualTo(List<TargetFieldContent> fieldValues, List<String> inputValues){
-        if(fieldValues.isEmpty() || isEmpty(inputValues))
-            return false;
-
-        return fieldValues.get(0).fieldValue.compareToIgnoreCase(inputValues.get(0)) >= 0;
-    }
-
-    private static boolean valueLessThan(List<TargetFieldContent> fieldValues, List<String> inputValues){
-        if(fieldValues.isEmpty() || isEmpty(inputValues))
-            return false;
-
-        return fieldValues.get(0).fieldValue.compareToIgnoreCase(inputValues.get(0)) < 0;
-    }
-
-    private static boolean valueLessOrEqualTo(List<TargetFieldContent> fieldValues, List<String> inputValues){
-        if(fieldValues.isEmpty() || isEmpty(inputValues))
-            return false;
-
-        return fieldValues.get(0).fieldValue.compareToIgnoreCase(inputValues.get(0)) <= 0;
-    }
-
-    private static class TargetFieldContent{
-
-        final String fieldName;
-        final String fieldValue;
-
-        public TargetFieldContent(TargetFields fieldName, String value){
-            this(fieldName, "", value);
-        }
-
-        public TargetFieldContent(TargetFields fieldName, String subKey, String value){
-            this.fieldName = (subKey.isEmpty() ? fieldName.name() : fieldName.name() + "." + subKey).toLowerCase();
-            this.fieldValue = value.toLowerCase();
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (o == null || getClass() != o.getClass())
-                return false;
-            TargetFieldContent content = (TargetFieldContent) o;
-            return fieldName.equals(content.fieldName) && fieldValue.equals(content.fieldValue);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(fieldName, fieldValue);
-        }
+        return ComparisonMatcher.of(selector, operator, inputValues).matches(this);
+    }
+
+    /**
+     * @param selector
+     *            the field selector, e.g. <code>attribute.device_type</code>
+     * @return the lower-cased values of all fields matching the selector (case
+     *         insensitive)
+     */
+    public List<String> getValues(String selector) {
+        List<String> values = fields.get(selector.toLowerCase());
+        return values == null ? Collections.emptyList() : Collections.unmodifiableList(values);
+    }
+
+    private void put(String key, String value) {
+        List<String> values = fields.computeIfAbsent(key, k -> new ArrayList<>(1));
+        String normalizedValue = value.toLowerCase();
+        // the same field value is stored only once
+        if(!values.contains(normalizedValue))
+            values.add(normalizedValue);
     }
 }
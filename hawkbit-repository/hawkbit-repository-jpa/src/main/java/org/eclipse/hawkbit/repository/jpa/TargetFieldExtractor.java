@@ -8,108 +8,85 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetMetadata;
-import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import static org.eclipse.hawkbit.repository.TargetFields.*;
 
+/**
+ * Extracts the {@link TargetFieldData} of a {@link Target} for the in-memory
+ * evaluation of target filter queries. The extractor keeps no state between
+ * calls and can be used by any number of threads concurrently.
+ */
 @Service
 public class TargetFieldExtractor {
-    private String controllerId;
-    private String name;
-    private String description;
-    private String updateStatus;
-    private String address;
-    private String lastQuery;
-    private List<TargetTag> targetTagList;
-    private List<TargetMetadata> metadata;
-    private DistributionSet assignedDs;
-    private DistributionSet installedDs;
-    private String createdAt;
-    private String lastModifiedAt;
-    private String targetType;
 
     private final static String EMPTY_STRING = "";
 
-    private TargetFieldData fieldData;
-
-    public TargetFieldData extractData(Target target, final Map<String, String> controllerAttributes, final String targetType){
-
-        fieldData = new TargetFieldData();
-
-        fetchTargetFieldValues(target);
-
+    // the plain target fields plus name and version of assigned and installed DS
+    private final static int BASE_FIELD_COUNT = 16;
+
+    /**
+     * Extracts the field data of the given target. To avoid lazy loading of
+     * the tags, metadata and distribution sets, the target should be loaded
+     * with {@link TargetRepository#findWithFieldDataByControllerId(String)}.
+     *
+     * @param target
+     *            to extract the fields from
+     * @param controllerAttributes
+     *            the current controller attributes of the target
+     * @param targetType
+     *            the name of the target type
+     * @return the extracted field data
+     */
+    public TargetFieldData extractData(final Target target, final Map<String, String> controllerAttributes,
+            final String targetType) {
+
+        final List<TargetMetadata> metadata = target.getMetadata();
+        final TargetFieldData fieldData = new TargetFieldData(
+                BASE_FIELD_COUNT + controllerAttributes.size() + metadata.size());
+
+        final String controllerId = valueOrEmpty(target.getControllerId());
         fieldData.add(ID, controllerId);
         fieldData.add(CONTROLLERID, controllerId);
-        fieldData.add(NAME, name);
-        fieldData.add(DESCRIPTION, description);
-        fieldData.add(CREATEDAT, createdAt);
-        fieldData.add(LASTMODIFIEDAT, lastModifiedAt);
-        fieldData.add(UPDATESTATUS, updateStatus);
-        fieldData.add(IPADDRESS, address);
-        fieldData.add(LASTCONTROLLERREQUESTAT, lastQuery);
+        fieldData.add(NAME, valueOrEmpty(target.getName()));
+        fieldData.add(DESCRIPTION, valueOrEmpty(target.getDescription()));
+        fieldData.add(CREATEDAT, Long.toString(target.getCreatedAt()));
+        fieldData.add(LASTMODIFIEDAT, Long.toString(target.getLastModifiedAt()));
+        fieldData.add(UPDATESTATUS, target.getUpdateStatus() == null ? TargetUpdateStatus.UNKNOWN.name()
+                : target.getUpdateStatus().name());
+        fieldData.add(IPADDRESS, target.getAddress() == null ? EMPTY_STRING : target.getAddress().toString());
+        fieldData.add(LASTCONTROLLERREQUESTAT,
+                target.getLastTargetQuery() == null ? EMPTY_STRING : target.getLastTargetQuery().toString());
         fieldData.add(TARGETTYPE, NAME.getFieldName(), targetType);
 
-        addMetadata();
-        addAttributes(controllerAttributes);
-        addAssignedDsData();
-        addInstalledDsData();
-        addTagData();
+        metadata.forEach(data -> fieldData.add(METADATA, data.getKey(), data.getValue()));
+        controllerAttributes.forEach((key, value) -> fieldData.add(ATTRIBUTE, key, value));
+        addDsData(fieldData, ASSIGNEDDS, target.getAssignedDistributionSet());
+        addDsData(fieldData, INSTALLEDDS, target.getInstalledDistributionSet());
+        target.getTags().forEach(tag -> fieldData.add(TAG, tag.getName()));
 
         return fieldData;
     }
 
-    private void fetchTargetFieldValues(Target target){
-        controllerId = target.getControllerId() == null ? EMPTY_STRING : target.getControllerId();
-        name = target.getName() == null ? EMPTY_STRING : target.getName();
-        description = target.getDescription() == null ? EMPTY_STRING : target.getDescription();
-        updateStatus = target.getUpdateStatus() == null ? TargetUpdateStatus.UNKNOWN.name(): target.getUpdateStatus().name();
-        address = target.getAddress() == null ? EMPTY_STRING : target.getAddress().toString();
-        lastQuery = (target.getLastTargetQuery() == null) ? EMPTY_STRING : target.getLastTargetQuery().toString();
-        targetTagList = new ArrayList<>(target.getTags());
-        metadata = target.getMetadata();
-        assignedDs = target.getAssignedDistributionSet();
-        installedDs = target.getInstalledDistributionSet();
-        createdAt = Long.toString(target.getCreatedAt());
-        lastModifiedAt = Long.toString(target.getLastModifiedAt());
-    }
-
-    private void addTagData(){
-        if(targetTagList.isEmpty())
-            return;
-
-        targetTagList.forEach(tag -> fieldData.add(TAG, tag.getName()));
-    }
-
-    private void addAttributes(final Map<String, String> attributes){
-        attributes.forEach((key, value) -> fieldData.add(ATTRIBUTE, key, value));
-    }
-
-    private void addMetadata(){
-        metadata.forEach(data -> fieldData.add(METADATA, data.getKey(), data.getValue()));
-    }
-
-    private void addAssignedDsData(){
-        if(assignedDs == null)
-            return;
-
-        fieldData.add(ASSIGNEDDS, "name", assignedDs.getName());
-        fieldData.add(ASSIGNEDDS, "version", assignedDs.getVersion());
+    private static String valueOrEmpty(final String value) {
+        return value == null ? EMPTY_STRING : value;
     }
 
-    private void addInstalledDsData(){
-        if(installedDs == null)
+    private static void addDsData(final TargetFieldData fieldData, final TargetFields field,
+            final DistributionSet distributionSet) {
+        if (distributionSet == null) {
             return;
+        }
 
-        fieldData.add(INSTALLEDDS, "name", installedDs.getName());
-        fieldData.add(INSTALLEDDS, "version", installedDs.getVersion());
+        fieldData.add(field, "name", distributionSet.getName());
+        fieldData.add(field, "version", distributionSet.getVersion());
     }
 }
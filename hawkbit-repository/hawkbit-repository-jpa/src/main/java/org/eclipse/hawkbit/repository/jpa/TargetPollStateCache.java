@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetTagDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetTagUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.TargetPollState;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Tenant aware cache of {@link TargetPollState}s by controller ID. An entry is
+ * evicted if the target, one of its actions or a target tag is modified.
+ * Entity events only carry the target ID, so the controller ID of every cached
+ * state is additionally cached by target ID. Every eviction increments a
+ * generation, so a poll state which has been loaded before a concurrent
+ * eviction is not cached, see {@link #put(TargetPollState, long)}.
+ */
+public class TargetPollStateCache {
+    private static final String CACHE_NAME = "TargetPollState";
+    private static final String CACHE_TARGET_ID_NAME = "TargetPollStateTargetId";
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum size of the cache
+     * @param expiry
+     *            time in {@link TimeUnit#MILLISECONDS} after which an entry
+     *            expires
+     */
+    public TargetPollStateCache(final TenantAware tenantAware, final long size, final long expiry) {
+        this.tenantAware = tenantAware;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size)
+                .expireAfterWrite(expiry, TimeUnit.MILLISECONDS);
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * @param controllerId
+     *            of the target
+     * @return the cached poll state of the target of the current tenant or
+     *         <code>null</code>
+     */
+    public TargetPollState get(final String controllerId) {
+        final Cache cache = cacheManager.getCache(CACHE_NAME);
+        return cache == null ? null : cache.get(controllerId, TargetPollState.class);
+    }
+
+    /**
+     * @return the current generation, to be read before the poll state which
+     *         is passed to {@link #put(TargetPollState, long)} is loaded
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Caches the poll state of a target of the current tenant unless an
+     * eviction happened since the given generation has been read, as the
+     * state might have been loaded before the change which caused the
+     * eviction.
+     *
+     * @param pollState
+     *            to cache
+     * @param loadedGeneration
+     *            the generation read before the poll state has been loaded
+     */
+    public void put(final TargetPollState pollState, final long loadedGeneration) {
+        final Cache cache = cacheManager.getCache(CACHE_NAME);
+        final Cache targetIdCache = cacheManager.getCache(CACHE_TARGET_ID_NAME);
+        if (cache == null || targetIdCache == null || generation.get() != loadedGeneration) {
+            return;
+        }
+
+        targetIdCache.put(pollState.getTargetId(), pollState.getControllerId());
+        cache.put(pollState.getControllerId(), pollState);
+
+        // an eviction between the check and the put might have missed the entry
+        if (generation.get() != loadedGeneration) {
+            cache.evict(pollState.getControllerId());
+        }
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    public void invalidateOnTargetUpdated(final TargetUpdatedEvent event) {
+        evictTarget(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    public void invalidateOnTargetDeleted(final TargetDeletedEvent event) {
+        evictTarget(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetAttributesRequestedEvent.class)
+    public void invalidateOnTargetAttributesRequested(final TargetAttributesRequestedEvent event) {
+        evictTarget(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = ActionCreatedEvent.class)
+    public void invalidateOnActionCreated(final ActionCreatedEvent event) {
+        evictTarget(event.getTenant(), event.getTargetId());
+    }
+
+    @EventListener(classes = ActionUpdatedEvent.class)
+    public void invalidateOnActionUpdated(final ActionUpdatedEvent event) {
+        evictTarget(event.getTenant(), event.getTargetId());
+    }
+
+    @EventListener(classes = TargetTagUpdatedEvent.class)
+    public void invalidateOnTargetTagUpdated(final TargetTagUpdatedEvent event) {
+        evictCaches(event.getTenant());
+    }
+
+    @EventListener(classes = TargetTagDeletedEvent.class)
+    public void invalidateOnTargetTagDeleted(final TargetTagDeletedEvent event) {
+        evictCaches(event.getTenant());
+    }
+
+    /**
+     * Evicts all caches for a given tenant.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        generation.incrementAndGet();
+        cacheManager.evictCaches(tenant);
+    }
+
+    private void evictTarget(final String tenant, final Long targetId) {
+        if (targetId == null) {
+            return;
+        }
+
+        // also if the target is not cached, as its state might be loading
+        generation.incrementAndGet();
+        tenantAware.runAsTenant(tenant, () -> {
+            final Cache cache = cacheManager.getCache(CACHE_NAME);
+            final Cache targetIdCache = cacheManager.getCache(CACHE_TARGET_ID_NAME);
+            if (cache != null && targetIdCache != null) {
+                final String controllerId = targetIdCache.get(targetId, String.class);
+                if (controllerId != null) {
+                    cache.evict(controllerId);
+                    targetIdCache.evict(targetId);
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -16,11 +16,13 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import javax.persistence.EntityManager;
+import javax.persistence.QueryHint;
 
 import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
@@ -31,6 +33,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.transaction.annotation.Transactional;
@@ -181,6 +184,43 @@ public interface TargetRepository extends BaseEntityRepository<JpaTarget, Long>,
      */
     Optional<Target> findByControllerId(String controllerID);
 
+    /**
+     * Loads {@link Target} by given controller ID together with its tags and
+     * assigned and installed {@link DistributionSet}, e.g. to extract the
+     * fields for the in-memory evaluation of target filter queries without
+     * lazy loading. Only the tags are fetch joined to avoid a cartesian
+     * product of tags and metadata rows, the metadata is batch fetched by a
+     * second query.
+     *
+     * @param controllerId
+     *            to search for
+     * @return found {@link Target}
+     */
+    @Query("SELECT DISTINCT t FROM JpaTarget t LEFT JOIN FETCH t.tags"
+            + " LEFT JOIN FETCH t.assignedDistributionSet LEFT JOIN FETCH t.installedDistributionSet"
+            + " WHERE t.controllerId = :controllerId")
+    @QueryHints({ @QueryHint(name = org.eclipse.persistence.config.QueryHints.BATCH, value = "t.metadata"),
+            @QueryHint(name = org.eclipse.persistence.config.QueryHints.BATCH_TYPE, value = "IN") })
+    Optional<JpaTarget> findWithFieldDataByControllerId(@Param("controllerId") String controllerId);
+
+    /**
+     * Loads the {@link Target}s with the given controller IDs together with
+     * their tags and assigned and installed {@link DistributionSet}s. The
+     * metadata of all found targets is batch fetched by one second query.
+     *
+     * @param controllerIds
+     *            to search for
+     * @return the found {@link Target}s
+     *
+     * @see #findWithFieldDataByControllerId(String)
+     */
+    @Query("SELECT DISTINCT t FROM JpaTarget t LEFT JOIN FETCH t.tags"
+            + " LEFT JOIN FETCH t.assignedDistributionSet LEFT JOIN FETCH t.installedDistributionSet"
+            + " WHERE t.controllerId IN :controllerIds")
+    @QueryHints({ @QueryHint(name = org.eclipse.persistence.config.QueryHints.BATCH, value = "t.metadata"),
+            @QueryHint(name = org.eclipse.persistence.config.QueryHints.BATCH_TYPE, value = "IN") })
+    List<JpaTarget> findWithFieldDataByControllerIdIn(@Param("controllerIds") Collection<String> controllerIds);
+
     /**
      * Finds all targets that have given prune state.
      *
@@ -189,6 +229,19 @@ public interface TargetRepository extends BaseEntityRepository<JpaTarget, Long>,
      */
     Page<Target> findByIsCleanedUpIsFalse(Pageable pageable);
 
+    /**
+     * Finds the IDs of the targets which are not cleaned up yet, ordered by ID,
+     * to page through them by keyset without loading the targets.
+     *
+     * @param afterId
+     *            only IDs greater than this one are returned
+     * @param pageable
+     *            to limit the number of IDs
+     * @return the IDs of the targets which are not cleaned up
+     */
+    @Query("SELECT t.id FROM JpaTarget t WHERE t.isCleanedUp = false AND t.id > :afterId ORDER BY t.id")
+    List<Long> findIdsByIsCleanedUpIsFalse(@Param("afterId") long afterId, Pageable pageable);
+
     /**
      * Checks whether {@link Target} in the repository matching an id exists or not.
      *
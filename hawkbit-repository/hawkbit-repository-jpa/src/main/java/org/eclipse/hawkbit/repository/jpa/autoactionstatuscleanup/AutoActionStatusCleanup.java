@@ -1,54 +1,82 @@
 package org.eclipse.hawkbit.repository.jpa.autoactionstatuscleanup;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.eclipse.hawkbit.repository.*;
+import org.eclipse.hawkbit.repository.jpa.ActionStatusRepository;
+import org.eclipse.hawkbit.repository.jpa.TargetRepository;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.CleanupTask;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.repository.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 
 import java.io.Serializable;
-import java.util.EnumSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.*;
 
+/**
+ * Cleans up the action statuses of the targets which are not cleaned up yet.
+ * The statuses of the newest action of a target, the newest status of every
+ * action and all statuses in {@link Action.Status#ERROR} are kept. The
+ * cleanable statuses of a chunk of targets are found by one query and deleted
+ * in batches by ID range. A chunk of targets is marked as cleaned up as soon
+ * as it is done, so a run which is stopped after a chunk, e.g. because it
+ * exceeded the time budget of its tenant, continues with the remaining targets.
+ */
 public class AutoActionStatusCleanup implements CleanupTask {
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoActionStatusCleanup.class);
     private static final String ID = "action-status-cleanup";
+    private static final String METRIC_NAME = "hawkbit.cleanup.action.status";
     private static final boolean ACTION_STATUS_CLEANUP_ENABLED_DEFAULT = false;
-    private final DeploymentManagement deploymentMgmt;
     private final TenantConfigurationManagement configMgmt;
     private final TargetManagement targetMgmt;
     private final ControllerManagement controllerMgmt;
-    private final QuotaManagement quotaMgmt;
+    private final TargetRepository targetRepository;
+    private final ActionStatusRepository actionStatusRepository;
+    private final Counter deletedCounter;
+    private final Timer batchTimer;
 
     @Value("${hawkbit.autoactionstatuscleanup.targetsPerCleanup:100}")
     private int targetsPerCleanup;
 
+    @Value("${hawkbit.autoactionstatuscleanup.statusesPerDelete:500}")
+    private int statusesPerDelete;
+
     /**
      * Constructs the action cleanup handler.
      *
-     * @param deploymentMgmt
-     *            The {@link DeploymentManagement} to operate on.
      * @param configMgmt
      *            The {@link TenantConfigurationManagement} service.
+     * @param controllerMgmt
+     *            to delete the action statuses
+     * @param targetMgmt
+     *            to mark the targets as cleaned up
+     * @param targetRepository
+     *            to find the IDs of the targets which are not cleaned up
+     * @param actionStatusRepository
+     *            to find the action statuses which can be deleted
+     * @param meterRegistry
+     *            to record the deleted action statuses
      */
-    public AutoActionStatusCleanup(final DeploymentManagement deploymentMgmt,
-                                   final TenantConfigurationManagement configMgmt,
+    public AutoActionStatusCleanup(final TenantConfigurationManagement configMgmt,
                                    final ControllerManagement controllerMgmt,
                                    final TargetManagement targetMgmt,
-                                   final QuotaManagement quotaMgmt) {
-        this.deploymentMgmt = deploymentMgmt;
+                                   final TargetRepository targetRepository,
+                                   final ActionStatusRepository actionStatusRepository,
+                                   final MeterRegistry meterRegistry) {
         this.configMgmt = configMgmt;
         this.controllerMgmt = controllerMgmt;
         this.targetMgmt = targetMgmt;
-        this.quotaMgmt = quotaMgmt;
+        this.targetRepository = targetRepository;
+        this.actionStatusRepository = actionStatusRepository;
+        this.deletedCounter = Counter.builder(METRIC_NAME + ".deleted").register(meterRegistry);
+        this.batchTimer = Timer.builder(METRIC_NAME + ".batch").register(meterRegistry);
     }
 
     @Override
@@ -58,54 +86,57 @@ public class AutoActionStatusCleanup implements CleanupTask {
             return;
         }
 
-        LOGGER.debug("targetsPerCleanup: {} and maxStatusEntriesPerAction: {}", targetsPerCleanup, quotaMgmt.getMaxStatusEntriesPerAction());
-
-        // Get targets with `is_cleaned_up == 0`
-        Pageable pageRef = new OffsetBasedPageRequest(0, targetsPerCleanup, Sort.by(Sort.Direction.ASC, "controllerId"));
-        Page<Target> targetPage = targetMgmt.findByIsCleanedUpIsFalse(pageRef);
-        List<Target> targetList = targetPage.getContent();
-
-        LOGGER.debug("Fetched {} targets with is_cleaned_up = 0", targetList.size());
-
-        // 2a. Get all actions for these targets with `status == 1`
-        targetList.forEach(target -> {
-            LOGGER.debug("Fetching actions for target with Id: {}", target.getId());
-
-            List<Long> actionIds = controllerMgmt.findActionsOfTargetWithId(target.getId());
-
-            LOGGER.debug("Fetched {} actions for target with Id: {}", actionIds.size(), target.getId());
-
-            // Remove all but recent action
-            if (actionIds.size() >= 1) {
-                LOGGER.debug("Excluding action {} for target with Id: {} from cleanup", actionIds.get(0), target.getId());
-                actionIds.remove(0);
+        LOGGER.debug("targetsPerCleanup: {} and statusesPerDelete: {}", targetsPerCleanup, statusesPerDelete);
+
+        // Get the IDs of the targets with `is_cleaned_up == 0` chunk by chunk
+        // by keyset, the targets of a chunk are marked as cleaned up when the
+        // chunk is done
+        final Pageable chunk = PageRequest.of(0, targetsPerCleanup);
+        List<Long> targetIds;
+        long lastTargetId = 0;
+        long totalDeleted = 0;
+        do {
+            targetIds = targetRepository.findIdsByIsCleanedUpIsFalse(lastTargetId, chunk);
+            if (targetIds.isEmpty()) {
+                break;
+            }
+            lastTargetId = targetIds.get(targetIds.size() - 1);
 
-                actionIds.forEach(actionId -> {
-                    Pageable pageRefForActionStatus = new OffsetBasedPageRequest(0, quotaMgmt.getMaxStatusEntriesPerAction(), Sort.by(Sort.Direction.DESC, "createdAt"));
+            LOGGER.debug("Fetched {} targets with is_cleaned_up = 0", targetIds.size());
+            totalDeleted += cleanup(targetIds);
 
-                    List<ActionStatus> actionStatuses = deploymentMgmt.findActionStatusByAction(pageRefForActionStatus, actionId).getContent().stream().filter(actionStatus -> !actionStatus.getStatus().equals(Action.Status.ERROR)).collect(Collectors.toList());
+            targetMgmt.updateIsCleanedUpForTargetsWithIds(targetIds, true);
+            LOGGER.debug("Cleaned up {} targets, {} action statuses deleted so far", targetIds.size(), totalDeleted);
+        } while (targetIds.size() == targetsPerCleanup && !ParallelTenantExecutor.isTimeBudgetExceeded());
 
-                    List<Long> actionStatusIds = actionStatuses.stream().map(ActionStatus::getId).collect(Collectors.toList());
+        if (totalDeleted > 0) {
+            LOGGER.info("Action status cleanup deleted {} action statuses", totalDeleted);
+        }
+    }
 
-                    LOGGER.debug("Fetched {} action statuses for action with Id: {}", actionStatusIds.size(), actionId);
+    private long cleanup(final List<Long> targetIds) {
+        final Pageable batch = PageRequest.of(0, statusesPerDelete);
+        long deleted = 0;
+        long lastId = 0;
+        List<Long> actionStatusIds;
+        do {
+            actionStatusIds = actionStatusRepository.findIdsOfCleanableStatusByTargetIds(targetIds, lastId,
+                    Action.Status.ERROR, batch);
+            if (actionStatusIds.isEmpty()) {
+                break;
+            }
 
-                    // Ignore the most recent action status
-                    if (actionStatusIds.size() >= 1) {
-                        LOGGER.debug("Excluding action status {} for action with Id {}", actionStatusIds.get(0), actionId);
-                        actionStatusIds.remove(0);
+            // Delete the action statuses (and cascade delete the messages)
+            final List<Long> toDelete = actionStatusIds;
+            batchTimer.record(() -> controllerMgmt.deleteByIds(toDelete));
+            deletedCounter.increment(toDelete.size());
 
-                        // Delete all action statuses for these actions (and cascade delete the messages)
-                        if (actionStatusIds.size() >= 1)
-                            controllerMgmt.deleteByIds(actionStatusIds);
-                    }
-                });
-            }
-        });
+            deleted += toDelete.size();
+            lastId = toDelete.get(toDelete.size() - 1);
+            LOGGER.debug("Deleted {} action statuses up to Id {}", toDelete.size(), lastId);
+        } while (actionStatusIds.size() == statusesPerDelete);
 
-        // Set is_cleaned_up for these targets to "1"
-        if (!targetList.isEmpty()) {
-            targetMgmt.updateIsCleanedUpForTargetsWithIds(targetList.stream().map(Target::getId).collect(Collectors.toList()), true);
-        }
+        return deleted;
     }
 
     @Override
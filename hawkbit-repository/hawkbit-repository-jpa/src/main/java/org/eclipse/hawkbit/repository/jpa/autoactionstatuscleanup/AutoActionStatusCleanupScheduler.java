@@ -2,6 +2,7 @@ package org.eclipse.hawkbit.repository.jpa.autoactionstatuscleanup;
 
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.CleanupTask;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,7 +67,11 @@ public class AutoActionStatusCleanupScheduler {
      */
     @SuppressWarnings("squid:S3516")
     private Void executeAutoCleanup() {
-        systemManagement.forEachTenant(tenant -> cleanupTasks.forEach(task -> {
+        systemManagement.forEachTenant(AUTO_ACTION_STATUS_CLEANUP, tenant -> cleanupTasks.forEach(task -> {
+            if (ParallelTenantExecutor.isTimeBudgetExceeded()) {
+                return;
+            }
+
             final Lock lock = obtainLock(task, tenant);
             if (!lock.tryLock()) {
                 return;
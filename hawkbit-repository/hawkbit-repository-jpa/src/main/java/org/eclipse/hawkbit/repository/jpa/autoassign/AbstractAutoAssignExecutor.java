@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.DeploymentRequest;
@@ -102,6 +103,9 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
             filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(query);
 
             filterQueries.forEach(filterQuery -> {
+                if (ParallelTenantExecutor.isTimeBudgetExceeded()) {
+                    return;
+                }
                 try {
                     runInUserContext(filterQuery, () -> consumer.accept(filterQuery));
                 } catch (final RuntimeException ex) {
@@ -114,7 +118,8 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
                             filterQuery.getTenant(), filterQuery.getId(), ex.getMessage());
                 }
             });
-        } while ((query = filterQueries.nextPageable()) != Pageable.unpaged());
+        } while (!ParallelTenantExecutor.isTimeBudgetExceeded()
+                && (query = filterQueries.nextPageable()) != Pageable.unpaged());
     }
 
     /**
@@ -9,8 +9,10 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 import javax.persistence.PersistenceException;
@@ -20,6 +22,7 @@ import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.repository.model.*;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
@@ -45,6 +48,8 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
 
     private final TargetManagement targetManagement;
 
+    private final AutoAssignLocks autoAssignLocks;
+
     /**
      * Instantiates a new auto assign checker
      *
@@ -58,12 +63,16 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
      *            to run transactions
      * @param tenantAware
      *            to handle the tenant context
+     * @param autoAssignLocks
+     *            to serialize the assignment with the checks of single targets
      */
     public AutoAssignChecker(final TargetFilterQueryManagement targetFilterQueryManagement,
             final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager, final TenantAware tenantAware) {
+            final PlatformTransactionManager transactionManager, final TenantAware tenantAware,
+            final AutoAssignLocks autoAssignLocks) {
         super(targetFilterQueryManagement, deploymentManagement, transactionManager, tenantAware);
         this.targetManagement = targetManagement;
+        this.autoAssignLocks = autoAssignLocks;
     }
 
     @Override
@@ -106,13 +115,13 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
                         "Retrieved {} auto assign targets for tenant {} and target filter query id {}, starting with assignment",
                         controllerIds.size(), getTenantAware().getCurrentTenant(), targetFilterQuery.getId());
 
-                count = runTransactionalAssignment(targetFilterQuery, controllerIds);
+                count = runLockedAssignment(targetFilterQuery, controllerIds);
 
                 LOGGER.debug("Running AutoAssignCheck. TFQ: " + targetFilterQuery.getQuery() + " with DS: " + targetFilterQuery.getAutoAssignDistributionSet().getName());
                 LOGGER.debug(
                         "Assignment for {} auto assign targets for tenant {} and target filter query id {} finished",
                         controllerIds.size(), getTenantAware().getCurrentTenant(), targetFilterQuery.getId());
-            } while (count == Constants.MAX_ENTRIES_IN_STATEMENT);
+            } while (count == Constants.MAX_ENTRIES_IN_STATEMENT && !ParallelTenantExecutor.isTimeBudgetExceeded());
         } catch (final PersistenceException | AbstractServerRtException e) {
             LOGGER.error("Error during auto assign check of target filter query id {}", targetFilterQuery.getId(), e);
         }
@@ -129,7 +138,7 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
                     targetFilterQuery.getQuery());
 
             if (controllerIdMatches) {
-                runTransactionalAssignment(targetFilterQuery, Collections.singletonList(controllerId));
+                runLockedAssignment(targetFilterQuery, Collections.singletonList(controllerId));
             }
 
         } catch (final PersistenceException | AbstractServerRtException e) {
@@ -139,6 +148,26 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
                 getTenantAware().getCurrentTenant(), targetFilterQuery.getId());
     }
 
+    /**
+     * Runs the assignment while holding the lock stripes of the targets, so
+     * the targets are not assigned by a concurrent check of single targets.
+     * The stripes are locked in order and the other checks only try to lock
+     * them, so waiting for them cannot deadlock.
+     */
+    private int runLockedAssignment(final TargetFilterQuery targetFilterQuery, final List<String> controllerIds) {
+        final List<Lock> locks = autoAssignLocks.obtain(controllerIds);
+        final List<Lock> locked = new ArrayList<>(locks.size());
+        try {
+            locks.forEach(lock -> {
+                lock.lock();
+                locked.add(lock);
+            });
+            return runTransactionalAssignment(targetFilterQuery, controllerIds);
+        } finally {
+            locked.forEach(Lock::unlock);
+        }
+    }
+
     protected static String getAutoAssignmentInitiatedBy(final TargetFilterQuery targetFilterQuery) {
         return StringUtils.isEmpty(targetFilterQuery.getAutoAssignInitiatedBy()) ?
                 targetFilterQuery.getCreatedBy() :
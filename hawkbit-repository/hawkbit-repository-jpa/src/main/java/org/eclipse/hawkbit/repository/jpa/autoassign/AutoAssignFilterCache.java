@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetFilterQueryDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.TargetFieldData;
+import org.eclipse.hawkbit.repository.jpa.TargetFilterQueryRepository;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTargetFilterQuery;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlMatcherCache;
+import org.eclipse.hawkbit.repository.jpa.rsql.TargetFieldMatcher;
+import org.eclipse.hawkbit.repository.jpa.specifications.TargetFilterQuerySpecification;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Tenant aware cache of all {@link TargetFilterQuery}s with an auto assign
+ * distribution set. The filters of a tenant are loaded page by page on first
+ * access and kept in memory as immutable {@link AutoAssignFilter}s until a
+ * target filter query or distribution set of the tenant changes.
+ */
+public class AutoAssignFilterCache {
+    private static final String CACHE_NAME = "AutoAssignFilter";
+    private static final String CACHE_KEY = "filters";
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+    private final TargetFilterQueryRepository targetFilterQueryRepository;
+    private final RsqlMatcherCache rsqlMatcherCache;
+    private final int pageSize;
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param targetFilterQueryRepository
+     *            to load the auto assign filters
+     * @param rsqlMatcherCache
+     *            to compile the filter queries
+     * @param pageSize
+     *            the number of filters loaded per query
+     */
+    public AutoAssignFilterCache(final TenantAware tenantAware,
+            final TargetFilterQueryRepository targetFilterQueryRepository, final RsqlMatcherCache rsqlMatcherCache,
+            final int pageSize) {
+        this.tenantAware = tenantAware;
+        this.targetFilterQueryRepository = targetFilterQueryRepository;
+        this.rsqlMatcherCache = rsqlMatcherCache;
+        this.pageSize = pageSize;
+
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(1));
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param targetFilterQueryRepository
+     *            to load the auto assign filters
+     * @param rsqlMatcherCache
+     *            to compile the filter queries
+     */
+    public AutoAssignFilterCache(final TenantAware tenantAware,
+            final TargetFilterQueryRepository targetFilterQueryRepository, final RsqlMatcherCache rsqlMatcherCache) {
+        this(tenantAware, targetFilterQueryRepository, rsqlMatcherCache, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Returns all auto assign filters of the current tenant ordered by their
+     * id.
+     *
+     * @return the immutable list of filters
+     */
+    public List<AutoAssignFilter> getFilters() {
+        final Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            // no tenant in context, nothing to cache for
+            return loadFilters();
+        }
+        return cache.get(CACHE_KEY, this::loadFilters);
+    }
+
+    @EventListener(classes = TargetFilterQueryCreatedEvent.class)
+    public void invalidateOnTargetFilterQueryCreated(final TargetFilterQueryCreatedEvent event) {
+        evict(event.getTenant());
+    }
+
+    @EventListener(classes = TargetFilterQueryUpdatedEvent.class)
+    public void invalidateOnTargetFilterQueryUpdated(final TargetFilterQueryUpdatedEvent event) {
+        evict(event.getTenant());
+    }
+
+    @EventListener(classes = TargetFilterQueryDeletedEvent.class)
+    public void invalidateOnTargetFilterQueryDeleted(final TargetFilterQueryDeletedEvent event) {
+        evict(event.getTenant());
+    }
+
+    /**
+     * Auto assignments are cancelled in bulk on distribution set invalidation,
+     * which is only visible through the distribution set events.
+     */
+    @EventListener(classes = DistributionSetUpdatedEvent.class)
+    public void invalidateOnDistributionSetUpdated(final DistributionSetUpdatedEvent event) {
+        evict(event.getTenant());
+    }
+
+    @EventListener(classes = DistributionSetDeletedEvent.class)
+    public void invalidateOnDistributionSetDeleted(final DistributionSetDeletedEvent event) {
+        evict(event.getTenant());
+    }
+
+    /**
+     * Evicts all caches for a given tenant.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        cacheManager.evictCaches(tenant);
+    }
+
+    private void evict(final String tenant) {
+        final Cache cache = tenantAware.runAsTenant(tenant, () -> cacheManager.getCache(CACHE_NAME));
+        if (cache != null) {
+            cache.evict(CACHE_KEY);
+        }
+    }
+
+    private List<AutoAssignFilter> loadFilters() {
+        final List<AutoAssignFilter> filters = new ArrayList<>();
+        List<JpaTargetFilterQuery> filterQueries;
+        int page = 0;
+
+        // slices without count never report a next page, so read until a
+        // page is not full anymore
+        do {
+            filterQueries = targetFilterQueryRepository
+                    .findAllWithoutCount(TargetFilterQuerySpecification.withAutoAssignDS(),
+                            PageRequest.of(page++, pageSize, Sort.by("id")))
+                    .getContent();
+            filterQueries.forEach(filterQuery -> filters
+                    .add(new AutoAssignFilter(filterQuery, rsqlMatcherCache.getMatcher(filterQuery))));
+        } while (filterQueries.size() == pageSize);
+
+        return Collections.unmodifiableList(filters);
+    }
+
+    /**
+     * Detached snapshot of a {@link TargetFilterQuery} with its auto assignment
+     * and compiled matcher.
+     */
+    public static final class AutoAssignFilter {
+        private final Long id;
+        private final String name;
+        private final Long distributionSetId;
+        private final ActionType actionType;
+        private final Integer weight;
+        private final TargetFieldMatcher matcher;
+
+        private AutoAssignFilter(final TargetFilterQuery filterQuery, final TargetFieldMatcher matcher) {
+            this.id = filterQuery.getId();
+            this.name = filterQuery.getName();
+            this.distributionSetId = filterQuery.getAutoAssignDistributionSet().getId();
+            this.actionType = filterQuery.getAutoAssignActionType();
+            this.weight = filterQuery.getAutoAssignWeight().orElse(null);
+            this.matcher = matcher;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Long getDistributionSetId() {
+            return distributionSetId;
+        }
+
+        public ActionType getActionType() {
+            return actionType;
+        }
+
+        public Integer getWeight() {
+            return weight;
+        }
+
+        /**
+         * @param fieldData
+         *            the extracted fields of the target to check
+         * @return <code>true</code> if the target matches the filter
+         */
+        public boolean matches(final TargetFieldData fieldData) {
+            return matcher.matches(fieldData);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.integration.support.locks.LockRegistry;
+
+/**
+ * Lock stripes which serialize the auto assignment of distribution sets to the
+ * targets of a tenant. Targets are mapped to a stripe by the hash of their
+ * controller ID, so the check of a single target, the batched checks of queued
+ * targets and the scheduled check of all targets never assign to the same
+ * target at the same time, while unrelated targets are assigned in parallel.
+ */
+public class AutoAssignLocks {
+
+    private static final String LOCK_PREFIX = "autoassign-";
+
+    private final LockRegistry lockRegistry;
+    private final TenantAware tenantAware;
+    private final int stripes;
+
+    /**
+     * Constructor.
+     *
+     * @param lockRegistry
+     *            to obtain the locks
+     * @param tenantAware
+     *            to get the current tenant
+     * @param stripes
+     *            number of lock stripes per tenant
+     */
+    public AutoAssignLocks(final LockRegistry lockRegistry, final TenantAware tenantAware, final int stripes) {
+        this.lockRegistry = lockRegistry;
+        this.tenantAware = tenantAware;
+        this.stripes = Math.max(1, stripes);
+    }
+
+    /**
+     * @param controllerId
+     *            of the target of the current tenant
+     * @return the lock of the stripe of the target
+     */
+    public Lock obtain(final String controllerId) {
+        return lockRegistry.obtain(getKey(getStripe(controllerId)));
+    }
+
+    /**
+     * @param controllerIds
+     *            of targets of the current tenant
+     * @return the locks of the stripes of the targets, ordered by stripe so
+     *         that they can be locked one after another without deadlock
+     */
+    public List<Lock> obtain(final Collection<String> controllerIds) {
+        return controllerIds.stream().map(this::getStripe).distinct().sorted().map(this::getKey)
+                .map(lockRegistry::obtain).collect(Collectors.toList());
+    }
+
+    /**
+     * @param controllerId
+     *            of the target of the current tenant
+     * @return the key of the lock of the stripe of the target
+     */
+    public String getKey(final String controllerId) {
+        return getKey(getStripe(controllerId));
+    }
+
+    private int getStripe(final String controllerId) {
+        return Math.floorMod(controllerId.hashCode(), stripes);
+    }
+
+    private String getKey(final int stripe) {
+        return LOCK_PREFIX + String.valueOf(tenantAware.getCurrentTenant()).toUpperCase(Locale.ROOT) + "-" + stripe;
+    }
+}
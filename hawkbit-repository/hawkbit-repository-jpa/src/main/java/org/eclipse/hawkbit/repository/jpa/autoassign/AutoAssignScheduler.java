@@ -9,14 +9,11 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
-import java.util.concurrent.locks.Lock;
-
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
@@ -25,6 +22,8 @@ import org.springframework.scheduling.annotation.Scheduled;
 public class AutoAssignScheduler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignScheduler.class);
 
+    private static final String AUTO_ASSIGN = "autoassign";
+
     private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.autoassign.scheduler.fixedDelay:2000}";
 
     private final SystemManagement systemManagement;
@@ -33,8 +32,6 @@ public class AutoAssignScheduler {
 
     private final AutoAssignExecutor autoAssignExecutor;
 
-    private final LockRegistry lockRegistry;
-
     /**
      * Instantiates a new AutoAssignScheduler
      * 
@@ -44,16 +41,12 @@ public class AutoAssignScheduler {
      *            to run as system
      * @param autoAssignExecutor
      *            to run a check as tenant
-     * @param lockRegistry
-     *            to acquire a lock per tenant
      */
     public AutoAssignScheduler(final SystemManagement systemManagement,
-            final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
+            final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor) {
         this.systemManagement = systemManagement;
         this.systemSecurityContext = systemSecurityContext;
         this.autoAssignExecutor = autoAssignExecutor;
-        this.lockRegistry = lockRegistry;
     }
 
     /**
@@ -76,21 +69,11 @@ public class AutoAssignScheduler {
         // annotation is used.
         // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
         // iterate through all tenants and execute the rollout check for
-        // each tenant separately.
-        final Lock lock = lockRegistry.obtain("autoassign");
-        if (!lock.tryLock()) {
-            return null;
-        }
-
-        LOGGER.debug("Obtained lock with key: autoassign (scheduler)");
-
-        try {
-            LOGGER.debug("Auto assign scheduled execution has aquired lock and started for each tenant.");
-            systemManagement.forEachTenant(tenant -> autoAssignExecutor.checkAllTargets());
-        } finally {
-            lock.unlock();
-            LOGGER.debug("Auto assign scheduled execution has released lock and finished.");
-        }
+        // each tenant separately. The tenants are locked one by one, so the
+        // nodes of a cluster check different tenants.
+        LOGGER.debug("Auto assign scheduled execution has started for each tenant.");
+        systemManagement.forEachTenant(AUTO_ASSIGN, tenant -> autoAssignExecutor.checkAllTargets());
+        LOGGER.debug("Auto assign scheduled execution has finished.");
 
         return null;
     }
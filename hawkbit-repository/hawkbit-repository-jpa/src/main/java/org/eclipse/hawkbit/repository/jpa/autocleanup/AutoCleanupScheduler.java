@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.concurrent.locks.Lock;
 
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,7 +76,11 @@ public class AutoCleanupScheduler {
      */
     @SuppressWarnings("squid:S3516")
     private Void executeAutoCleanup() {
-        systemManagement.forEachTenant(tenant -> cleanupTasks.forEach(task -> {
+        systemManagement.forEachTenant(AUTO_CLEANUP, tenant -> cleanupTasks.forEach(task -> {
+            if (ParallelTenantExecutor.isTimeBudgetExceeded()) {
+                return;
+            }
+
             final Lock lock = obtainLock(task, tenant);
             if (!lock.tryLock()) {
                 return;
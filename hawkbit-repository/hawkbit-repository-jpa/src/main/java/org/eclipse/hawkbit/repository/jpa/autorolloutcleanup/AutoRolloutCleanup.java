@@ -8,36 +8,57 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autorolloutcleanup;
 
-import org.eclipse.hawkbit.repository.*;
+import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.RolloutGroupRepository;
+import org.eclipse.hawkbit.repository.jpa.RolloutRepository;
+import org.eclipse.hawkbit.repository.jpa.RolloutTargetGroupRepository;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.CleanupTask;
-import org.eclipse.hawkbit.repository.model.Rollout;
-import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.Action;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.google.common.collect.Lists;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Purges the rollout groups of deleted rollouts. The rollout groups of a number
+ * of rollouts are purged together, the targets of the groups and the remaining
+ * scheduled actions of the rollouts are deleted in chunks, each in its own
+ * transaction. The rollouts are only marked as cleaned up after their groups
+ * are deleted, so an interrupted purge is continued by the next run.
+ */
 public class AutoRolloutCleanup implements CleanupTask {
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoRolloutCleanup.class);
 
     private static final String ID = "rollout-cleanup";
     private static final boolean ROLLOUT_CLEANUP_ENABLED_DEFAULT = true;
 
-    private final RolloutManagement rolloutMgmt;
-    private final RolloutGroupManagement rolloutGroupMgmt;
-    private final QuotaManagement quotaMgmt;
+    private final RolloutRepository rolloutRepository;
+    private final RolloutGroupRepository rolloutGroupRepository;
+    private final RolloutTargetGroupRepository rolloutTargetGroupRepository;
+    private final ActionRepository actionRepository;
+    private final PlatformTransactionManager txManager;
 
     @Value("${hawkbit.autorolloutcleanup.rolloutsPerCleanup:100}")
     private int rolloutsPerCleanup;
 
-    public AutoRolloutCleanup(final RolloutManagement rolloutMgmt, final RolloutGroupManagement rolloutGroupMgmt, final QuotaManagement quotaMgmt) {
-        this.rolloutMgmt = rolloutMgmt;
-        this.rolloutGroupMgmt = rolloutGroupMgmt;
-        this.quotaMgmt = quotaMgmt;
+    @Value("${hawkbit.autorolloutcleanup.rowsPerDelete:500}")
+    private int rowsPerDelete;
+
+    public AutoRolloutCleanup(final RolloutRepository rolloutRepository,
+                              final RolloutGroupRepository rolloutGroupRepository,
+                              final RolloutTargetGroupRepository rolloutTargetGroupRepository,
+                              final ActionRepository actionRepository, final PlatformTransactionManager txManager) {
+        this.rolloutRepository = rolloutRepository;
+        this.rolloutGroupRepository = rolloutGroupRepository;
+        this.rolloutTargetGroupRepository = rolloutTargetGroupRepository;
+        this.actionRepository = actionRepository;
+        this.txManager = txManager;
     }
 
     @Override
@@ -46,32 +67,68 @@ public class AutoRolloutCleanup implements CleanupTask {
             LOGGER.debug("Rollout cleanup is disabled for this tenant...");
             return;
         }
-        LOGGER.debug("rolloutsPerCleanup: {}; rolloutGroupsPerRolloutCleanup: {}", rolloutsPerCleanup, quotaMgmt.getMaxRolloutGroupsPerRollout());
+        LOGGER.debug("rolloutsPerCleanup: {}; rowsPerDelete: {}", rolloutsPerCleanup, rowsPerDelete);
+
+        List<Long> rolloutIds;
+        do {
+            rolloutIds = rolloutRepository
+                    .findIdsByIsCleanedUpIsFalseAndDeletedIsTrue(PageRequest.of(0, rolloutsPerCleanup));
+            LOGGER.debug("Fetched {} rollouts that were deleted in UI and not yet cleaned up", rolloutIds.size());
+
+            if (rolloutIds.isEmpty()) {
+                return;
+            }
+
+            purge(rolloutIds);
+        } while (rolloutIds.size() == rolloutsPerCleanup);
+    }
 
-        List<Rollout> rolloutsToCleanUp = getRolloutsNotYetCleanedUp();
-        LOGGER.debug("Fetched {} rollouts that were deleted in UI and not yet cleaned up", rolloutsToCleanUp.size());
+    private void purge(final List<Long> rolloutIds) {
+        final List<Long> rolloutGroupIds = rolloutGroupRepository.findIdsByRolloutIdIn(rolloutIds);
+        LOGGER.debug("Found {} rollout groups for rollouts with IDs {}", rolloutGroupIds.size(), rolloutIds);
 
-        if (rolloutsToCleanUp.isEmpty()) { return; }
+        rolloutGroupIds.forEach(this::deleteRolloutTargetGroups);
+        deleteScheduledActions(rolloutIds);
 
-        // Get rolloutGroups that match
-        rolloutsToCleanUp.forEach(rollout -> {
-            Page<RolloutGroup> rolloutGroupPage = rolloutGroupMgmt.findByRollout(new OffsetBasedPageRequest(0, quotaMgmt.getMaxRolloutGroupsPerRollout(), Sort.unsorted()), rollout.getId());
-            List<RolloutGroup> rolloutGroupList = rolloutGroupPage.getContent();
+        DeploymentHelper.runInNewTransaction(txManager, "purgeRolloutGroups", status -> {
+            Lists.partition(rolloutGroupIds, rowsPerDelete).forEach(rolloutGroupRepository::deleteByIds);
+            rolloutRepository.setCleanedUpByIds(rolloutIds);
+            return null;
+        });
 
-            LOGGER.debug("Found {} rollout groups for rollout with ID {}", rolloutGroupList.size(), rollout.getId());
+        LOGGER.debug("Deleted {} rollout groups of {} rollouts", rolloutGroupIds.size(), rolloutIds.size());
+    }
 
-            if (rolloutGroupList.size() == 0) {
-                rolloutMgmt.setRolloutAsCleanedUp(rollout);
+    private void deleteRolloutTargetGroups(final Long rolloutGroupId) {
+        final PageRequest chunk = PageRequest.of(0, rowsPerDelete);
+        List<Long> targetIds;
+        do {
+            targetIds = rolloutTargetGroupRepository.findTargetIdsByRolloutGroupId(rolloutGroupId, chunk);
+            if (targetIds.isEmpty()) {
                 return;
             }
 
-            List<Long> rolloutGroupIds = rolloutGroupList.stream().map(RolloutGroup::getId).collect(Collectors.toList());
-            rolloutGroupMgmt.deleteByIds(rolloutGroupIds);
+            final long lastTargetId = targetIds.get(targetIds.size() - 1);
+            DeploymentHelper.runInNewTransaction(txManager, "purgeRolloutTargetGroups", status -> rolloutTargetGroupRepository
+                    .deleteByRolloutGroupIdAndTargetIdLessThanEqual(rolloutGroupId, lastTargetId));
+        } while (targetIds.size() == rowsPerDelete);
+    }
 
-            LOGGER.debug("Deleted {} rollout groups with ids: {}", rolloutGroupIds.size(), rolloutGroupIds);
+    private void deleteScheduledActions(final List<Long> rolloutIds) {
+        final PageRequest chunk = PageRequest.of(0, rowsPerDelete);
+        List<Long> actionIds;
+        do {
+            actionIds = actionRepository.findIdsByRolloutIdInAndStatus(rolloutIds, Action.Status.SCHEDULED, chunk);
+            if (actionIds.isEmpty()) {
+                return;
+            }
 
-            rolloutMgmt.setRolloutAsCleanedUp(rollout);
-        });
+            final List<Long> toDelete = actionIds;
+            DeploymentHelper.runInNewTransaction(txManager, "purgeScheduledActions", status -> {
+                actionRepository.deleteByIdIn(toDelete);
+                return null;
+            });
+        } while (actionIds.size() == rowsPerDelete);
     }
 
     @Override
@@ -79,13 +136,6 @@ public class AutoRolloutCleanup implements CleanupTask {
         return ID;
     }
 
-    private List<Rollout> getRolloutsNotYetCleanedUp() {
-        final Page<Rollout> rolloutPage = rolloutMgmt.findByIsCleanedUpIsFalseAndDeletedIsTrue(new OffsetBasedPageRequest(0, rolloutsPerCleanup, Sort.unsorted()));
-        final List<Rollout> rolloutList = rolloutPage.getContent();
-
-        return rolloutList;
-    }
-
     private boolean isEnabled() {
         return ROLLOUT_CLEANUP_ENABLED_DEFAULT;
     }
@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.repository.jpa.autorolloutcleanup;
 
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.CleanupTask;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,7 +51,11 @@ public class AutoRolloutCleanupScheduler {
     }
 
     private Void executeAutoRolloutCleanup() {
-        systemManagement.forEachTenant(tenant -> cleanupTasks.forEach(task -> {
+        systemManagement.forEachTenant(AUTO_ROLLOUT_CLEANUP, tenant -> cleanupTasks.forEach(task -> {
+            if (ParallelTenantExecutor.isTimeBudgetExceeded()) {
+                return;
+            }
+
             final Lock lock = obtainLock(task, tenant);
 
             if (!lock.tryLock()) {
@@ -9,24 +9,56 @@
  */
 package org.eclipse.hawkbit.repository.jpa.event;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * A TenantAwareEvent entity manager, which loads an entity by id and type for
  * remote events.
+ *
+ * If batching is enabled, the entities of received remote events are
+ * announced before the event is dispatched to the listeners. As soon as a
+ * listener asks for an entity, all announced entities of the same tenant and
+ * type are loaded by one query. The entities which have not been asked for yet
+ * are kept as snapshots until the listeners of their events ask for them. A
+ * snapshot is only handed out once and only if it has been loaded after the
+ * last announcement of the entity, so listeners never see an older state than
+ * without batching. As most received events are never asked for, only the
+ * last announcements which fit into one statement are kept per tenant and
+ * type.
  */
-@Transactional(readOnly = true)
 public class JpaEventEntityManager implements EventEntityManager {
 
+    private static final int MAX_PENDING_ENTITIES = Constants.MAX_ENTRIES_IN_STATEMENT;
+    private static final int MAX_SNAPSHOTS = 10 * Constants.MAX_ENTRIES_IN_STATEMENT;
+
     private final TenantAware tenantAware;
 
     private final EntityManager entityManager;
 
+    private final Cache<String, TenantAwareBaseEntity> snapshots;
+
+    private final Map<String, PendingEntities> pendingEntities = new ConcurrentHashMap<>();
+
     /**
      * Constructor.
      *
@@ -36,14 +68,152 @@ public class JpaEventEntityManager implements EventEntityManager {
      *            the entity manager
      */
     public JpaEventEntityManager(final TenantAware tenantAware, final EntityManager entityManager) {
+        this(tenantAware, entityManager, false, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenantAware
+     *            the tenant aware
+     * @param entityManager
+     *            the entity manager
+     * @param batching
+     *            <code>true</code> to load announced entities in batches
+     * @param snapshotExpiry
+     *            time in {@link TimeUnit#MILLISECONDS} a batch loaded entity
+     *            is kept until it is asked for
+     */
+    public JpaEventEntityManager(final TenantAware tenantAware, final EntityManager entityManager,
+            final boolean batching, final long snapshotExpiry) {
         this.tenantAware = tenantAware;
         this.entityManager = entityManager;
+        this.snapshots = batching
+                ? Caffeine.newBuilder().maximumSize(MAX_SNAPSHOTS)
+                        .expireAfterWrite(snapshotExpiry, TimeUnit.MILLISECONDS).build()
+                : null;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public <E extends TenantAwareBaseEntity> E findEntity(final String tenant, final Long id,
             final Class<E> entityType) {
-        return tenantAware.runAsTenant(tenant, () -> entityManager.find(entityType, id));
+        if (snapshots == null) {
+            return tenantAware.runAsTenant(tenant, () -> entityManager.find(entityType, id));
+        }
+
+        final TenantAwareBaseEntity snapshot = snapshots.asMap().remove(entityKey(tenant, entityType, id));
+        if (snapshot != null) {
+            return entityType.cast(snapshot);
+        }
+
+        return tenantAware.runAsTenant(tenant, () -> loadBatch(tenant, id, entityType));
+    }
+
+    @Override
+    public void announceEntity(final String tenant, final Long id,
+            final Class<? extends TenantAwareBaseEntity> entityType) {
+        if (snapshots == null || id == null) {
+            return;
+        }
+
+        getPendingEntities(tenant, entityType).announce(id);
+    }
+
+    private <E extends TenantAwareBaseEntity> E loadBatch(final String tenant, final Long id,
+            final Class<E> entityType) {
+        final PendingEntities pending = getPendingEntities(tenant, entityType);
+        final Batch batch = pending.drain(id);
+        if (batch.ids.size() == 1) {
+            return entityManager.find(entityType, id);
+        }
+
+        final CriteriaQuery<E> query = entityManager.getCriteriaBuilder().createQuery(entityType);
+        final Root<E> root = query.from(entityType);
+        query.select(root).where(root.get("id").in(batch.ids));
+
+        E requested = null;
+        final List<TenantAwareBaseEntity> others = new ArrayList<>();
+        for (final E entity : entityManager.createQuery(query).getResultList()) {
+            if (id.equals(entity.getId())) {
+                requested = entity;
+            } else {
+                others.add(entity);
+            }
+        }
+        pending.complete(batch, others);
+
+        return requested;
+    }
+
+    private PendingEntities getPendingEntities(final String tenant,
+            final Class<? extends TenantAwareBaseEntity> entityType) {
+        return pendingEntities.computeIfAbsent(tenant + "/" + entityType.getName(), PendingEntities::new);
+    }
+
+    private static String entityKey(final String tenant, final Class<?> entityType, final Long id) {
+        return tenant + "/" + entityType.getName() + "/" + id;
+    }
+
+    private static final class Batch {
+        private final Set<Long> ids;
+        private final long overflows;
+
+        private Batch(final Set<Long> ids, final long overflows) {
+            this.ids = ids;
+            this.overflows = overflows;
+        }
     }
 
+    /**
+     * The announced but not yet loaded entities of a tenant and type.
+     */
+    private final class PendingEntities {
+        private final String key;
+        private final Set<Long> ids = new LinkedHashSet<>();
+        // number of dropped announcements, which invalidates running batches
+        // as they cannot tell whether a loaded entity is announced again
+        private long overflows;
+
+        private PendingEntities(final String key) {
+            this.key = key;
+        }
+
+        private synchronized void announce(final Long id) {
+            snapshots.invalidate(key + "/" + id);
+            if (!ids.add(id) || ids.size() <= MAX_PENDING_ENTITIES) {
+                return;
+            }
+
+            // drop the oldest announcement, it is loaded on request instead
+            final Iterator<Long> oldest = ids.iterator();
+            oldest.next();
+            oldest.remove();
+            overflows++;
+        }
+
+        private synchronized Batch drain(final Long id) {
+            final Set<Long> batch = new LinkedHashSet<>();
+            batch.add(id);
+            ids.remove(id);
+
+            final Iterator<Long> iterator = ids.iterator();
+            while (iterator.hasNext() && batch.size() < Constants.MAX_ENTRIES_IN_STATEMENT) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+
+            return new Batch(batch, overflows);
+        }
+
+        private synchronized void complete(final Batch batch, final List<TenantAwareBaseEntity> entities) {
+            if (batch.overflows != overflows) {
+                return;
+            }
+
+            // entities which have been announced again meanwhile may be stale
+            entities.stream().filter(entity -> !ids.contains(entity.getId()))
+                    .forEach(entity -> snapshots.put(key + "/" + entity.getId(), entity));
+        }
+    }
 }
@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Executes a scheduled task for a number of tenants in parallel. A tenant is
+ * only handled if the lock of the task and tenant can be obtained, so the
+ * nodes of a cluster claim different tenants and a tenant is skipped as long as
+ * the previous run of the task for it is still in progress. The node local
+ * locks of a {@link DefaultLockRegistry} are striped, so they are replaced by a
+ * lock per task and tenant, as otherwise tenants which share a stripe would
+ * skip each other. Every task has its own threads, so a slow task does not
+ * delay the others.
+ *
+ * The caller waits until every tenant is done or has exceeded the time budget.
+ * A tenant which exceeds the budget is not interrupted, as that could break
+ * the connection of a running statement. The task is expected to check
+ * {@link #isTimeBudgetExceeded()} between its batches and to stop once it is
+ * exceeded, the tenant keeps its lock until then. A tenant which has not
+ * started within the time budget is skipped. The latency of the tenants is
+ * recorded as {@value #METRIC_NAME} timer with the task as tag.
+ */
+public class ParallelTenantExecutor implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelTenantExecutor.class);
+
+    private static final String METRIC_NAME = "hawkbit.scheduler.tenant";
+    private static final String SEP = ".";
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the caller waits for the start of
+     * a tenant without time budget before it skips the tenant.
+     */
+    private static final long START_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private final TenantAware tenantAware;
+    private final LockRegistry lockRegistry;
+    private final MeterRegistry meterRegistry;
+    private final int parallelism;
+    private final long timeBudget;
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param tenantAware
+     *            to run the task as tenant
+     * @param lockRegistry
+     *            to obtain the lock of a task and tenant
+     * @param meterRegistry
+     *            to record the latency per task
+     * @param parallelism
+     *            maximum number of tenants handled in parallel per task, the
+     *            tenants are handled one after another by the calling thread if
+     *            <code>1</code> and without time budget
+     * @param timeBudget
+     *            time in {@link TimeUnit#MILLISECONDS} after which a tenant is
+     *            asked to stop, <code>0</code> to wait until it is done
+     */
+    public ParallelTenantExecutor(final TenantAware tenantAware, final LockRegistry lockRegistry,
+            final MeterRegistry meterRegistry, final int parallelism, final long timeBudget) {
+        this.tenantAware = tenantAware;
+        this.lockRegistry = lockRegistry instanceof DefaultLockRegistry ? new TenantLockRegistry() : lockRegistry;
+        this.meterRegistry = meterRegistry;
+        this.parallelism = Math.max(parallelism, 1);
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * @return <code>true</code> if the current thread runs a task for a tenant
+     *         which has exceeded its time budget and should stop
+     */
+    public static boolean isTimeBudgetExceeded() {
+        final Long deadline = DEADLINE.get();
+        return deadline != null && System.nanoTime() - deadline > 0;
+    }
+
+    /**
+     * Runs the task for each of the given tenants. Exceptions are logged and
+     * do not affect the other tenants.
+     *
+     * @param task
+     *            name of the task
+     * @param tenants
+     *            to run the task for
+     * @param consumer
+     *            to run as tenant
+     */
+    public void execute(final String task, final Iterable<String> tenants, final Consumer<String> consumer) {
+        if (parallelism == 1 && timeBudget <= 0) {
+            tenants.forEach(tenant -> new TenantRun(task, tenant, consumer).run());
+            return;
+        }
+
+        final ExecutorService executor = executors.computeIfAbsent(task,
+                key -> Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder().setDaemon(true)
+                        .setNameFormat("tenant-scheduler-" + key + "-%d").build()));
+        final List<TenantRun> runs = new ArrayList<>();
+        tenants.forEach(tenant -> {
+            final TenantRun run = new TenantRun(task, tenant, consumer);
+            run.future = executor.submit(run);
+            runs.add(run);
+        });
+
+        try {
+            for (final TenantRun run : runs) {
+                run.await();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while waiting for task {}.", task);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(ExecutorService::shutdownNow);
+    }
+
+    /**
+     * Node local lock registry with a lock per key, which only keeps the keys
+     * of the locks which are currently held. The locks are not reentrant and
+     * only support {@link Lock#tryLock()}.
+     */
+    private static final class TenantLockRegistry implements LockRegistry {
+        private final Set<Object> lockedKeys = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Lock obtain(final Object lockKey) {
+            return new KeyLock(lockKey);
+        }
+
+        private final class KeyLock implements Lock {
+            private final Object key;
+
+            private KeyLock(final Object key) {
+                this.key = key;
+            }
+
+            @Override
+            public boolean tryLock() {
+                return lockedKeys.add(key);
+            }
+
+            @Override
+            public void unlock() {
+                lockedKeys.remove(key);
+            }
+
+            @Override
+            public void lock() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void lockInterruptibly() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean tryLock(final long time, final TimeUnit unit) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Condition newCondition() {
+                throw new UnsupportedOperationException();
+            }
+        }
+    }
+
+    private final class TenantRun implements Runnable {
+        private final String task;
+        private final String tenant;
+        private final Consumer<String> consumer;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile long startTime;
+        private Future<?> future;
+
+        private TenantRun(final String task, final String tenant, final Consumer<String> consumer) {
+            this.task = task;
+            this.tenant = tenant;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            startTime = System.nanoTime();
+            started.countDown();
+
+            final Lock lock = lockRegistry.obtain(task + SEP + tenant);
+            if (!lock.tryLock()) {
+                LOG.debug("Task {} is already running for tenant {}.", task, tenant);
+                return;
+            }
+
+            if (timeBudget > 0) {
+                DEADLINE.set(startTime + TimeUnit.MILLISECONDS.toNanos(timeBudget));
+            }
+            try {
+                tenantAware.runAsTenant(tenant, () -> {
+                    consumer.accept(tenant);
+                    return null;
+                });
+            } catch (final RuntimeException ex) {
+                LOG.debug("Exception on task {} for tenant {}. Continue with next tenant.", task, tenant, ex);
+                LOG.error("Exception on task {} for tenant {} with error message [{}]. Continue with next tenant.",
+                        task, tenant, ex.getMessage());
+            } finally {
+                DEADLINE.remove();
+                lock.unlock();
+                final long duration = System.nanoTime() - startTime;
+                Timer.builder(METRIC_NAME).tag("task", task).register(meterRegistry).record(duration,
+                        TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void await() throws InterruptedException {
+            final long startTimeout = timeBudget > 0 ? timeBudget : START_TIMEOUT;
+            if (!started.await(startTimeout, TimeUnit.MILLISECONDS) && claimed.compareAndSet(false, true)) {
+                future.cancel(false);
+                LOG.warn("Task {} did not start within {} ms for tenant {} and is skipped.", task, startTimeout,
+                        tenant);
+                return;
+            }
+            // the run has claimed itself, so it starts right away
+            started.await();
+
+            try {
+                if (timeBudget > 0) {
+                    final long remaining = startTime + TimeUnit.MILLISECONDS.toNanos(timeBudget) - System.nanoTime();
+                    future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                } else {
+                    future.get();
+                }
+            } catch (final TimeoutException e) {
+                // the run stops at its next check of the time budget and
+                // keeps its lock until then
+                exceeded();
+            } catch (final ExecutionException e) {
+                LOG.error("Task {} failed for tenant {}.", task, tenant, e.getCause());
+            }
+        }
+
+        private void exceeded() {
+            LOG.warn("Task {} exceeded the time budget of {} ms for tenant {} and is asked to stop.", task,
+                    timeBudget, tenant);
+            Counter.builder(METRIC_NAME + ".exceeded").tag("task", task).register(meterRegistry).increment();
+        }
+    }
+}
@@ -14,11 +14,14 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -95,7 +98,16 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
     private static final Logger LOG = LoggerFactory.getLogger(JpaTarget.class);
 
     private static final List<String> TARGET_UPDATE_EVENT_IGNORE_FIELDS = Arrays.asList("lastTargetQuery", "address",
-            "optLockRevision", "lastModifiedAt", "lastModifiedBy");
+            "optLockRevision", "lastModifiedAt", "lastModifiedBy", "lastAttributeUpdate");
+
+    /**
+     * Controller attribute which holds the time of the last attribute report
+     * of the target.
+     */
+    public static final String LAST_UPDATE_ATTRIBUTE = "last_update";
+
+    private static final DateTimeFormatter LAST_UPDATE_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ENGLISH).withZone(ZoneOffset.UTC);
 
     @Column(name = "controller_id", length = Target.CONTROLLER_ID_MAX_SIZE, updatable = false, nullable = false)
     @Size(min = 1, max = Target.CONTROLLER_ID_MAX_SIZE)
@@ -134,6 +146,9 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
     @Column(name = "last_target_query")
     private Long lastTargetQuery;
 
+    @Column(name = "last_attribute_update")
+    private Long lastAttributeUpdate;
+
     @Column(name = "install_date")
     private Long installationDate;
 
@@ -479,6 +494,33 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
         this.lastTargetQuery = lastTargetQuery;
     }
 
+    /**
+     * @return time in milliseconds of the last attribute
+     *         report of the target or <code>null</code> if not tracked
+     */
+    public Long getLastAttributeUpdate() {
+        return lastAttributeUpdate;
+    }
+
+    /**
+     * @param lastAttributeUpdate
+     *            time in milliseconds of the last attribute
+     *            report
+     */
+    public void setLastAttributeUpdate(final Long lastAttributeUpdate) {
+        this.lastAttributeUpdate = lastAttributeUpdate;
+    }
+
+    /**
+     * @param timeMillis
+     *            time in milliseconds
+     * @return the time formatted as value of the
+     *         {@link #LAST_UPDATE_ATTRIBUTE}
+     */
+    public static String formatLastUpdate(final long timeMillis) {
+        return LAST_UPDATE_FORMAT.format(Instant.ofEpochMilli(timeMillis));
+    }
+
     /**
      * @param installationDate
      *          installation date
@@ -25,6 +25,8 @@ public class RolloutScheduler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RolloutScheduler.class);
 
+    private static final String ROLLOUT = "rollout";
+
     private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.rollout.scheduler.fixedDelay:2000}";
 
     private final SystemManagement systemManagement;
@@ -70,7 +72,7 @@ public class RolloutScheduler {
             // iterate through all tenants and execute the rollout check for
             // each tenant seperately.
 
-            systemManagement.forEachTenant(tenant -> rolloutHandler.handleAll());
+            systemManagement.forEachTenant(ROLLOUT, tenant -> rolloutHandler.handleAll());
 
             return null;
         });
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.hawkbit.repository.jpa.TargetFieldData;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyResolver;
+
+/**
+ * {@link TargetFieldMatcher} for a single RSQL comparison, e.g.
+ * <code>attribute.device_type==gateway*</code>. The operator is resolved and
+ * wildcard patterns are compiled once on creation. Only arguments which contain
+ * a virtual property placeholder (e.g. <code>${now_ts}</code>) are resolved on
+ * each evaluation.
+ */
+public final class ComparisonMatcher implements TargetFieldMatcher {
+
+    private final String selector;
+    private final Operator operator;
+    private final boolean withSubKey;
+    private final List<Operand> operands;
+    private final boolean dynamic;
+    private final boolean emptyOperands;
+
+    private ComparisonMatcher(final String selector, final Operator operator, final List<Operand> operands) {
+        // normalized once, the field data is keyed by lower case selectors
+        this.selector = selector.toLowerCase();
+        this.operator = operator;
+        this.withSubKey = withSubKey(this.selector);
+        this.operands = operands;
+        this.dynamic = operands.stream().anyMatch(Operand::isDynamic);
+        this.emptyOperands = isEmpty(operands);
+    }
+
+    /**
+     * Creates a compiled comparison.
+     *
+     * @param selector
+     *            the field selector, e.g. <code>attribute.device_type</code>
+     * @param operator
+     *            the RSQL operator symbol, e.g. <code>=in=</code>
+     * @param arguments
+     *            the comparison arguments
+     * @return the compiled comparison
+     *
+     * @throws IllegalArgumentException
+     *             if the operator is not supported
+     */
+    public static ComparisonMatcher of(final String selector, final String operator, final List<String> arguments) {
+        final List<Operand> operands = new ArrayList<>(arguments.size());
+        arguments.forEach(argument -> operands.add(Operand.of(argument)));
+        return new ComparisonMatcher(selector, Operator.of(operator), operands);
+    }
+
+    @Override
+    public boolean matches(final TargetFieldData fieldData) {
+        final List<String> fieldValues = fieldData.getValues(selector);
+
+        if (dynamic) {
+            final VirtualPropertyReplacer propertyReplacer = new VirtualPropertyResolver();
+            final List<Operand> resolved = new ArrayList<>(operands.size());
+            operands.forEach(operand -> resolved.add(operand.resolve(propertyReplacer)));
+            return evaluate(fieldValues, resolved, isEmpty(resolved));
+        }
+
+        return evaluate(fieldValues, operands, emptyOperands);
+    }
+
+    private boolean evaluate(final List<String> fieldValues, final List<Operand> inputValues,
+            final boolean emptyInput) {
+        switch (operator) {
+        case IN:
+            return containsAnyOf(fieldValues, inputValues, emptyInput);
+        case OUT:
+            return containsNoneOf(fieldValues, inputValues, emptyInput, withSubKey);
+        case GT:
+            return isComparable(fieldValues, emptyInput) && compare(fieldValues, inputValues) > 0;
+        case GE:
+            return isComparable(fieldValues, emptyInput) && compare(fieldValues, inputValues) >= 0;
+        case LT:
+            return isComparable(fieldValues, emptyInput) && compare(fieldValues, inputValues) < 0;
+        case LE:
+            return isComparable(fieldValues, emptyInput) && compare(fieldValues, inputValues) <= 0;
+        default:
+            throw new IllegalStateException("Unhandled operator: {" + operator + "}");
+        }
+    }
+
+    private static boolean isEmpty(final List<Operand> operands) {
+        return operands.stream().allMatch(operand -> operand.value.isEmpty());
+    }
+
+    private static boolean withSubKey(final String key) {
+        return key.startsWith("attribute.") || key.startsWith("metadata.");
+    }
+
+    private static boolean containsAnyOf(final List<String> fieldValues, final List<Operand> inputValues,
+            final boolean emptyInput) {
+        // for cases like [tag == ""]
+        if (fieldValues.isEmpty() && emptyInput) {
+            return true;
+        }
+
+        return fieldValues.stream().anyMatch(fieldValue -> anyOperandMatches(fieldValue, inputValues));
+    }
+
+    private static boolean containsNoneOf(final List<String> fieldValues, final List<Operand> inputValues,
+            final boolean emptyInput, final boolean withSubKey) {
+        // must not match non-existent fields with subkey like [attribute.noexist != value]
+        // but must match other non-existent fields like [tag != "alpha"]
+        if (fieldValues.isEmpty() && withSubKey) {
+            return false;
+        }
+
+        if (emptyInput) {
+            return true;
+        }
+
+        return fieldValues.stream().noneMatch(fieldValue -> anyOperandMatches(fieldValue, inputValues));
+    }
+
+    private static boolean anyOperandMatches(final String fieldValue, final List<Operand> inputValues) {
+        for (final Operand operand : inputValues) {
+            if (operand.matches(fieldValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isComparable(final List<String> fieldValues, final boolean emptyInput) {
+        return !fieldValues.isEmpty() && !emptyInput;
+    }
+
+    private static int compare(final List<String> fieldValues, final List<Operand> inputValues) {
+        return fieldValues.get(0).compareToIgnoreCase(inputValues.get(0).value);
+    }
+
+    /**
+     * Supported comparison operators, resolved once from their RSQL symbol.
+     */
+    private enum Operator {
+        IN, OUT, GT, GE, LT, LE;
+
+        private static Operator of(final String symbol) {
+            if ("==".equalsIgnoreCase(symbol) || "=in=".equalsIgnoreCase(symbol)) {
+                return IN;
+            }
+            if ("!=".equalsIgnoreCase(symbol) || "=out=".equalsIgnoreCase(symbol)) {
+                return OUT;
+            }
+            if ("=gt=".equalsIgnoreCase(symbol)) {
+                return GT;
+            }
+            if ("=ge=".equalsIgnoreCase(symbol)) {
+                return GE;
+            }
+            if ("=lt=".equalsIgnoreCase(symbol)) {
+                return LT;
+            }
+            if ("=le=".equalsIgnoreCase(symbol)) {
+                return LE;
+            }
+            throw new IllegalArgumentException("Unknown operator: {" + symbol + "}");
+        }
+    }
+
+    /**
+     * A single comparison argument with its precompiled wildcard pattern.
+     */
+    private static final class Operand {
+        private static final String PLACEHOLDER_PREFIX = "$";
+
+        private final String raw;
+        private final String value;
+        private final Pattern wildcardPattern;
+        private final boolean dynamic;
+
+        private Operand(final String raw, final String value, final boolean dynamic) {
+            this.raw = raw;
+            this.value = value;
+            this.dynamic = dynamic;
+            this.wildcardPattern = !dynamic && value.contains("*") ? Pattern.compile(value.replaceAll("\\*", ".*"))
+                    : null;
+        }
+
+        private static Operand of(final String raw) {
+            // virtual properties have to be resolved at evaluation time
+            if (raw.contains(PLACEHOLDER_PREFIX)) {
+                return new Operand(raw, raw, true);
+            }
+            return new Operand(raw, raw, false);
+        }
+
+        private Operand resolve(final VirtualPropertyReplacer propertyReplacer) {
+            return new Operand(raw, propertyReplacer.replace(raw), false);
+        }
+
+        private boolean isDynamic() {
+            return dynamic;
+        }
+
+        private boolean matches(final String fieldValue) {
+            if (wildcardPattern != null && wildcardPattern.matcher(fieldValue).matches()) {
+                return true;
+            }
+            return fieldValue.equalsIgnoreCase(value);
+        }
+    }
+}
@@ -84,6 +84,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
     private final Root<T> root;
     private final SimpleTypeConverter simpleTypeConverter;
     private final VirtualPropertyReplacer virtualPropertyReplacer;
+    private final boolean caseInsensitiveDb;
 
     private int level;
     private boolean isOrLevel;
@@ -99,6 +100,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
         this.virtualPropertyReplacer = virtualPropertyReplacer;
         this.simpleTypeConverter = new SimpleTypeConverter();
         this.database = database;
+        this.caseInsensitiveDb = RsqlConfigHolder.getInstance().isCaseInsensitiveDb(database);
         this.joinsNeeded = false;
     }
 
@@ -366,7 +368,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
             }
         }
         if (!inParams.isEmpty()) {
-            return cb.upper(pathOfString(fieldPath)).in(inParams);
+            return caseInsensitive(pathOfString(fieldPath)).in(inParams);
         } else {
             return fieldPath.in(transformedValues);
 
@@ -394,7 +396,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
 
         final Path<String> pathOfString = pathOfString(fieldPath);
         final Predicate inPredicate = outParams.isEmpty() ? fieldPath.in(transformedValues)
-                : cb.upper(pathOfString).in(outParams);
+                : caseInsensitive(pathOfString).in(outParams);
 
         return cb.or(cb.isNull(pathOfString), cb.not(inPredicate));
     }
@@ -402,8 +404,8 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
     private Predicate toOutWithSubQueryPredicate(final String[] fieldNames, final List<Object> transformedValues,
             final A enumField, final List<String> outParams) {
         final Function<Expression<String>, Predicate> inPredicateProvider = expressionToCompare -> outParams.isEmpty()
-                ? cb.upper(expressionToCompare).in(transformedValues)
-                : cb.upper(expressionToCompare).in(outParams);
+                ? caseInsensitive(expressionToCompare).in(transformedValues)
+                : caseInsensitive(expressionToCompare).in(outParams);
         return toNotExistsSubQueryPredicate(fieldNames, enumField, inPredicateProvider);
     }
 
@@ -427,7 +429,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
         final String keyValue = graph[graph.length - 1];
         if (fieldPath instanceof MapJoin) {
             // Currently we support only string key .So below cast is safe.
-            return cb.equal(cb.upper((Expression<String>) (((MapJoin<?, ?, ?>) fieldPath).key())),
+            return cb.equal(caseInsensitive((Expression<String>) (((MapJoin<?, ?, ?>) fieldPath).key())),
                     keyValue.toUpperCase());
         }
 
@@ -435,7 +437,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
                 .orElseThrow(() -> new UnsupportedOperationException(
                         "For the fields, defined as Map, only Map java type or tuple in the form of SimpleImmutableEntry are allowed. Neither of those could be found!"));
 
-        return cb.equal(cb.upper(fieldPath.get(keyFieldName)), keyValue.toUpperCase());
+        return cb.equal(caseInsensitive(fieldPath.get(keyFieldName)), keyValue.toUpperCase());
     }
 
     private Predicate getEqualToPredicate(final Object transformedValue, final Path<Object> fieldPath) {
@@ -449,7 +451,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
             }
 
             final String sqlValue = toSQL((String) transformedValue);
-            return cb.like(cb.upper(pathOfString(fieldPath)), sqlValue, ESCAPE_CHAR);
+            return cb.like(caseInsensitive(pathOfString(fieldPath)), sqlValue, ESCAPE_CHAR);
         }
 
         return cb.equal(fieldPath, transformedValue);
@@ -494,7 +496,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
 
     private Predicate toNullOrNotLikePredicate(final Path<Object> fieldPath, final String sqlValue) {
         return cb.or(cb.isNull(pathOfString(fieldPath)),
-                cb.notLike(cb.upper(pathOfString(fieldPath)), sqlValue, ESCAPE_CHAR));
+                cb.notLike(caseInsensitive(pathOfString(fieldPath)), sqlValue, ESCAPE_CHAR));
     }
 
     private Predicate toNullOrNotEqualPredicate(final Path<Object> fieldPath, final Object transformedValue) {
@@ -508,7 +510,7 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
     private Predicate toNotEqualWithSubQueryPredicate(final A enumField, final String sqlValue,
             final String[] fieldNames) {
         final Function<Expression<String>, Predicate> likePredicateProvider = expressionToCompare -> cb
-                .like(cb.upper(expressionToCompare), sqlValue);
+                .like(caseInsensitive(expressionToCompare), sqlValue);
         return toNotExistsSubQueryPredicate(fieldNames, enumField, likePredicateProvider);
     }
 
@@ -584,6 +586,19 @@ public class JpaQueryRsqlVisitor<A extends Enum<A> & FieldNameProvider, T> exten
         return finalizedValue.toUpperCase();
     }
 
+    /**
+     * Upper-cases the expression to compare it with an upper-cased value.
+     * Databases which compare case insensitively anyway get the expression as
+     * it is, so an index on the column can be used.
+     *
+     * @param expression
+     *            to compare
+     * @return the expression to compare with an upper-cased value
+     */
+    private Expression<String> caseInsensitive(final Expression<String> expression) {
+        return caseInsensitiveDb ? expression : cb.upper(expression);
+    }
+
     @SuppressWarnings("unchecked")
     private static <Y> Path<Y> pathOfString(final Path<?> path) {
         return (Path<Y>) path;
@@ -69,6 +69,10 @@ import cz.jirutka.rsql.parser.ast.RSQLVisitor;
  * <em>lastControllerRequestAt=le=${OVERDUE_TS}</em><br>
  * It is possible to escape a macro expression by using a second '$':
  * $${OVERDUE_TS} would prevent the ${OVERDUE_TS} token from being expanded.
+ * <p>
+ * The parsed and validated RSQL strings are cached by the
+ * {@link RsqlNodeCache}, the predicates are built per query as the macros
+ * have to be resolved for every query.
  *
  */
 public final class RSQLUtility {
@@ -126,6 +130,16 @@ public final class RSQLUtility {
      */
     public static <A extends Enum<A> & FieldNameProvider> void validateRsqlFor(final String rsql,
             final Class<A> fieldNameProvider) {
+        final RsqlNodeCache nodeCache = RsqlConfigHolder.getInstance().getNodeCache();
+        if (nodeCache == null || rsql == null) {
+            validate(rsql, fieldNameProvider);
+            return;
+        }
+        nodeCache.validate(rsql, fieldNameProvider, () -> validate(rsql, fieldNameProvider));
+    }
+
+    private static <A extends Enum<A> & FieldNameProvider> void validate(final String rsql,
+            final Class<A> fieldNameProvider) {
         final RSQLVisitor<Void, String> visitor = getValidationRsqlVisitor(fieldNameProvider);
         final Node rootNode = parseRsql(rsql);
         rootNode.accept(visitor);
@@ -137,6 +151,14 @@ public final class RSQLUtility {
     }
 
     private static Node parseRsql(final String rsql) {
+        final RsqlNodeCache nodeCache = RsqlConfigHolder.getInstance().getNodeCache();
+        if (nodeCache == null || rsql == null) {
+            return parse(rsql);
+        }
+        return nodeCache.getNode(rsql, RSQLUtility::parse);
+    }
+
+    private static Node parse(final String rsql) {
         try {
             LOGGER.debug("Parsing rsql string {}", rsql);
             final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.vendor.Database;
+
+/**
+ * Helper class providing static access to the RSQL related
+ * {@link RepositoryProperties} and the {@link RsqlNodeCache} for the
+ * {@link RSQLUtility} and the {@link JpaQueryRsqlVisitor}.
+ */
+public final class RsqlConfigHolder {
+
+    private static final RsqlConfigHolder SINGLETON = new RsqlConfigHolder();
+
+    @Autowired(required = false)
+    private RepositoryProperties repositoryProperties;
+
+    @Autowired(required = false)
+    private RsqlNodeCache rsqlNodeCache;
+
+    private RsqlConfigHolder() {
+
+    }
+
+    /**
+     * @return The holder singleton instance.
+     */
+    public static RsqlConfigHolder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * @param database
+     *            the filtered database
+     * @return <code>true</code> if
+     *         {@link RepositoryProperties#isRsqlCaseInsensitiveDb()} is set and
+     *         the given database compares the filtered columns case
+     *         insensitively, so the columns do not need to be upper-cased
+     */
+    public boolean isCaseInsensitiveDb(final Database database) {
+        return repositoryProperties != null && repositoryProperties.isRsqlCaseInsensitiveDb()
+                && isCaseInsensitive(database);
+    }
+
+    /**
+     * @param database
+     *            to check
+     * @return <code>true</code> if the database compares strings case
+     *         insensitively with its default collation
+     */
+    public static boolean isCaseInsensitive(final Database database) {
+        return database == Database.MYSQL || database == Database.SQL_SERVER;
+    }
+
+    /**
+     * @return the cache of parsed and validated RSQL strings or
+     *         <code>null</code> if not available
+     */
+    public RsqlNodeCache getNodeCache() {
+        return rsqlNodeCache;
+    }
+
+}
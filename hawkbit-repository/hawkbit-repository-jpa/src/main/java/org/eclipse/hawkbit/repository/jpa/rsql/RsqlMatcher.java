@@ -10,16 +10,24 @@ package org.eclipse.hawkbit.repository.jpa.rsql;
 
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.ast.Node;
-import cz.jirutka.rsql.parser.ast.RSQLVisitor;
 import org.eclipse.hawkbit.repository.jpa.TargetFieldData;
 
 public interface RsqlMatcher {
     static boolean matches(String rsql, TargetFieldData fieldData){
+        return compile(rsql).matches(fieldData);
+    }
 
-        Node rootNode = new RSQLParser().parse(rsql.toLowerCase());
+    /**
+     * Parses the given RSQL query once into a reusable {@link TargetFieldMatcher}.
+     *
+     * @param rsql
+     *            the RSQL query, matched case insensitive
+     * @return the compiled matcher
+     */
+    static TargetFieldMatcher compile(String rsql){
 
-        RSQLVisitor<Boolean, TargetFieldData> visitor = new RsqlVisitor();
+        Node rootNode = new RSQLParser().parse(rsql.toLowerCase());
 
-        return rootNode.accept(visitor, fieldData);
+        return rootNode.accept(new RsqlMatcherCompiler());
     }
 }
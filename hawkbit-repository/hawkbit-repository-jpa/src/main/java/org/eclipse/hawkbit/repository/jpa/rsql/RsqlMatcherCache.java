@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.TargetFilterQueryDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Tenant aware cache of compiled {@link TargetFieldMatcher}s for
+ * {@link TargetFilterQuery}s. Every filter query is parsed only once and the
+ * compiled matcher is reused for the in-memory auto assignment check until the
+ * filter query is created, updated or deleted.
+ */
+public class RsqlMatcherCache {
+    private static final String CACHE_NAME = "TargetFilterQueryMatcher";
+    private static final long DEFAULT_SIZE = 10_000;
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum size of the cache
+     */
+    public RsqlMatcherCache(final TenantAware tenantAware, final long size) {
+        this.tenantAware = tenantAware;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size);
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     */
+    public RsqlMatcherCache(final TenantAware tenantAware) {
+        this(tenantAware, DEFAULT_SIZE);
+    }
+
+    /**
+     * Returns the compiled matcher of the given filter query of the current
+     * tenant. The query is compiled and cached if not present yet.
+     *
+     * @param filterQuery
+     *            to get the matcher for
+     * @return the compiled matcher
+     */
+    public TargetFieldMatcher getMatcher(final TargetFilterQuery filterQuery) {
+        final Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            // no tenant in context, nothing to cache for
+            return RsqlMatcher.compile(filterQuery.getQuery());
+        }
+
+        final CachedMatcher cached = cache.get(filterQuery.getId(), CachedMatcher.class);
+
+        // the query check protects against stale entries in case the
+        // event of a modification is not yet received
+        if (cached != null && cached.getQuery().equals(filterQuery.getQuery())) {
+            return cached.getMatcher();
+        }
+
+        final CachedMatcher compiled = new CachedMatcher(filterQuery.getQuery(),
+                RsqlMatcher.compile(filterQuery.getQuery()));
+        cache.put(filterQuery.getId(), compiled);
+        return compiled.getMatcher();
+    }
+
+    @EventListener(classes = TargetFilterQueryCreatedEvent.class)
+    public void invalidateOnTargetFilterQueryCreated(final TargetFilterQueryCreatedEvent event) {
+        evict(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetFilterQueryUpdatedEvent.class)
+    public void invalidateOnTargetFilterQueryUpdated(final TargetFilterQueryUpdatedEvent event) {
+        evict(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetFilterQueryDeletedEvent.class)
+    public void invalidateOnTargetFilterQueryDeleted(final TargetFilterQueryDeletedEvent event) {
+        evict(event.getTenant(), event.getEntityId());
+    }
+
+    /**
+     * Evicts all caches for a given tenant.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        cacheManager.evictCaches(tenant);
+    }
+
+    private void evict(final String tenant, final Long filterQueryId) {
+        final Cache cache = tenantAware.runAsTenant(tenant, () -> cacheManager.getCache(CACHE_NAME));
+        if (cache != null) {
+            cache.evict(filterQueryId);
+        }
+    }
+
+    private static final class CachedMatcher {
+        private final String query;
+        private final TargetFieldMatcher matcher;
+
+        private CachedMatcher(final String query, final TargetFieldMatcher matcher) {
+            this.query = query;
+            this.matcher = matcher;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public TargetFieldMatcher getMatcher() {
+            return matcher;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.jpa.TargetFieldData;
+
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+
+/**
+ * {@link RSQLVisitor} which translates a parsed RSQL tree into an immutable
+ * {@link TargetFieldMatcher} tree. In contrast to {@link RsqlVisitor} the tree
+ * is walked only once, the resulting matcher can be evaluated any number of
+ * times.
+ */
+public class RsqlMatcherCompiler implements RSQLVisitor<TargetFieldMatcher, Void> {
+
+    @Override
+    public TargetFieldMatcher visit(final AndNode node, final Void param) {
+        return new AndMatcher(compileChildren(node));
+    }
+
+    @Override
+    public TargetFieldMatcher visit(final OrNode node, final Void param) {
+        return new OrMatcher(compileChildren(node));
+    }
+
+    @Override
+    public TargetFieldMatcher visit(final ComparisonNode node, final Void param) {
+        return ComparisonMatcher.of(node.getSelector(), node.getOperator().getSymbol(), node.getArguments());
+    }
+
+    private TargetFieldMatcher[] compileChildren(final LogicalNode node) {
+        final List<Node> children = node.getChildren();
+        final TargetFieldMatcher[] matchers = new TargetFieldMatcher[children.size()];
+        for (int i = 0; i < matchers.length; i++) {
+            matchers[i] = children.get(i).accept(this, null);
+        }
+        return matchers;
+    }
+
+    private static final class AndMatcher implements TargetFieldMatcher {
+        private final TargetFieldMatcher[] children;
+
+        private AndMatcher(final TargetFieldMatcher[] children) {
+            this.children = children;
+        }
+
+        @Override
+        public boolean matches(final TargetFieldData fieldData) {
+            for (final TargetFieldMatcher child : children) {
+                if (!child.matches(fieldData)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class OrMatcher implements TargetFieldMatcher {
+        private final TargetFieldMatcher[] children;
+
+        private OrMatcher(final TargetFieldMatcher[] children) {
+            this.children = children;
+        }
+
+        @Override
+        public boolean matches(final TargetFieldData fieldData) {
+            for (final TargetFieldMatcher child : children) {
+                if (child.matches(fieldData)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.eclipse.hawkbit.repository.FieldNameProvider;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import cz.jirutka.rsql.parser.ast.Node;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded cache of parsed RSQL strings and of the RSQL strings which are
+ * already validated for a {@link FieldNameProvider}, so the filters which are
+ * evaluated again and again, e.g. by the auto assignment or the rollouts, are
+ * parsed and validated only once. The parsed {@link Node}s are immutable and
+ * tenant independent, hence shared by all tenants. Only successfully parsed or
+ * validated strings are cached.
+ */
+public class RsqlNodeCache {
+    private static final String METRIC_NAME = "hawkbit.rsql.cache";
+
+    private final Cache<String, Node> nodes;
+    private final Cache<List<Object>, Boolean> validated;
+    private final Counter nodeHits;
+    private final Counter nodeMisses;
+    private final Counter validationHits;
+    private final Counter validationMisses;
+
+    /**
+     * @param meterRegistry
+     *            to register the hit and miss metrics
+     * @param size
+     *            the maximum number of cached RSQL strings
+     */
+    public RsqlNodeCache(final MeterRegistry meterRegistry, final long size) {
+        this.nodes = Caffeine.newBuilder().maximumSize(size).build();
+        this.validated = Caffeine.newBuilder().maximumSize(size).build();
+        this.nodeHits = counter(meterRegistry, "node", "hit");
+        this.nodeMisses = counter(meterRegistry, "node", "miss");
+        this.validationHits = counter(meterRegistry, "validation", "hit");
+        this.validationMisses = counter(meterRegistry, "validation", "miss");
+    }
+
+    /**
+     * Returns the cached node of the given RSQL string or parses it.
+     *
+     * @param rsql
+     *            to parse
+     * @param parser
+     *            to parse the RSQL string if not cached yet
+     * @return the root node of the RSQL string
+     */
+    public Node getNode(final String rsql, final Function<String, Node> parser) {
+        final Node cached = nodes.getIfPresent(rsql);
+        if (cached != null) {
+            nodeHits.increment();
+            return cached;
+        }
+
+        nodeMisses.increment();
+        final Node node = parser.apply(rsql);
+        nodes.put(rsql, node);
+        return node;
+    }
+
+    /**
+     * Validates the given RSQL string for the given field name provider if it
+     * is not validated yet.
+     *
+     * @param rsql
+     *            to validate
+     * @param fieldNameProvider
+     *            the RSQL string is validated for
+     * @param validation
+     *            validates the RSQL string, throws an exception if it is
+     *            invalid
+     */
+    public void validate(final String rsql, final Class<? extends FieldNameProvider> fieldNameProvider,
+            final Runnable validation) {
+        final List<Object> key = List.of(fieldNameProvider, rsql);
+        if (validated.getIfPresent(key) != null) {
+            validationHits.increment();
+            return;
+        }
+
+        validationMisses.increment();
+        validation.run();
+        validated.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * Removes all cached RSQL strings.
+     */
+    public void invalidateAll() {
+        nodes.invalidateAll();
+        validated.invalidateAll();
+    }
+
+    private static Counter counter(final MeterRegistry meterRegistry, final String cache, final String result) {
+        return Counter.builder(METRIC_NAME).tag("cache", cache).tag("result", result).register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import org.eclipse.hawkbit.repository.jpa.TargetFieldData;
+
+/**
+ * Compiled, immutable representation of an RSQL target filter which is
+ * evaluated in memory against the {@link TargetFieldData} of a single target.
+ * Instances are thread-safe and are meant to be created once per filter (see
+ * {@link RsqlMatcher#compile(String)}) and reused for every evaluation.
+ */
+@FunctionalInterface
+public interface TargetFieldMatcher {
+
+    /**
+     * @param fieldData
+     *            the extracted fields of the target to check
+     * @return <code>true</code> if the target fields match the filter
+     */
+    boolean matches(TargetFieldData fieldData);
+}
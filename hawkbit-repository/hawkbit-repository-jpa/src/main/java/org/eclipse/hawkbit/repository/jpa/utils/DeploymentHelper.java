@@ -120,6 +120,23 @@ public final class DeploymentHelper {
         return new TransactionTemplate(txManager, def).execute(action);
     }
 
+    /**
+     * Executes the action with the current transaction, if any, suspended.
+     *
+     * @param txManager
+     *            transaction manager interface
+     * @param action
+     *            the callback to execute without transaction
+     *
+     * @return the result of the action
+     */
+    public static <T> T runWithoutTransaction(@NotNull final PlatformTransactionManager txManager,
+            @NotNull final TransactionCallback<T> action) {
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        return new TransactionTemplate(txManager, def).execute(action);
+    }
+
     /**
      * Runs the given handler in a non-system user context. Switches to the user
      * which is provided by the given callback.
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Utility class for native IN statements. The number of parameters is padded
+ * to a few fixed sizes, so that only a few distinct statements are prepared
+ * and cached by the driver.
+ */
+public final class InStatementHelper {
+
+    /**
+     * Fixed parameter counts of the native IN statements.
+     */
+    private static final int[] IN_STATEMENT_SIZES = { 1, 10, 100, Constants.MAX_ENTRIES_IN_STATEMENT };
+
+    private InStatementHelper() {
+        // utility class
+    }
+
+    /**
+     * Maps the given values to parameter names. The last value is repeated
+     * to fill up the parameters to the next fixed size.
+     *
+     * @param prefix
+     *            of the parameter names
+     * @param values
+     *            up to {@link Constants#MAX_ENTRIES_IN_STATEMENT} values
+     * @return the values by parameter name in the order of the given values
+     */
+    public static <T> Map<String, T> padParameters(final String prefix, final List<T> values) {
+        final int statementSize = getStatementSize(values.size());
+        final Map<String, T> parameters = Maps.newLinkedHashMapWithExpectedSize(statementSize);
+
+        for (int i = 0; i < statementSize; i++) {
+            parameters.put(prefix + i, values.get(Math.min(i, values.size() - 1)));
+        }
+
+        return parameters;
+    }
+
+    /**
+     * @param parameters
+     *            created by {@link #padParameters(String, List)}
+     * @return the content of the IN clause for the given parameters
+     */
+    public static String formatParameters(final Map<String, ?> parameters) {
+        return "#" + String.join(",#", parameters.keySet());
+    }
+
+    private static int getStatementSize(final int entries) {
+        for (final int statementSize : IN_STATEMENT_SIZES) {
+            if (entries <= statementSize) {
+                return statementSize;
+            }
+        }
+        return entries;
+    }
+}
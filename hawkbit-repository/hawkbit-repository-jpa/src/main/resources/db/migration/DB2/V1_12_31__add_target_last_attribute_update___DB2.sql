@@ -0,0 +1,2 @@
+ALTER TABLE sp_target
+    ADD COLUMN last_attribute_update BIGINT;
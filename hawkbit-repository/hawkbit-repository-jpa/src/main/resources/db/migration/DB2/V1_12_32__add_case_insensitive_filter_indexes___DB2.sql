@@ -0,0 +1,4 @@
+CREATE INDEX sp_idx_target_06 ON sp_target (tenant, UPPER(controller_id));
+CREATE INDEX sp_idx_target_07 ON sp_target (tenant, UPPER(name));
+CREATE INDEX sp_idx_target_attributes_01 ON sp_target_attributes (UPPER(attribute_key), UPPER(attribute_value));
+CREATE INDEX sp_idx_target_tag_02 ON sp_target_tag (tenant, UPPER(name));
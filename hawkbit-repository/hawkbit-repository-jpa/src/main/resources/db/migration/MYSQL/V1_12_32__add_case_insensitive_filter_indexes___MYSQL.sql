@@ -0,0 +1 @@
+CREATE INDEX sp_idx_target_attributes_01 ON sp_target_attributes (attribute_key, attribute_value);
@@ -0,0 +1,15 @@
+CREATE INDEX sp_idx_target_06
+ON sp_target
+USING BTREE (tenant, UPPER(controller_id) text_pattern_ops);
+
+CREATE INDEX sp_idx_target_07
+ON sp_target
+USING BTREE (tenant, UPPER(name) text_pattern_ops);
+
+CREATE INDEX sp_idx_target_attributes_01
+ON sp_target_attributes
+USING BTREE (UPPER(attribute_key) text_pattern_ops, UPPER(attribute_value) text_pattern_ops);
+
+CREATE INDEX sp_idx_target_tag_02
+ON sp_target_tag
+USING BTREE (tenant, UPPER(name) text_pattern_ops);
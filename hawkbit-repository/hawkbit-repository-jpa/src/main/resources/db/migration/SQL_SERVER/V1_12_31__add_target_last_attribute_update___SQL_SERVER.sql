@@ -0,0 +1,2 @@
+ALTER TABLE sp_target
+    ADD last_attribute_update NUMERIC(19) NULL;
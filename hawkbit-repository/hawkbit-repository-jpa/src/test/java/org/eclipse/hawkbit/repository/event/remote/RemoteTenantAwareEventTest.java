@@ -81,6 +81,23 @@ public class RemoteTenantAwareEventTest extends AbstractRemoteEventTest {
         assertThat(remoteCancelEventJackson.getControllerIds()).containsExactlyElementsOf(controllerIds);
     }
 
+    @Test
+    @Description("Verifies that a MultiTargetPollEvent can be properly serialized and deserialized")
+    public void testMultiTargetPollEvent() {
+        final List<String> controllerIds = Arrays.asList("id0", "id1", "id2");
+
+        final MultiTargetPollEvent pollEvent = new MultiTargetPollEvent(TENANT_DEFAULT, APPLICATION_ID_DEFAULT,
+                controllerIds);
+
+        final MultiTargetPollEvent remotePollEventProtoStuff = createProtoStuffEvent(pollEvent);
+        assertThat(pollEvent).isEqualTo(remotePollEventProtoStuff);
+        assertThat(remotePollEventProtoStuff.getControllerIds()).containsExactlyElementsOf(controllerIds);
+
+        final MultiTargetPollEvent remotePollEventJackson = createJacksonEvent(pollEvent);
+        assertThat(pollEvent).isEqualTo(remotePollEventJackson);
+        assertThat(remotePollEventJackson.getControllerIds()).containsExactlyElementsOf(controllerIds);
+    }
+
     @Test
     @Description("Verifies that a DownloadProgressEvent can be properly serialized and deserialized")
     public void reloadDownloadProgessByRemoteEvent() {
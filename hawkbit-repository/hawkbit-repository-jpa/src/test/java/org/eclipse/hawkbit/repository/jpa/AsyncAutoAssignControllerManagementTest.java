@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.hawkbit.repository.model.Action.ActionType.FORCED;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.UpdateMode;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignLocks;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Controller Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.autoAssignAsync=true",
+        "hawkbit.server.repository.autoAssignFlushTime=100" })
+public class AsyncAutoAssignControllerManagementTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private AutoAssignLocks autoAssignLocks;
+
+    @Test
+    @Description("Verifies that the auto assignment check of updated targets is executed asynchronously in a batch.")
+    public void autoAssignCheckIsExecutedAsynchronously() {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("AsyncSet");
+        testdataFactory.createTarget("async1");
+        testdataFactory.createTarget("async2");
+        testdataFactory.createTarget("async3");
+        targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create().name("async")
+                .query("attribute.device_type==async_type").autoAssignDistributionSet(distributionSet)
+                .autoAssignActionType(FORCED));
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        try {
+            controllerManagement.updateControllerAttributes("async1",
+                    Collections.singletonMap("device_type", "async_type"), UpdateMode.MERGE);
+            controllerManagement.updateControllerAttributes("async2",
+                    Collections.singletonMap("device_type", "async_type"), UpdateMode.MERGE);
+            controllerManagement.updateControllerAttributes("async3",
+                    Collections.singletonMap("device_type", "other_type"), UpdateMode.MERGE);
+
+            Awaitility.await().pollInSameThread().atMost(Duration.ofSeconds(10))
+                    .until(() -> targetManagement.countByAssignedDistributionSet(distributionSet.getId()) == 2);
+
+            assertThat(targetManagement.getByControllerID("async3").get().getAssignedDistributionSet()).isNull();
+            assertThat(meterRegistry.get("hawkbit.autoassign.queue.lag").timer().count()).isEqualTo(3);
+            assertThat(meterRegistry.get("hawkbit.autoassign.queue.depth").gauge().value()).isZero();
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+
+    @Test
+    @Description("Verifies that a check of a target with a busy lock stripe waits for the next run of the workers "
+            + "instead of being drained again at once.")
+    public void contendedAutoAssignCheckWaitsForNextRun() throws Exception {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("AsyncSet");
+        testdataFactory.createTarget("async1");
+        targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create().name("async")
+                .query("attribute.device_type==async_type").autoAssignDistributionSet(distributionSet)
+                .autoAssignActionType(FORCED));
+
+        final Lock busyLock = autoAssignLocks.obtain("async1");
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService lockHolder = Executors.newSingleThreadExecutor();
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        try {
+            lockHolder.submit(() -> {
+                busyLock.lock();
+                try {
+                    locked.countDown();
+                    release.await();
+                } finally {
+                    busyLock.unlock();
+                }
+                return null;
+            });
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            controllerManagement.updateControllerAttributes("async1",
+                    Collections.singletonMap("device_type", "async_type"), UpdateMode.MERGE);
+            TimeUnit.MILLISECONDS.sleep(1000);
+            release.countDown();
+
+            Awaitility.await().pollInSameThread().atMost(Duration.ofSeconds(10))
+                    .until(() -> targetManagement.countByAssignedDistributionSet(distributionSet.getId()) == 1);
+
+            // at most one attempt per worker and run of 100 ms
+            assertThat(meterRegistry.get("hawkbit.autoassign.lock.contended").counter().count()).isLessThan(50);
+            assertThat(meterRegistry.get("hawkbit.autoassign.queue.lag").timer().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            lockHolder.shutdown();
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+}
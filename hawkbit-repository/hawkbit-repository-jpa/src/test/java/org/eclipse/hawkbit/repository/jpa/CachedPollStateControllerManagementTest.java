@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetPollState;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.test.matcher.Expect;
+import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Controller Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.eagerPollPersistence=false",
+        "hawkbit.server.repository.pollPersistenceFlushTime=500",
+        "hawkbit.server.repository.pollStateCache=true" })
+public class CachedPollStateControllerManagementTest extends AbstractJpaIntegrationTest {
+
+    private static final URI LOCALHOST_V6 = URI.create("http://[::1]");
+
+    @Autowired
+    private TargetPollStateCache pollStateCache;
+
+    @Test
+    @Description("Verfies that the poll state of a target without active action is cached and evicted "
+            + "as soon as an action is assigned.")
+    public void pollStateIsCachedUntilActionIsAssigned() {
+        final TargetPollState registered = controllerManagement.pollTarget("AA", LOCALHOST);
+        assertThat(registered.getActiveActionId()).isNull();
+        assertThat(registered.getInstalledActionId()).isNull();
+        assertThat(controllerManagement.pollTarget("AA", LOCALHOST)).isSameAs(registered);
+
+        final Long actionId = getFirstAssignedActionId(
+                assignDistributionSet(testdataFactory.createDistributionSet().getId(), "AA"));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).pollInSameThread()
+                .until(() -> actionId.equals(controllerManagement.pollTarget("AA", LOCALHOST).getActiveActionId()));
+        assertThat(controllerManagement.pollTarget("AA", LOCALHOST)).isNotSameAs(registered);
+    }
+
+    @Test
+    @Description("Verfies that a poll which is answered from the cache is still recorded.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetPollEvent.class, count = 2) })
+    public void cachedPollIsRecorded() throws InterruptedException {
+        final TargetPollState registered = controllerManagement.pollTarget("AA", LOCALHOST);
+        final Target target = targetManagement.getByControllerID("AA").get();
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        assertThat(controllerManagement.pollTarget("AA", LOCALHOST)).isSameAs(registered);
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).pollInSameThread()
+                .until(() -> targetManagement.getByControllerID("AA").get().getLastTargetQuery() > target
+                        .getLastTargetQuery());
+    }
+
+    @Test
+    @Description("Verfies that the poll state is not taken from the cache if the target polls from another address.")
+    public void pollStateIsNotCachedForChangedAddress() {
+        final TargetPollState registered = controllerManagement.pollTarget("AA", LOCALHOST);
+
+        final TargetPollState moved = controllerManagement.pollTarget("AA", LOCALHOST_V6);
+        assertThat(moved).isNotSameAs(registered);
+        assertThat(moved.getAddress()).isEqualTo(LOCALHOST_V6);
+    }
+
+    @Test
+    @Description("Verfies that the poll state reflects the low poll tag of the target.")
+    public void pollStateReflectsLowPollTag() {
+        assertThat(controllerManagement.pollTarget("AA", LOCALHOST).isLowPoll()).isFalse();
+
+        final TargetTag lowPoll = targetTagManagement
+                .create(entityFactory.tag().create().name(TargetPollState.LOW_POLL_TAG));
+        targetManagement.assignTag(Collections.singletonList("AA"), lowPoll.getId());
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).pollInSameThread()
+                .until(() -> controllerManagement.pollTarget("AA", LOCALHOST).isLowPoll());
+    }
+
+    @Test
+    @Description("Verfies that a poll state which has been loaded before a concurrent eviction is not cached.")
+    public void pollStateLoadedBeforeEvictionIsNotCached() {
+        final TargetPollState registered = controllerManagement.pollTarget("AA", LOCALHOST);
+        final long generation = pollStateCache.getGeneration();
+
+        targetManagement.update(entityFactory.target().update("AA").description("changed"));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).pollInSameThread()
+                .until(() -> pollStateCache.getGeneration() > generation);
+
+        pollStateCache.put(registered, generation);
+        assertThat(pollStateCache.get("AA")).isNull();
+    }
+}
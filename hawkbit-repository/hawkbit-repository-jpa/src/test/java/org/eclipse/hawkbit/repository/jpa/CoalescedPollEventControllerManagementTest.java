@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.MultiTargetPollEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.test.matcher.Expect;
+import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Controller Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.eagerPollPersistence=false",
+        "hawkbit.server.repository.pollPersistenceFlushTime=1000",
+        "hawkbit.server.repository.coalescePollEvents=true" })
+public class CoalescedPollEventControllerManagementTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Test
+    @Description("Verfies that the queued polls of several targets are persisted and published as one event. "
+            + "Only the registration polls are published per target.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 2),
+            @Expect(type = MultiTargetPollEvent.class, count = 1), @Expect(type = TargetPollEvent.class, count = 2) })
+    public void queuedPollsArePublishedAsOneEvent() throws InterruptedException {
+        final Target first = controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
+        final Target second = controllerManagement.findOrRegisterTargetIfItDoesNotExist("BB", LOCALHOST);
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist("BB", LOCALHOST);
+        TimeUnit.MILLISECONDS.sleep(repositoryProperties.getPollPersistenceFlushTime() + 100);
+
+        assertThat(targetManagement.get(first.getId()).get().getLastTargetQuery())
+                .isGreaterThan(first.getLastTargetQuery());
+        assertThat(targetManagement.get(second.getId()).get().getLastTargetQuery())
+                .isGreaterThan(second.getLastTargetQuery());
+    }
+}
@@ -30,6 +30,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -53,6 +58,7 @@ import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.InvalidTargetAttributeException;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignLocks;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.model.*;
@@ -69,6 +75,8 @@ import org.springframework.dao.ConcurrencyFailureException;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Step;
@@ -81,6 +89,9 @@ class ControllerManagementTest extends AbstractJpaIntegrationTest {
     @Autowired
     private RepositoryProperties repositoryProperties;
 
+    @Autowired
+    private AutoAssignLocks autoAssignLocks;
+
     @Test
     @Description("Verifies that management get access react as specified on calls for non existing entities by means "
             + "of Optional not present.")
@@ -893,6 +904,56 @@ class ControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(entriesInCommon).as("Controller Attributes are wrong").isEqualTo(testData);
     }
 
+    @Test
+    @Description("Verifies that a busy auto assignment lock stripe only forces the targets of that stripe to "
+            + "send their attributes again.")
+    void busyAutoAssignLockStripeOnlyAffectsTargetsOfStripe() throws Exception {
+        final String busyControllerId = "busyTarget";
+        final Lock busyLock = autoAssignLocks.obtain(busyControllerId);
+        final String otherControllerId = IntStream.range(0, 1000).mapToObj(i -> "otherTarget" + i)
+                .filter(id -> autoAssignLocks.obtain(id) != busyLock).findFirst().get();
+        testdataFactory.createTarget(busyControllerId);
+        testdataFactory.createTarget(otherControllerId);
+        targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create().name("noMatch")
+                .query("name==noMatch").autoAssignDistributionSet(testdataFactory.createDistributionSet())
+                .autoAssignActionType(FORCED));
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        final ExecutorService lockHolder = Executors.newSingleThreadExecutor();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            lockHolder.submit(() -> {
+                busyLock.lock();
+                try {
+                    locked.countDown();
+                    release.await();
+                } finally {
+                    busyLock.unlock();
+                }
+                return null;
+            });
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            controllerManagement.updateControllerAttributes(busyControllerId, Collections.singletonMap("a", "1"),
+                    UpdateMode.MERGE);
+            controllerManagement.updateControllerAttributes(otherControllerId, Collections.singletonMap("a", "1"),
+                    UpdateMode.MERGE);
+
+            assertThat(targetManagement.getByControllerID(busyControllerId).get().isRequestControllerAttributes())
+                    .isTrue();
+            assertThat(targetManagement.getByControllerID(otherControllerId).get().isRequestControllerAttributes())
+                    .isFalse();
+            assertThat(meterRegistry.get("hawkbit.autoassign.lock.contended").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("hawkbit.autoassign.attributes.requested").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            lockHolder.shutdown();
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+
     @Test
     @Description("Ensures that target attributes can be updated using different update modes.")
     @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
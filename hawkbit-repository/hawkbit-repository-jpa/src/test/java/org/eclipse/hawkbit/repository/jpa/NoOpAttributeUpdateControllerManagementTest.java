@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.test.matcher.Expect;
+import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Controller Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.eagerPollPersistence=false",
+        "hawkbit.server.repository.pollPersistenceFlushTime=500",
+        "hawkbit.server.repository.attributeNoOpDetection=true" })
+public class NoOpAttributeUpdateControllerManagementTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Test
+    @Description("Verifies that an unchanged attribute report does not update the target but only its report time.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetPollEvent.class, count = 1), @Expect(type = TargetUpdatedEvent.class, count = 1) })
+    public void unchangedAttributesAreNotWritten() throws InterruptedException {
+        final Target created = controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
+        final Map<String, String> attributes = Collections.singletonMap("a", "1");
+
+        controllerManagement.updateControllerAttributes(created.getControllerId(), attributes, null);
+        final JpaTarget changed = (JpaTarget) targetRepository.findByControllerId("AA").get();
+        assertThat(changed.getLastAttributeUpdate()).isNotNull();
+        assertThat(changed.isRequestControllerAttributes()).isFalse();
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        controllerManagement.updateControllerAttributes(created.getControllerId(), attributes, null);
+        TimeUnit.MILLISECONDS.sleep(repositoryProperties.getPollPersistenceFlushTime() + 100);
+
+        final JpaTarget unchanged = (JpaTarget) targetRepository.findByControllerId("AA").get();
+        assertThat(unchanged.getOptLockRevision()).isEqualTo(changed.getOptLockRevision());
+        assertThat(unchanged.getLastAttributeUpdate()).isGreaterThan(changed.getLastAttributeUpdate());
+        assertThat(targetManagement.getControllerAttributes("AA")).containsEntry("a", "1")
+                .containsEntry(JpaTarget.LAST_UPDATE_ATTRIBUTE,
+                        JpaTarget.formatLastUpdate(unchanged.getLastAttributeUpdate()));
+    }
+
+    @Test
+    @Description("Verifies that a stale report time column does not hide a newer last update attribute.")
+    public void staleReportTimeDoesNotOverrideNewerAttribute() {
+        final Target created = controllerManagement.findOrRegisterTargetIfItDoesNotExist("BB", LOCALHOST);
+        controllerManagement.updateControllerAttributes(created.getControllerId(), Collections.singletonMap("a", "1"),
+                null);
+        final String lastUpdate = targetManagement.getControllerAttributes("BB").get(JpaTarget.LAST_UPDATE_ATTRIBUTE);
+
+        // e.g. written before the detection was disabled
+        final JpaTarget target = (JpaTarget) targetRepository.findByControllerId("BB").get();
+        target.setLastAttributeUpdate(0L);
+        targetRepository.save(target);
+
+        assertThat(targetManagement.getControllerAttributes("BB")).containsEntry(JpaTarget.LAST_UPDATE_ATTRIBUTE,
+                lastUpdate);
+    }
+}
@@ -13,6 +13,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.time.Duration;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -1735,6 +1736,32 @@ class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Verify that the 'max actions per target' quota is enforced when the scheduled actions of a rollout "
+            + "are created and that no action is created for any target of the group then.")
+    void startRolloutFailsIfMaxActionsPerTargetQuotaIsViolated() {
+        final String rolloutName = "rolloutQuotaActions";
+        final List<Target> targets = testdataFactory.createTargets(3, rolloutName);
+        final DistributionSet ds1 = testdataFactory.createDistributionSet("ds1For" + rolloutName);
+        final DistributionSet ds2 = testdataFactory.createDistributionSet("ds2For" + rolloutName);
+
+        // the first target reaches the quota, each assignment creates an
+        // action
+        for (int i = 0; i < quotaManagement.getMaxActionsPerTarget(); i++) {
+            deploymentManagement.offlineAssignedDistributionSets(Collections.singletonList(
+                    new SimpleEntry<>(targets.get(0).getControllerId(), (i % 2 == 0 ? ds1 : ds2).getId())));
+        }
+
+        final Rollout rollout = testdataFactory.createRolloutByVariables(rolloutName, rolloutName, 1,
+                "controllerId==" + rolloutName + "*", ds1, "50", "80");
+        rolloutManagement.start(rollout.getId());
+
+        assertThatExceptionOfType(AssignmentQuotaExceededException.class)
+                .isThrownBy(() -> rolloutHandler.handleAll());
+        assertThat(actionRepository.findByRolloutIdAndStatus(PAGE, rollout.getId(), Status.SCHEDULED)
+                .getNumberOfElements()).isZero();
+    }
+
     @Test
     @Description("Verify rollout creation fails if the 'max rollout groups per rollout' quota is violated.")
     void createRolloutWithIllegalAmountOfGroups() {
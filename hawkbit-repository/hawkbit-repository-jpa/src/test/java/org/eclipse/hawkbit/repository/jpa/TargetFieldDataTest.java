@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 
 import java.net.URI;
 import java.util.Arrays;
+import java.util.Collections;
 
 import static org.eclipse.hawkbit.repository.TargetFields.ASSIGNEDDS;
 import static org.eclipse.hawkbit.repository.TargetFields.ATTRIBUTE;
@@ -31,6 +32,7 @@ import static org.eclipse.hawkbit.repository.TargetFields.TAG;
 import static org.eclipse.hawkbit.repository.TargetFields.UPDATESTATUS;
 import static org.eclipse.hawkbit.repository.model.TargetUpdateStatus.PENDING;
 import static org.eclipse.hawkbit.repository.model.TargetUpdateStatus.UNKNOWN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
@@ -149,4 +151,17 @@ public class TargetFieldDataTest {
 //        assertFalse(fieldData.request(LASTCONTROLLERREQUESTAT.name(), GREATER, "${overdue_ts}"));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void selectorLookupIsCaseInsensitive() {
+        TargetFieldData data = new TargetFieldData(4);
+        data.add(ATTRIBUTE, "Device_Type", "Dev_Test");
+        data.add(TAG, "Alpha");
+        data.add(TAG, "beta");
+        data.add(TAG, "ALPHA");
+
+        assertEquals(Collections.singletonList("dev_test"), data.getValues("attribute.device_type"));
+        assertEquals(Collections.singletonList("dev_test"), data.getValues("ATTRIBUTE.DEVICE_TYPE"));
+        assertEquals(Arrays.asList("alpha", "beta"), data.getValues("tag"));
+        assertTrue(data.getValues("attribute.unknown").isEmpty());
+    }
+}
@@ -20,6 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.eclipse.hawkbit.repository.TargetFields.*;
 import static org.eclipse.hawkbit.repository.model.TargetUpdateStatus.IN_SYNC;
@@ -122,4 +125,38 @@ public class TargetFieldExtractorTest extends AbstractJpaIntegrationTest {
         assertTrue(fieldData.hasEntry(LASTCONTROLLERREQUESTAT.name(),  Long.toString(testTarget.getLastTargetQuery())));
         assertTrue(fieldData.hasEntry(TARGETTYPE.name() + ".name", testTarget.getTargetType().getName()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void extractFetchJoinedFieldsConcurrently() throws Exception {
+        final Target testTarget = targetRepository.findWithFieldDataByControllerId(targetId)
+                .orElseThrow(EntityNotFoundException::new);
+        final Target testTarget2 = targetRepository.findWithFieldDataByControllerId(targetId2)
+                .orElseThrow(EntityNotFoundException::new);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<TargetFieldData>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final Target target = i % 2 == 0 ? testTarget : testTarget2;
+                results.add(executor.submit(() -> extractorService.extractData(target,
+                        target.getControllerAttributes(), target.getTargetType().getName())));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                final TargetFieldData fieldData = results.get(i).get();
+                if (i % 2 == 0) {
+                    assertTrue(fieldData.hasEntry(CONTROLLERID.name(), targetId));
+                    assertTrue(fieldData.hasEntry(TAG.name(), "alpha"));
+                    assertTrue(fieldData.hasEntry(METADATA.name() + ".metakey_2", "metavalue_2"));
+                    assertTrue(fieldData.hasEntry(ASSIGNEDDS.name() + ".name", "AssignedDs"));
+                } else {
+                    assertTrue(fieldData.hasEntry(CONTROLLERID.name(), targetId2));
+                    assertFalse(fieldData.hasEntry(TAG.name(), "alpha"));
+                    assertTrue(fieldData.hasEntry(INSTALLEDDS.name() + ".name", "InstalledDs"));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
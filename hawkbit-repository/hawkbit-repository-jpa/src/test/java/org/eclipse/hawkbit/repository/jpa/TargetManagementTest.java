@@ -61,6 +61,8 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.MetaData;
 import org.eclipse.hawkbit.repository.model.NamedEntity;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.eclipse.hawkbit.repository.model.Tag;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetMetadata;
@@ -1344,6 +1346,28 @@ class TargetManagementTest extends AbstractJpaIntegrationTest {
                 () -> targetManagement.isTargetMatchingQueryAndDSNotAssignedAndCompatible(target, 123, "name==*"));
     }
 
+    @Test
+    @Description("Verifies that the IDs of the targets which are not in the given rollout groups are found by ID "
+            + "range without loading the targets.")
+    void findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible() {
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        testdataFactory.createTargets(4, "inRollout");
+        final Rollout rollout = testdataFactory.createRolloutByVariables("rollout", "rollout", 2,
+                "controllerId==inRollout*", ds, "50", "80");
+        final List<Long> groups = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().stream()
+                .map(Identifiable::getId).collect(Collectors.toList());
+        assertThat(rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent())
+                .extracting(RolloutGroup::getTotalTargets).containsExactly(2, 2);
+
+        final List<Long> expected = testdataFactory.createTargets(5, "notInRollout").stream().map(Target::getId)
+                .sorted().collect(Collectors.toList());
+
+        assertThat(targetManagement.findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(0, 10, groups,
+                "name==*", ds.getType())).containsExactlyElementsOf(expected);
+        assertThat(targetManagement.findIdsByTargetFilterQueryAndNotInRolloutGroupsAndCompatible(expected.get(1), 2,
+                groups, "name==*", ds.getType())).containsExactly(expected.get(2), expected.get(3));
+    }
+
     private void validateFoundTargetsByRsql(final String rsqlFilter, final String... controllerIds) {
         final Slice<Target> foundTargetsByMetadataAndControllerId = targetManagement.findByRsql(PAGE, rsqlFilter);
         final long foundTargetsByMetadataAndControllerIdCount = targetManagement.countByRsql(rsqlFilter);
@@ -17,6 +17,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.*;
@@ -26,6 +27,8 @@ import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationPrope
  */
 @Feature("Component Tests - Repository")
 @Story("Action status cleanup handler")
+@TestPropertySource(properties = { "hawkbit.autoactionstatuscleanup.statusesPerDelete=2",
+        "hawkbit.autoactionstatuscleanup.targetsPerCleanup=2" })
 public class AutoActionStatusCleanupTest extends AbstractJpaIntegrationTest {
     @Autowired
     private AutoActionStatusCleanup autoActionStatusCleanup;
@@ -151,6 +154,37 @@ public class AutoActionStatusCleanupTest extends AbstractJpaIntegrationTest {
         assertThat(target.getIsCleanedUp()).isEqualTo(false);
     }
 
+    @Test
+    @Description("Verifies that the action statuses of several targets are cleaned up in several batches and that "
+            + "the targets are paged through by ID")
+    public void actionStatusesOfSeveralTargetsAreCleanedUpInBatches() {
+        setupCleanupConfiguration(true);
+
+        final DistributionSet ds = testdataFactory.createDistributionSet("ds");
+        final DistributionSet ds2 = testdataFactory.createDistributionSet("ds2");
+        for (final Target target : testdataFactory.createTargets(3, "target")) {
+            final Long action = getFirstAssignedActionId(assignDistributionSet(ds.getId(), target.getControllerId()));
+            for (int i = 0; i < 3; i++) {
+                controllerManagement.addUpdateActionStatus(
+                        entityFactory.actionStatus().create(action).status(Action.Status.RUNNING));
+            }
+            controllerManagement
+                    .addUpdateActionStatus(entityFactory.actionStatus().create(action).status(Action.Status.FINISHED));
+            getFirstAssignedActionId(assignDistributionSet(ds2.getId(), target.getControllerId()));
+        }
+
+        assertThat(actionRepository.count()).isEqualTo(6);
+        assertThat(actionStatusRepository.count()).isEqualTo(18);
+
+        autoActionStatusCleanup.run();
+
+        // Only the newest status of the previous action and the status of the
+        // latest action are kept for every target
+        assertThat(actionRepository.count()).isEqualTo(6);
+        assertThat(actionStatusRepository.count()).isEqualTo(6);
+        assertThat(targetRepository.findAll().stream().allMatch(Target::getIsCleanedUp)).isTrue();
+    }
+
     private void setupCleanupConfiguration(final boolean cleanupEnabled) {
         tenantConfigurationManagement.addOrUpdateConfiguration(ACTION_CLEANUP_ENABLED, cleanupEnabled);
     }
@@ -17,6 +17,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -60,6 +66,9 @@ class AutoAssignCheckerIntTest extends AbstractJpaIntegrationTest {
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private AutoAssignLocks autoAssignLocks;
+
     @Test
     @Description("Verifies that a running action is auto canceled by a AutoAssignment which assigns another distribution-set.")
     void autoAssignDistributionSetAndAutoCloseOldActions() {
@@ -104,6 +113,44 @@ class AutoAssignCheckerIntTest extends AbstractJpaIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the scheduled check waits for the lock stripe of a target which is checked "
+            + "concurrently before it assigns the target.")
+    void checkAllTargetsWaitsForBusyLockStripe() throws Exception {
+        final DistributionSet set = testdataFactory.createDistributionSet();
+        final Target target = testdataFactory.createTarget("busyTarget");
+        targetFilterQueryManagement.updateAutoAssignDS(entityFactory.targetFilterQuery()
+                .updateAutoAssign(targetFilterQueryManagement
+                        .create(entityFactory.targetFilterQuery().create().name("filterA").query("name==*")).getId())
+                .ds(set.getId()));
+
+        final Lock busyLock = autoAssignLocks.obtain(target.getControllerId());
+        final AtomicBoolean released = new AtomicBoolean();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final ExecutorService lockHolder = Executors.newSingleThreadExecutor();
+        try {
+            lockHolder.submit(() -> {
+                busyLock.lock();
+                try {
+                    locked.countDown();
+                    TimeUnit.MILLISECONDS.sleep(500);
+                    released.set(true);
+                } finally {
+                    busyLock.unlock();
+                }
+                return null;
+            });
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            autoAssignChecker.checkAllTargets();
+
+            assertThat(released).isTrue();
+            verifyThatTargetsHaveDistributionSetAssignment(set, Collections.singletonList(target), 1);
+        } finally {
+            lockHolder.shutdown();
+        }
+    }
+
     @Test
     @Description("Test auto assignment of a DS to filtered targets")
     void checkAutoAssign() {
@@ -36,6 +36,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.SliceImpl;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import io.qameta.allure.Description;
@@ -62,7 +63,7 @@ class AutoAssignCheckerTest {
     @BeforeEach
     void before() {
         sut = new AutoAssignChecker(targetFilterQueryManagement, targetManagement, deploymentManagement,
-                transactionManager, tenantAware);
+                transactionManager, tenantAware, new AutoAssignLocks(new DefaultLockRegistry(), tenantAware, 16));
     }
 
     @Test
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetFilterQueryDeletedEvent;
+import org.eclipse.hawkbit.repository.jpa.TargetFieldData;
+import org.eclipse.hawkbit.repository.jpa.TargetFilterQueryRepository;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignFilterCache.AutoAssignFilter;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTargetFilterQuery;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlMatcherCache;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.TenantAware.TenantRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Auto assign filter cache")
+public class AutoAssignFilterCacheTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private TargetFilterQueryRepository targetFilterQueryRepository;
+
+    private AutoAssignFilterCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final TenantAware tenantAware = mock(TenantAware.class);
+        when(tenantAware.getCurrentTenant()).thenReturn(TENANT);
+        when(tenantAware.runAsTenant(anyString(), any(TenantRunner.class)))
+                .thenAnswer(invocation -> ((TenantRunner<?>) invocation.getArgument(1)).run());
+        targetFilterQueryRepository = mock(TargetFilterQueryRepository.class);
+        cache = new AutoAssignFilterCache(tenantAware, targetFilterQueryRepository, new RsqlMatcherCache(tenantAware),
+                2);
+    }
+
+    @Test
+    @Description("Verifies that the filters of all pages are loaded once and kept in their order.")
+    public void filtersOfAllPagesAreLoadedOnce() {
+        final List<JpaTargetFilterQuery> firstPage = Arrays.asList(filterQuery(1L, "name == first"),
+                filterQuery(2L, "name == second"));
+        final List<JpaTargetFilterQuery> lastPage = Collections.singletonList(filterQuery(3L, "name == third"));
+        when(targetFilterQueryRepository.findAllWithoutCount(any(Specification.class), eq(page(0))))
+                .thenReturn(new SliceImpl<>(firstPage));
+        when(targetFilterQueryRepository.findAllWithoutCount(any(Specification.class), eq(page(1))))
+                .thenReturn(new SliceImpl<>(lastPage));
+
+        final List<AutoAssignFilter> filters = cache.getFilters();
+
+        assertThat(filters).extracting(AutoAssignFilter::getId).containsExactly(1L, 2L, 3L);
+        assertThat(filters.get(2).matches(fieldData("third"))).isTrue();
+        assertThat(filters.get(2).getDistributionSetId()).isEqualTo(3L);
+        assertThat(cache.getFilters()).isSameAs(filters);
+        verify(targetFilterQueryRepository, times(2)).findAllWithoutCount(any(Specification.class), any());
+    }
+
+    @Test
+    @Description("Verifies that the filters are reloaded after a filter query or distribution set deletion.")
+    public void filtersAreEvictedOnDeletion() {
+        final List<JpaTargetFilterQuery> filterQueries = Collections.singletonList(filterQuery(1L, "name == first"));
+        when(targetFilterQueryRepository.findAllWithoutCount(any(Specification.class), any()))
+                .thenReturn(new SliceImpl<>(filterQueries));
+
+        final List<AutoAssignFilter> filters = cache.getFilters();
+        cache.invalidateOnTargetFilterQueryDeleted(
+                new TargetFilterQueryDeletedEvent(TENANT, 1L, JpaTargetFilterQuery.class, "node"));
+        final List<AutoAssignFilter> reloaded = cache.getFilters();
+        cache.invalidateOnDistributionSetDeleted(
+                new DistributionSetDeletedEvent(TENANT, 1L, JpaDistributionSet.class, "node"));
+
+        assertThat(reloaded).isNotSameAs(filters);
+        assertThat(cache.getFilters()).isNotSameAs(reloaded);
+        verify(targetFilterQueryRepository, times(3)).findAllWithoutCount(any(Specification.class), any());
+    }
+
+    private static PageRequest page(final int page) {
+        return PageRequest.of(page, 2, Sort.by("id"));
+    }
+
+    private static JpaTargetFilterQuery filterQuery(final long id, final String rsql) {
+        final DistributionSet distributionSet = mock(DistributionSet.class);
+        when(distributionSet.getId()).thenReturn(id);
+        final JpaTargetFilterQuery query = mock(JpaTargetFilterQuery.class);
+        when(query.getId()).thenReturn(id);
+        when(query.getQuery()).thenReturn(rsql);
+        when(query.getAutoAssignDistributionSet()).thenReturn(distributionSet);
+        when(query.getAutoAssignWeight()).thenReturn(Optional.empty());
+        return query;
+    }
+
+    private static TargetFieldData fieldData(final String name) {
+        final TargetFieldData fieldData = new TargetFieldData();
+        fieldData.add(TargetFields.NAME, name);
+        return fieldData;
+    }
+}
@@ -20,6 +20,7 @@ import org.eclipse.hawkbit.repository.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
 
 import java.util.Collections;
 
@@ -31,6 +32,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @Feature("Component Tests - Repository")
 @Story("Rollout cleanup handler")
+@TestPropertySource(properties = "hawkbit.autorolloutcleanup.rowsPerDelete=3")
 public class AutoRolloutCleanupTest extends AbstractJpaIntegrationTest {
 
     @Autowired
@@ -76,4 +78,30 @@ public class AutoRolloutCleanupTest extends AbstractJpaIntegrationTest {
         assertThat(rolloutGroupManagement.countByRollout(rollout1.getId())).isEqualTo(0);
         assertThat(rolloutGroupManagement.countByRollout(rollout2.getId())).isEqualTo(quotaManagement.getMaxRolloutGroupsPerRollout());
     }
+
+    @Test
+    @Description("Verifies that the targets of the rollout groups and the scheduled actions of a deleted rollout are purged in chunks.")
+    public void rolloutGroupsTargetsAndScheduledActionsOfDeletedRolloutArePurged() {
+        testdataFactory.createTargets(10, "purge");
+        final DistributionSet ds = testdataFactory.createDistributionSet("purge");
+        final Rollout rollout = testdataFactory.createRolloutByVariables("purge", "purge", 2, "controllerId==purge*",
+                ds, "50", "5");
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+
+        assertThat(rolloutTargetGroupRepository.count()).isEqualTo(10);
+        assertThat(actionRepository.countByRolloutIdAndStatus(rollout.getId(), Action.Status.SCHEDULED)).isEqualTo(5);
+
+        final JpaRollout rolloutToDelete = rolloutRepository.findById(rollout.getId()).get();
+        rolloutToDelete.setDeleted(true);
+        rolloutRepository.save(rolloutToDelete);
+
+        autoRolloutCleanup.run();
+
+        assertThat(rolloutGroupRepository.count()).isZero();
+        assertThat(rolloutTargetGroupRepository.count()).isZero();
+        assertThat(actionRepository.countByRolloutIdAndStatus(rollout.getId(), Action.Status.SCHEDULED)).isZero();
+        assertThat(actionRepository.countByRolloutIdAndStatus(rollout.getId(), Action.Status.RUNNING)).isEqualTo(5);
+        assertThat(rolloutRepository.findById(rollout.getId()).get().getIsCleanedUp()).isTrue();
+    }
 }
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Entity Events")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.eventEntityBatching=true" })
+public class BatchingEventEntityManagerTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private EventEntityManager eventEntityManager;
+
+    @Test
+    @Description("Verifies that announced entities are loaded together with the first requested one.")
+    public void announcedEntitiesAreLoadedInBatch() {
+        final List<Target> targets = testdataFactory.createTargets(3, "batch");
+        final String tenant = tenantAware.getCurrentTenant();
+        targets.forEach(target -> eventEntityManager.announceEntity(tenant, target.getId(), JpaTarget.class));
+
+        assertThat(eventEntityManager.findEntity(tenant, targets.get(0).getId(), JpaTarget.class).getControllerId())
+                .isEqualTo(targets.get(0).getControllerId());
+
+        // the snapshot of the batch is handed out although the target changed
+        targetManagement.update(entityFactory.target().update(targets.get(1).getControllerId()).name("changed"));
+        assertThat(eventEntityManager.findEntity(tenant, targets.get(1).getId(), JpaTarget.class).getName())
+                .isEqualTo(targets.get(1).getName());
+
+        // the snapshot is only handed out once
+        assertThat(eventEntityManager.findEntity(tenant, targets.get(1).getId(), JpaTarget.class).getName())
+                .isEqualTo("changed");
+    }
+
+    @Test
+    @Description("Verifies that a snapshot is dropped if its entity is announced again.")
+    public void snapshotIsDroppedOnAnnouncement() {
+        final List<Target> targets = testdataFactory.createTargets(2, "batch");
+        final String tenant = tenantAware.getCurrentTenant();
+        targets.forEach(target -> eventEntityManager.announceEntity(tenant, target.getId(), JpaTarget.class));
+        eventEntityManager.findEntity(tenant, targets.get(0).getId(), JpaTarget.class);
+
+        targetManagement.update(entityFactory.target().update(targets.get(1).getControllerId()).name("changed"));
+        eventEntityManager.announceEntity(tenant, targets.get(1).getId(), JpaTarget.class);
+
+        assertThat(eventEntityManager.findEntity(tenant, targets.get(1).getId(), JpaTarget.class).getName())
+                .isEqualTo("changed");
+    }
+
+    @Test
+    @Description("Verifies that only the last announcements which fit into one statement are kept.")
+    public void oldestAnnouncementIsDropped() {
+        final List<Target> targets = testdataFactory.createTargets(2, "batch");
+        final String tenant = tenantAware.getCurrentTenant();
+        eventEntityManager.announceEntity(tenant, targets.get(0).getId(), JpaTarget.class);
+        for (long id = 1; id <= Constants.MAX_ENTRIES_IN_STATEMENT; id++) {
+            eventEntityManager.announceEntity(tenant, -id, JpaTarget.class);
+        }
+        eventEntityManager.findEntity(tenant, targets.get(1).getId(), JpaTarget.class);
+
+        // the dropped target has not been loaded with the batch
+        targetManagement.update(entityFactory.target().update(targets.get(0).getControllerId()).name("changed"));
+        assertThat(eventEntityManager.findEntity(tenant, targets.get(0).getId(), JpaTarget.class).getName())
+                .isEqualTo("changed");
+    }
+
+    @Test
+    @Description("Verifies that entities which are not announced are loaded one by one.")
+    public void unannouncedEntityIsLoaded() {
+        final Target target = testdataFactory.createTarget("single");
+
+        assertThat(eventEntityManager.findEntity(tenantAware.getCurrentTenant(), target.getId(), JpaTarget.class)
+                .getControllerId()).isEqualTo("single");
+        assertThat(eventEntityManager.findEntity(tenantAware.getCurrentTenant(), -1L, JpaTarget.class)).isNull();
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.security.SecurityContextTenantAware;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Tenant schedulers")
+public class ParallelTenantExecutorTest {
+
+    private static final String TASK = "task";
+    private static final List<String> TENANTS = List.of("TENANT1", "TENANT2", "TENANT3", "TENANT4");
+
+    private final TenantAware tenantAware = new SecurityContextTenantAware(
+            (tenant, username) -> Collections.emptyList());
+    private final Map<Object, Lock> locks = new ConcurrentHashMap<>();
+    private final LockRegistry lockRegistry = key -> locks.computeIfAbsent(key, k -> new ReentrantLock());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ParallelTenantExecutor underTest;
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+    }
+
+    @Test
+    @Description("Verifies that the task runs as tenant for all tenants in parallel and records the latency per task.")
+    public void tenantsAreHandledInParallel() {
+        underTest = new ParallelTenantExecutor(tenantAware, lockRegistry, meterRegistry, TENANTS.size(), 0);
+        final CyclicBarrier barrier = new CyclicBarrier(TENANTS.size());
+        final Set<String> handled = ConcurrentHashMap.newKeySet();
+
+        underTest.execute(TASK, TENANTS, tenant -> {
+            try {
+                // only passes if all tenants run at the same time
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+            handled.add(tenantAware.getCurrentTenant());
+        });
+
+        assertThat(handled).containsExactlyInAnyOrderElementsOf(TENANTS);
+        assertThat(meterRegistry.get("hawkbit.scheduler.tenant").tag("task", TASK).timer().count())
+                .isEqualTo(TENANTS.size());
+    }
+
+    @Test
+    @Description("Verifies that a failing tenant does not affect the other tenants.")
+    public void failingTenantDoesNotAffectOthers() {
+        underTest = new ParallelTenantExecutor(tenantAware, lockRegistry, meterRegistry, 1, 0);
+        final Set<String> handled = ConcurrentHashMap.newKeySet();
+
+        underTest.execute(TASK, TENANTS, tenant -> {
+            handled.add(tenant);
+            if ("TENANT1".equals(tenant)) {
+                throw new IllegalStateException("task failed");
+            }
+        });
+
+        assertThat(handled).containsExactlyInAnyOrderElementsOf(TENANTS);
+    }
+
+    @Test
+    @Description("Verifies that a tenant which is locked, e.g. by another node, is skipped.")
+    public void lockedTenantIsSkipped() throws InterruptedException {
+        underTest = new ParallelTenantExecutor(tenantAware, lockRegistry, meterRegistry, 2, 0);
+        final Set<String> handled = ConcurrentHashMap.newKeySet();
+
+        final Lock lock = lockRegistry.obtain(TASK + ".TENANT2");
+        lock.lock();
+        try {
+            underTest.execute(TASK, TENANTS, handled::add);
+        } finally {
+            lock.unlock();
+        }
+
+        assertThat(handled).containsExactlyInAnyOrder("TENANT1", "TENANT3", "TENANT4");
+    }
+
+    @Test
+    @Description("Verifies that a tenant which exceeds the time budget is not interrupted but asked to stop and that "
+            + "the tenant is skipped until it has stopped.")
+    public void slowTenantIsAskedToStop() {
+        underTest = new ParallelTenantExecutor(tenantAware, lockRegistry, meterRegistry, 2, 100);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean released = new AtomicBoolean();
+        final AtomicBoolean askedToStop = new AtomicBoolean();
+        final Set<String> handled = ConcurrentHashMap.newKeySet();
+
+        assertThat(ParallelTenantExecutor.isTimeBudgetExceeded()).isFalse();
+        underTest.execute(TASK, TENANTS, tenant -> {
+            if ("TENANT1".equals(tenant)) {
+                released.set(awaitQuietly(release));
+                askedToStop.set(ParallelTenantExecutor.isTimeBudgetExceeded());
+                return;
+            }
+            assertThat(ParallelTenantExecutor.isTimeBudgetExceeded()).isFalse();
+            handled.add(tenant);
+        });
+        assertThat(handled).containsExactlyInAnyOrder("TENANT2", "TENANT3", "TENANT4");
+        assertThat(meterRegistry.get("hawkbit.scheduler.tenant.exceeded").tag("task", TASK).counter().count())
+                .isEqualTo(1);
+
+        // still running
+        handled.clear();
+        underTest.execute(TASK, TENANTS, handled::add);
+        assertThat(handled).containsExactlyInAnyOrder("TENANT2", "TENANT3", "TENANT4");
+
+        release.countDown();
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> {
+            handled.clear();
+            underTest.execute(TASK, TENANTS, handled::add);
+            return handled.contains("TENANT1");
+        });
+        assertThat(released).isTrue();
+        assertThat(askedToStop).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that a tenant which does not start within the time budget is skipped.")
+    public void tenantWhichDoesNotStartIsSkipped() {
+        underTest = new ParallelTenantExecutor(tenantAware, lockRegistry, meterRegistry, 1, 100);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Set<String> handled = ConcurrentHashMap.newKeySet();
+
+        underTest.execute(TASK, List.of("TENANT1", "TENANT2"), tenant -> {
+            if ("TENANT1".equals(tenant)) {
+                awaitQuietly(release);
+            }
+            handled.add(tenant);
+        });
+        release.countDown();
+
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> handled.contains("TENANT1"));
+        underTest.execute(TASK, List.of("TENANT3"), handled::add);
+        assertThat(handled).containsExactlyInAnyOrder("TENANT1", "TENANT3");
+    }
+
+    @Test
+    @Description("Verifies that the striped locks of a default lock registry do not make tenants skip each other.")
+    public void tenantsDoNotShareStripedLocks() {
+        underTest = new ParallelTenantExecutor(tenantAware, new DefaultLockRegistry(0), meterRegistry,
+                TENANTS.size(), 0);
+        final CyclicBarrier barrier = new CyclicBarrier(TENANTS.size());
+        final AtomicBoolean allConcurrent = new AtomicBoolean(true);
+
+        underTest.execute(TASK, TENANTS, tenant -> {
+            try {
+                // only passes if no tenant is skipped
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (final Exception e) {
+                allConcurrent.set(false);
+            }
+        });
+
+        assertThat(allConcurrent).isTrue();
+    }
+
+    private static boolean awaitQuietly(final CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            return false;
+        }
+    }
+}
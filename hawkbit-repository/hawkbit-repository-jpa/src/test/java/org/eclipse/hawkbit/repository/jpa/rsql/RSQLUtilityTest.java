@@ -36,6 +36,7 @@ import javax.persistence.metamodel.Attribute;
 
 import org.eclipse.hawkbit.repository.DistributionSetFields;
 import org.eclipse.hawkbit.repository.FieldNameProvider;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.SoftwareModuleFields;
 import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
@@ -85,6 +86,9 @@ public class RSQLUtilityTest {
     @MockBean
     private RsqlVisitorFactory rsqlVisitorFactory;
 
+    @MockBean
+    private RepositoryProperties repositoryProperties;
+
     @Mock
     private Root<Object> baseSoftwareModuleRootMock;
 
@@ -119,6 +123,11 @@ public class RSQLUtilityTest {
         RsqlVisitorFactoryHolder rsqlVisitorFactoryHolder() {
             return RsqlVisitorFactoryHolder.getInstance();
         }
+
+        @Bean
+        RsqlConfigHolder rsqlConfigHolder() {
+            return RsqlConfigHolder.getInstance();
+        }
     }
 
     private static final TenantConfigurationValue<String> TEST_POLLING_TIME_INTERVAL = TenantConfigurationValue
@@ -306,6 +315,113 @@ public class RSQLUtilityTest {
                 eq("abc".toUpperCase()), eq('\\'));
     }
 
+    @Test
+    @Description("Verify that the columns are compared without upper case conversion if the database compares case insensitively.")
+    public void correctRsqlBuildsPredicateWithoutUpperForCaseInsensitiveDb() {
+        reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        when(repositoryProperties.isRsqlCaseInsensitiveDb()).thenReturn(true);
+        final String correctRsql = "name!=abc";
+        when(baseSoftwareModuleRootMock.get("name")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.getJavaType()).thenReturn((Class) SoftwareModule.class);
+
+        when(criteriaBuilderMock.isNull(any(Expression.class))).thenReturn(mock(Predicate.class));
+        when(criteriaBuilderMock.notLike(any(Expression.class), anyString(), eq('\\')))
+                .thenReturn(mock(Predicate.class));
+
+        // test
+        RSQLUtility.buildRsqlSpecification(correctRsql, SoftwareModuleFields.class, null, Database.MYSQL)
+                .toPredicate(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+
+        // verification
+        verify(criteriaBuilderMock, never()).upper(any(Expression.class));
+        verify(criteriaBuilderMock, times(1)).notLike(eq(pathOfString(baseSoftwareModuleRootMock)),
+                eq("abc".toUpperCase()), eq('\\'));
+    }
+
+    @Test
+    @Description("Verify that the equal comparison does not upper case the column if the database compares case insensitively.")
+    public void correctRsqlBuildsEqualPredicateWithoutUpperForCaseInsensitiveDb() {
+        reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        when(repositoryProperties.isRsqlCaseInsensitiveDb()).thenReturn(true);
+        final String correctRsql = "name==abc";
+        when(baseSoftwareModuleRootMock.get("name")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.getJavaType()).thenReturn((Class) SoftwareModule.class);
+        when(criteriaBuilderMock.like(any(Expression.class), anyString(), eq('\\'))).thenReturn(mock(Predicate.class));
+
+        // test
+        RSQLUtility.buildRsqlSpecification(correctRsql, SoftwareModuleFields.class, null, Database.MYSQL)
+                .toPredicate(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+
+        // verification
+        verify(criteriaBuilderMock, never()).upper(any(Expression.class));
+        verify(criteriaBuilderMock, times(1)).like(eq(pathOfString(baseSoftwareModuleRootMock)),
+                eq("abc".toUpperCase()), eq('\\'));
+    }
+
+    @Test
+    @Description("Verify that the in comparison does not upper case the column if the database compares case insensitively.")
+    public void correctRsqlBuildsInPredicateWithoutUpperForCaseInsensitiveDb() {
+        reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        when(repositoryProperties.isRsqlCaseInsensitiveDb()).thenReturn(true);
+        final String correctRsql = "name=in=(abc,def)";
+        when(baseSoftwareModuleRootMock.get("name")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.getJavaType()).thenReturn((Class) SoftwareModule.class);
+
+        // test
+        RSQLUtility.buildRsqlSpecification(correctRsql, SoftwareModuleFields.class, null, Database.SQL_SERVER)
+                .toPredicate(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+
+        // verification
+        verify(criteriaBuilderMock, never()).upper(any(Expression.class));
+        verify(baseSoftwareModuleRootMock, times(1)).in(Arrays.asList("ABC", "DEF"));
+    }
+
+    @Test
+    @Description("Verify that the map key comparison does not upper case the key column if the database compares case insensitively.")
+    public void correctRsqlBuildsMapKeyPredicateWithoutUpperForCaseInsensitiveDb() {
+        reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        when(repositoryProperties.isRsqlCaseInsensitiveDb()).thenReturn(true);
+        final String correctRsql = "metadata.mykey==abc";
+        when(baseSoftwareModuleRootMock.get("metadata")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.get("key")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.get("value")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.getJavaType()).thenReturn((Class) SoftwareModule.class);
+        when(criteriaBuilderMock.equal(any(Expression.class), anyString())).thenReturn(mock(Predicate.class));
+        when(criteriaBuilderMock.like(any(Expression.class), anyString(), eq('\\'))).thenReturn(mock(Predicate.class));
+
+        // test
+        RSQLUtility.buildRsqlSpecification(correctRsql, SoftwareModuleFields.class, null, Database.MYSQL)
+                .toPredicate(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+
+        // verification
+        verify(criteriaBuilderMock, never()).upper(any(Expression.class));
+        verify(criteriaBuilderMock, times(1)).equal(eq(pathOfString(baseSoftwareModuleRootMock)), eq("MYKEY"));
+        verify(criteriaBuilderMock, times(1)).like(eq(pathOfString(baseSoftwareModuleRootMock)),
+                eq("abc".toUpperCase()), eq('\\'));
+    }
+
+    @Test
+    @Description("Verify that the case insensitive setting is ignored if the database compares case sensitively.")
+    public void caseInsensitiveDbIsIgnoredForCaseSensitiveDb() {
+        reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        when(repositoryProperties.isRsqlCaseInsensitiveDb()).thenReturn(true);
+        final String correctRsql = "name==abc";
+        when(baseSoftwareModuleRootMock.get("name")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.getJavaType()).thenReturn((Class) SoftwareModule.class);
+        when(criteriaBuilderMock.upper(eq(pathOfString(baseSoftwareModuleRootMock))))
+                .thenReturn(pathOfString(baseSoftwareModuleRootMock));
+        when(criteriaBuilderMock.like(any(Expression.class), anyString(), eq('\\'))).thenReturn(mock(Predicate.class));
+
+        // test
+        RSQLUtility.buildRsqlSpecification(correctRsql, SoftwareModuleFields.class, null, Database.H2)
+                .toPredicate(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+
+        // verification
+        verify(criteriaBuilderMock, times(1)).upper(eq(pathOfString(baseSoftwareModuleRootMock)));
+        verify(criteriaBuilderMock, times(1)).like(eq(pathOfString(baseSoftwareModuleRootMock)),
+                eq("abc".toUpperCase()), eq('\\'));
+    }
+
     @Test
     public void correctRsqlBuildsNotSimpleNotLikePredicate() {
         reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.eclipse.hawkbit.repository.TargetFields.ATTRIBUTE;
+import static org.eclipse.hawkbit.repository.TargetFields.CONTROLLERID;
+import static org.eclipse.hawkbit.repository.TargetFields.NAME;
+import static org.eclipse.hawkbit.repository.TargetFields.TAG;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.jpa.TargetFieldData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import cz.jirutka.rsql.parser.RSQLParser;
+
+/**
+ * JMH benchmark comparing the evaluation of auto assignment filters with the
+ * interpreting {@link RsqlVisitor} (parse and walk on every call) against the
+ * compiled {@link TargetFieldMatcher}s. Not executed as part of the test
+ * suite, run it with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RsqlMatcherBenchmark {
+
+    @Param({ "10", "200" })
+    private int attributeCount;
+
+    @Param({ "300" })
+    private int filterCount;
+
+    private final List<String> filters = new ArrayList<>();
+    private final List<TargetFieldMatcher> compiled = new ArrayList<>();
+    private TargetFieldData fieldData;
+
+    @Setup
+    public void setup() {
+        fieldData = new TargetFieldData();
+        fieldData.add(CONTROLLERID, "gateway-0815");
+        fieldData.add(NAME, "gateway-0815");
+        fieldData.add(TAG, "beta");
+        for (int i = 0; i < attributeCount; i++) {
+            fieldData.add(ATTRIBUTE, "key" + i, "value" + i);
+        }
+        fieldData.add(ATTRIBUTE, "device_type", "gateway");
+        fieldData.add(ATTRIBUTE, "revision", "1.123");
+
+        // none of the filters matches, so every filter is evaluated
+        for (int i = 0; i < filterCount; i++) {
+            filters.add("attribute.device_type == gateway* and attribute.revision =in= (2." + i + ", 3." + i
+                    + ") or tag == alpha" + i + " or name == *-" + i + "x");
+        }
+        filters.forEach(filter -> compiled.add(RsqlMatcher.compile(filter)));
+    }
+
+    @Benchmark
+    public void rsqlVisitor(final Blackhole blackhole) {
+        final RsqlVisitor visitor = new RsqlVisitor();
+        for (final String filter : filters) {
+            blackhole.consume(new RSQLParser().parse(filter.toLowerCase()).accept(visitor, fieldData));
+        }
+    }
+
+    @Benchmark
+    public void compiledMatcher(final Blackhole blackhole) {
+        for (final TargetFieldMatcher matcher : compiled) {
+            blackhole.consume(matcher.matches(fieldData));
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RsqlMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.event.remote.TargetFilterQueryDeletedEvent;
+import org.eclipse.hawkbit.repository.jpa.TargetFieldData;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTargetFilterQuery;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.TenantAware.TenantRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Compiled RSQL matcher cache")
+public class RsqlMatcherCacheTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private RsqlMatcherCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final TenantAware tenantAware = mock(TenantAware.class);
+        when(tenantAware.getCurrentTenant()).thenReturn(TENANT);
+        when(tenantAware.runAsTenant(anyString(), any(TenantRunner.class)))
+                .thenAnswer(invocation -> ((TenantRunner<?>) invocation.getArgument(1)).run());
+        cache = new RsqlMatcherCache(tenantAware);
+    }
+
+    @Test
+    @Description("Verifies that a filter query is compiled once and reused as long as it is unchanged.")
+    public void compiledMatcherIsReused() {
+        final TargetFilterQuery query = filterQuery(1L, "name == target*");
+
+        final TargetFieldMatcher matcher = cache.getMatcher(query);
+
+        assertThat(cache.getMatcher(query)).isSameAs(matcher);
+        assertThat(matcher.matches(fieldData("targetName1"))).isTrue();
+        assertThat(matcher.matches(fieldData("other"))).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that a changed query string of a cached filter query is compiled again.")
+    public void changedQueryIsRecompiled() {
+        final TargetFieldMatcher matcher = cache.getMatcher(filterQuery(1L, "name == target*"));
+
+        final TargetFieldMatcher changed = cache.getMatcher(filterQuery(1L, "name == other"));
+
+        assertThat(changed).isNotSameAs(matcher);
+        assertThat(changed.matches(fieldData("other"))).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that the compiled matcher is evicted on filter query deletion.")
+    public void matcherIsEvictedOnDelete() {
+        final TargetFilterQuery query = filterQuery(1L, "name == target*");
+        final TargetFieldMatcher matcher = cache.getMatcher(query);
+
+        cache.invalidateOnTargetFilterQueryDeleted(
+                new TargetFilterQueryDeletedEvent(TENANT, 1L, JpaTargetFilterQuery.class, "node"));
+
+        assertThat(cache.getMatcher(query)).isNotSameAs(matcher);
+    }
+
+    private static TargetFilterQuery filterQuery(final long id, final String rsql) {
+        final TargetFilterQuery query = mock(TargetFilterQuery.class);
+        when(query.getId()).thenReturn(id);
+        when(query.getQuery()).thenReturn(rsql);
+        return query;
+    }
+
+    private static TargetFieldData fieldData(final String name) {
+        final TargetFieldData fieldData = new TargetFieldData();
+        fieldData.add(TargetFields.NAME, name);
+        return fieldData;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hawkbit.repository.SoftwareModuleFields;
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.Node;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Parsed RSQL cache")
+public class RsqlNodeCacheTest {
+
+    private static final String RSQL = "name==target*";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RsqlNodeCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RsqlNodeCache(meterRegistry, 100);
+    }
+
+    @Test
+    @Description("Verifies that an RSQL string is parsed once and the parsed node is reused.")
+    public void parsedNodeIsReused() {
+        final AtomicInteger parsed = new AtomicInteger();
+
+        final Node node = cache.getNode(RSQL, rsql -> {
+            parsed.incrementAndGet();
+            return new RSQLParser().parse(rsql);
+        });
+
+        assertThat(cache.getNode(RSQL, rsql -> new RSQLParser().parse(rsql))).isSameAs(node);
+        assertThat(parsed).hasValue(1);
+        assertThat(count("node", "hit")).isEqualTo(1);
+        assertThat(count("node", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that an RSQL string is validated once per field name provider.")
+    public void validationIsCachedPerFieldNameProvider() {
+        final AtomicInteger validated = new AtomicInteger();
+
+        cache.validate(RSQL, TargetFields.class, validated::incrementAndGet);
+        cache.validate(RSQL, TargetFields.class, validated::incrementAndGet);
+        cache.validate(RSQL, SoftwareModuleFields.class, validated::incrementAndGet);
+
+        assertThat(validated).hasValue(2);
+        assertThat(count("validation", "hit")).isEqualTo(1);
+        assertThat(count("validation", "miss")).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Verifies that a failed validation is not cached.")
+    public void failedValidationIsNotCached() {
+        final AtomicInteger validated = new AtomicInteger();
+        final Runnable invalid = () -> {
+            validated.incrementAndGet();
+            throw new RSQLParameterUnsupportedFieldException();
+        };
+
+        assertThatExceptionOfType(RSQLParameterUnsupportedFieldException.class)
+                .isThrownBy(() -> cache.validate(RSQL, TargetFields.class, invalid));
+        assertThatExceptionOfType(RSQLParameterUnsupportedFieldException.class)
+                .isThrownBy(() -> cache.validate(RSQL, TargetFields.class, invalid));
+
+        assertThat(validated).hasValue(2);
+    }
+
+    private double count(final String cacheName, final String result) {
+        return meterRegistry.get("hawkbit.rsql.cache").tag("cache", cacheName).tag("result", result).counter()
+                .count();
+    }
+}
@@ -34,6 +34,7 @@ import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetPollState;
 import org.eclipse.hawkbit.rest.data.ResponseList;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.beans.factory.annotation.Value;
@@ -152,8 +153,8 @@ public final class DataConversionHelper {
         return confirmationBase;
     }
 
-    public static DdiControllerBase fromTarget(final Target target, final Action installedAction,
-            final Action activeAction, final String defaultControllerPollTime, final TenantAware tenantAware) {
+    public static DdiControllerBase fromPollState(final TargetPollState pollState, final Action activeAction,
+            final String defaultControllerPollTime, final TenantAware tenantAware) {
         final DdiControllerBase result = new DdiControllerBase(
                 new DdiConfig(new DdiPolling(defaultControllerPollTime)));
 
@@ -161,14 +162,14 @@ public final class DataConversionHelper {
             if (activeAction.isWaitingConfirmation()) {
                 result.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
                         .methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                        .getConfirmationBaseAction(tenantAware.getCurrentTenant(), target.getControllerId(),
+                        .getConfirmationBaseAction(tenantAware.getCurrentTenant(), pollState.getControllerId(),
                                 activeAction.getId(), calculateEtag(activeAction), null))
                         .withRel(DdiRestConstants.CONFIRMATION_BASE).expand());
 
             } else if (activeAction.isCancelingOrCanceled()) {
                 result.add(WebMvcLinkBuilder
                         .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                                .getControllerCancelAction(tenantAware.getCurrentTenant(), target.getControllerId(),
+                                .getControllerCancelAction(tenantAware.getCurrentTenant(), pollState.getControllerId(),
                                         activeAction.getId()))
                         .withRel(DdiRestConstants.CANCEL_ACTION).expand());
             } else {
@@ -179,25 +180,25 @@ public final class DataConversionHelper {
                 // response because of eTags.
                 result.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
                         .methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                        .getControllerBasedeploymentAction(tenantAware.getCurrentTenant(), target.getControllerId(),
+                        .getControllerBasedeploymentAction(tenantAware.getCurrentTenant(), pollState.getControllerId(),
                                 activeAction.getId(), calculateEtag(activeAction), null))
                         .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION).expand());
             }
         }
 
-        if (installedAction != null && !installedAction.isActive() && !DataConversionHelper.IGNORE_INSTALLED_BASE_LINK_STATIC) {
+        if (pollState.getInstalledActionId() != null && !DataConversionHelper.IGNORE_INSTALLED_BASE_LINK_STATIC) {
             result.add(
                     WebMvcLinkBuilder
                             .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
                                     .getControllerInstalledAction(tenantAware.getCurrentTenant(),
-                                            target.getControllerId(), installedAction.getId(), null))
+                                            pollState.getControllerId(), pollState.getInstalledActionId(), null))
                             .withRel(DdiRestConstants.INSTALLED_BASE_ACTION).expand());
         }
 
-        if (target.isRequestControllerAttributes()) {
+        if (pollState.isRequestControllerAttributes()) {
             result.add(WebMvcLinkBuilder
                     .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                            .putConfigData(null, tenantAware.getCurrentTenant(), target.getControllerId()))
+                            .putConfigData(null, tenantAware.getCurrentTenant(), pollState.getControllerId()))
                     .withRel(DdiRestConstants.CONFIG_DATA_ACTION).expand());
         }
 
@@ -45,7 +45,6 @@ import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRootControllerRestApi;
 import org.eclipse.hawkbit.repository.*;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
-import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.exception.ArtifactBinaryNotFoundException;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
@@ -57,6 +56,7 @@ import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetPollState;
 import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
 import org.eclipse.hawkbit.rest.util.HttpUtil;
 import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
@@ -66,9 +66,6 @@ import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.bus.BusProperties;
-import org.springframework.cloud.bus.ServiceMatcher;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -101,13 +98,7 @@ public class DdiRootController implements DdiRootControllerRestApi {
     private ConfirmationManagement confirmationManagement;
 
     @Autowired
-    private ApplicationEventPublisher eventPublisher;
-
-    @Autowired(required = false)
-    private ServiceMatcher serviceMatcher;
-
-    @Autowired
-    private BusProperties bus;
+    private DownloadProgressPublisher downloadProgressPublisher;
 
     @Autowired
     private ControllerManagement controllerManagement;
@@ -155,20 +146,19 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId) {
         LOG.debug("getControllerBase({})", controllerId);
 
-        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, IpUtil
+        final TargetPollState pollState = controllerManagement.pollTarget(controllerId, IpUtil
                 .getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(), securityProperties));
-        final Action activeAction = controllerManagement.findActiveActionWithHighestWeight(controllerId).orElse(null);
-
-        final Action installedAction = controllerManagement.getInstalledActionByTarget(controllerId).orElse(null);
+        final Action activeAction = pollState.getActiveActionId() == null ? null
+                : controllerManagement.findActionWithDetails(pollState.getActiveActionId()).orElse(null);
 
         checkAndCancelExpiredAction(activeAction);
 
         // Set polling time depending on whether target has the tag "low-poll"
-        String pollingTime = target.getTags().stream().anyMatch(tag -> tag.getName().matches("low-poll")) ? controllerManagement.getPollingTimeForLowPollTargets() : controllerManagement.getPollingTime();
-        LOG.debug("target {} has a poll interval of {}; pollingTimeForLowPollTargets: {}; target has low-poll tag: {}", target.getControllerId(), pollingTime, controllerManagement.getPollingTimeForLowPollTargets(), target.getTags().stream().anyMatch(tag -> tag.getName().matches("low-poll")));
+        String pollingTime = pollState.isLowPoll() ? controllerManagement.getPollingTimeForLowPollTargets() : controllerManagement.getPollingTime();
+        LOG.debug("target {} has a poll interval of {}; pollingTimeForLowPollTargets: {}; target has low-poll tag: {}", controllerId, pollingTime, controllerManagement.getPollingTimeForLowPollTargets(), pollState.isLowPoll());
 
         // activeAction
-        return new ResponseEntity<>(DataConversionHelper.fromTarget(target, installedAction, activeAction,
+        return new ResponseEntity<>(DataConversionHelper.fromPollState(pollState, activeAction,
                 activeAction == null ? pollingTime : controllerManagement.getPollingTimeForAction(activeAction.getId(), pollingTime),
                 tenantAware), HttpStatus.OK);
     }
@@ -206,10 +196,8 @@ public class DdiRootController implements DdiRootControllerRestApi {
                 result = FileStreamingUtil.writeFileResponse(file, artifact.getFilename(), artifact.getCreatedAt(),
                         requestResponseContextHolder.getHttpServletResponse(),
                         requestResponseContextHolder.getHttpServletRequest(),
-                        (length, shippedSinceLastEvent,
-                                total) -> eventPublisher.publishEvent(new DownloadProgressEvent(
-                                        tenantAware.getCurrentTenant(), statusId, shippedSinceLastEvent,
-                                        serviceMatcher != null ? serviceMatcher.getBusId() : bus.getId())));
+                        (length, shippedSinceLastEvent, total) -> downloadProgressPublisher
+                                .progress(tenantAware.getCurrentTenant(), statusId, shippedSinceLastEvent));
 
             }
         }
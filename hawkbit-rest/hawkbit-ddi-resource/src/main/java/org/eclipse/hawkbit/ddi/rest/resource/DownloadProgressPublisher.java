@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@link DownloadProgressEvent}s of artifact downloads. If a
+ * {@link RepositoryProperties#getDownloadProgressFlushTime()} is configured the
+ * shipped bytes are accumulated per {@link ActionStatus} and only one event per
+ * action status is published per flush interval. The events are always
+ * published to the local listeners, they are only sent to the other nodes if
+ * {@link RepositoryProperties#isPublishDownloadProgressEvent()}.
+ */
+@Component
+public class DownloadProgressPublisher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DownloadProgressPublisher.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusProperties bus;
+    private final RepositoryProperties repositoryProperties;
+    private final Map<Long, Progress> pending = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private ServiceMatcher serviceMatcher;
+
+    DownloadProgressPublisher(final ApplicationEventPublisher eventPublisher, final BusProperties bus,
+            final RepositoryProperties repositoryProperties, final ScheduledExecutorService executorService) {
+        this.eventPublisher = eventPublisher;
+        this.bus = bus;
+        this.repositoryProperties = repositoryProperties;
+
+        final long flushTime = repositoryProperties.getDownloadProgressFlushTime();
+        if (flushTime > 0) {
+            executorService.scheduleWithFixedDelay(this::flush, flushTime, flushTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publishes or accumulates the progress of a download.
+     *
+     * @param tenant
+     *            the tenant of the download
+     * @param actionStatusId
+     *            of the {@link ActionStatus} the download belongs to
+     * @param shippedBytesSinceLast
+     *            bytes shipped since the last progress of the download
+     */
+    public void progress(final String tenant, final Long actionStatusId, final long shippedBytesSinceLast) {
+        if (repositoryProperties.getDownloadProgressFlushTime() <= 0) {
+            publish(tenant, actionStatusId, shippedBytesSinceLast);
+            return;
+        }
+
+        pending.merge(actionStatusId, new Progress(tenant, shippedBytesSinceLast), Progress::add);
+    }
+
+    private void flush() {
+        try {
+            pending.keySet().forEach(actionStatusId -> {
+                final Progress progress = pending.remove(actionStatusId);
+                if (progress != null) {
+                    publish(progress.tenant, actionStatusId, progress.shippedBytes);
+                }
+            });
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to publish download progress.", e);
+        }
+    }
+
+    private void publish(final String tenant, final Long actionStatusId, final long shippedBytes) {
+        eventPublisher.publishEvent(new DownloadProgressEvent(tenant, actionStatusId, shippedBytes,
+                serviceMatcher != null ? serviceMatcher.getBusId() : bus.getId()));
+    }
+
+    private static final class Progress {
+        private final String tenant;
+        private final long shippedBytes;
+
+        private Progress(final String tenant, final long shippedBytes) {
+            this.tenant = tenant;
+            this.shippedBytes = shippedBytes;
+        }
+
+        private Progress add(final Progress other) {
+            return new Progress(tenant, shippedBytes + other.shippedBytes);
+        }
+    }
+}
@@ -21,9 +21,13 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.security.DosFilter;
+import org.eclipse.hawkbit.security.TokenBucketRateLimiter;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.DefaultMockMvcBuilder;
@@ -44,6 +48,8 @@ import io.qameta.allure.Story;
 @Story("Denial of Service protection filter")
 class DosFilterTest extends AbstractDDiApiIntegrationTest {
 
+    private static final String CONTROLLER_PATH = "/{tenant}/controller/v1/{controllerId}";
+
     @Override
     protected DefaultMockMvcBuilder createMvcWebAppContext(final WebApplicationContext context) {
         return super.createMvcWebAppContext(context).addFilter(new DosFilter(null, 10, 10,
@@ -155,6 +161,70 @@ class DosFilterTest extends AbstractDDiApiIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Ensures that controllers behind the same IP are limited separately in controller mode")
+    void controllersBehindSameIpAreLimitedSeparately() throws Exception {
+        final DosFilter filter = controllerModeFilter(0, 0);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(poll(filter, "10.0.0.1", "DEFAULT", "a")).isEqualTo(HttpStatus.OK.value());
+            assertThat(poll(filter, "10.0.0.1", "DEFAULT", "b")).isEqualTo(HttpStatus.OK.value());
+        }
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "a")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "b")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "c")).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @Description("Ensures that all controllers behind an IP are capped by the IP limit in controller mode")
+    void controllersBehindSameIpAreLimitedByIpLimit() throws Exception {
+        final DosFilter filter = controllerModeFilter(0, 3);
+
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "a")).isEqualTo(HttpStatus.OK.value());
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "b")).isEqualTo(HttpStatus.OK.value());
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "c")).isEqualTo(HttpStatus.OK.value());
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "d")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(poll(filter, "10.0.0.2", "DEFAULT", "d")).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @Description("Ensures that all controllers of a tenant are limited by the tenant limit in controller mode")
+    void controllersAreLimitedByTenantLimit() throws Exception {
+        final DosFilter filter = controllerModeFilter(3, 0);
+
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "a")).isEqualTo(HttpStatus.OK.value());
+        assertThat(poll(filter, "10.0.0.1", "default", "b")).isEqualTo(HttpStatus.OK.value());
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "c")).isEqualTo(HttpStatus.OK.value());
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "d")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(poll(filter, "10.0.0.1", "OTHER", "d")).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @Description("Ensures that the rejected requests of a flooding controller do not use up the tenant limit")
+    void floodingControllerDoesNotUseUpTenantLimit() throws Exception {
+        final DosFilter filter = controllerModeFilter(3, 0);
+
+        for (int i = 0; i < 10; i++) {
+            poll(filter, "10.0.0.1", "DEFAULT", "a");
+        }
+        assertThat(poll(filter, "10.0.0.1", "DEFAULT", "b")).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private static DosFilter controllerModeFilter(final int maxTenant, final int maxIp) {
+        return new DosFilter(List.of(CONTROLLER_PATH), 2, 2, null, null, "X-Forwarded-For",
+                new TokenBucketRateLimiter(), maxTenant, maxTenant, maxIp, maxIp);
+    }
+
+    private static int poll(final DosFilter filter, final String ip, final String tenant, final String controllerId)
+            throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                "/" + tenant + "/controller/v1/" + controllerId);
+        request.setRemoteAddr(ip);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
     private Long prepareDeploymentBase() {
         final DistributionSet ds = testdataFactory.createDistributionSet("test");
         final Target target = testdataFactory.createTarget("4711");
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.context.ApplicationEventPublisher;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("Download progress")
+class DownloadProgressPublisherTest {
+
+    private final ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+    private final ScheduledExecutorService executorService = Mockito.mock(ScheduledExecutorService.class);
+    private final RepositoryProperties repositoryProperties = new RepositoryProperties();
+
+    @Test
+    @Description("Verifies that every progress is published immediately if no flush time is configured.")
+    void progressIsPublishedImmediately() {
+        final DownloadProgressPublisher underTest = new DownloadProgressPublisher(eventPublisher, new BusProperties(),
+                repositoryProperties, executorService);
+
+        underTest.progress("tenant", 1L, 10);
+        underTest.progress("tenant", 1L, 20);
+
+        verify(eventPublisher, times(2)).publishEvent(any(DownloadProgressEvent.class));
+        verify(executorService, never()).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @Description("Verifies that the progress is accumulated per action status and published once per flush.")
+    void progressIsAccumulatedPerActionStatus() {
+        repositoryProperties.setDownloadProgressFlushTime(1000);
+        final DownloadProgressPublisher underTest = new DownloadProgressPublisher(eventPublisher, new BusProperties(),
+                repositoryProperties, executorService);
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).scheduleWithFixedDelay(flush.capture(), eq(1000L), eq(1000L),
+                eq(TimeUnit.MILLISECONDS));
+
+        underTest.progress("tenant", 1L, 10);
+        underTest.progress("tenant", 1L, 20);
+        underTest.progress("tenant", 2L, 5);
+        verify(eventPublisher, never()).publishEvent(any());
+
+        flush.getValue().run();
+
+        final ArgumentCaptor<DownloadProgressEvent> events = ArgumentCaptor.forClass(DownloadProgressEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        final List<DownloadProgressEvent> published = events.getAllValues();
+        assertThat(published).extracting(DownloadProgressEvent::getSource).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(published).extracting(DownloadProgressEvent::getShippedBytesSinceLast)
+                .containsExactlyInAnyOrder(30L, 5L);
+
+        flush.getValue().run();
+        verify(eventPublisher, times(2)).publishEvent(any());
+    }
+
+    @Test
+    @Description("Verifies that the progress is still published to the local listeners if the events are not sent to the bus.")
+    void progressIsPublishedLocallyIfRemoteDisabled() {
+        repositoryProperties.setPublishDownloadProgressEvent(false);
+        final DownloadProgressPublisher underTest = new DownloadProgressPublisher(eventPublisher, new BusProperties(),
+                repositoryProperties, executorService);
+
+        underTest.progress("tenant", 1L, 10);
+
+        verify(eventPublisher, times(1)).publishEvent(any(DownloadProgressEvent.class));
+    }
+}
@@ -13,11 +13,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -49,6 +53,8 @@ public final class FileStreamingUtil {
 
     private static final int BUFFER_SIZE = 0x2000; // 8k
 
+    private static final long TRANSFER_SIZE = 0x100000; // 1M
+
     private FileStreamingUtil() {
 
     }
@@ -213,9 +219,9 @@ public final class FileStreamingUtil {
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
 
-        try (final InputStream from = artifact.getFileInputStream()) {
+        try {
             final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+            copyArtifact(artifact, to, progressListener, r.getStart(), r.getLength(), filename);
         } catch (final IOException e) {
             throw new FileStreamingFailedException("fullfileRequest " + filename, e);
         }
@@ -285,17 +291,14 @@ public final class FileStreamingUtil {
             final ServletOutputStream to = response.getOutputStream();
 
             for (final ByteRange r : ranges) {
-                try (final InputStream from = artifact.getFileInputStream()) {
-
-                    // Add multipart boundary and header fields for every range.
-                    to.println();
-                    to.println("--" + ByteRange.MULTIPART_BOUNDARY);
-                    to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
-                            + r.getTotal());
-
-                    // Copy single part range of multi part range.
-                    copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
-                }
+                // Add multipart boundary and header fields for every range.
+                to.println();
+                to.println("--" + ByteRange.MULTIPART_BOUNDARY);
+                to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
+                        + r.getTotal());
+
+                // Copy single part range of multi part range.
+                copyArtifact(artifact, to, progressListener, r.getStart(), r.getLength(), filename);
             }
 
             // End with final multipart boundary.
@@ -316,9 +319,9 @@ public final class FileStreamingUtil {
         response.setContentLengthLong(r.getLength());
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try (final InputStream from = artifact.getFileInputStream()) {
+        try {
             final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+            copyArtifact(artifact, to, progressListener, r.getStart(), r.getLength(), filename);
         } catch (final IOException e) {
             LOG.error("standardRangeRequest of file ({}) failed!", filename, e);
             throw new FileStreamingFailedException(filename);
@@ -327,6 +330,61 @@ public final class FileStreamingUtil {
         return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).build();
     }
 
+    /**
+     * Copies the given range of the artifact. Artifacts which are stored
+     * unaltered in a file are read by a {@link FileChannel} starting directly
+     * at the range offset, all others by their {@link InputStream}.
+     */
+    private static long copyArtifact(final DbArtifact artifact, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final long start, final long length,
+            final String filename) throws IOException {
+        final Optional<FileChannel> fileChannel = artifact.getFileChannel();
+        if (fileChannel.isPresent()) {
+            try (final FileChannel from = fileChannel.get()) {
+                return copyChannel(from, to, progressListener, start, length, filename);
+            }
+        }
+
+        try (final InputStream from = artifact.getFileInputStream()) {
+            return copyStreams(from, to, progressListener, start, length, filename);
+        }
+    }
+
+    private static long copyChannel(final FileChannel from, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final long start, final long length,
+            final String filename) throws IOException {
+
+        final long startMillis = System.currentTimeMillis();
+        LOG.trace("Start of copy-channel of file {} from {} to {}", filename, start, length);
+
+        Preconditions.checkNotNull(from);
+        Preconditions.checkNotNull(to);
+        // not closed as this would close the servlet output stream
+        final WritableByteChannel target = Channels.newChannel(to);
+        final DownloadProgress progress = new DownloadProgress(progressListener, length);
+
+        while (progress.getTotal() < length) {
+            final long transferred = from.transferTo(start + progress.getTotal(),
+                    Math.min(TRANSFER_SIZE, length - progress.getTotal()), target);
+            if (transferred <= 0) {
+                // end of file reached
+                break;
+            }
+            progress.shipped(transferred);
+        }
+
+        final long totalTime = System.currentTimeMillis() - startMillis;
+
+        if (progress.getTotal() < length) {
+            throw new FileStreamingFailedException(filename + ": " + (length - progress.getTotal())
+                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        }
+
+        LOG.trace("Finished copy-channel of file {} with length {} in {} ms", filename, length, totalTime);
+
+        return progress.getTotal();
+    }
+
     private static long copyStreams(final InputStream from, final OutputStream to,
             final FileStreamingProgressListener progressListener, final long start, final long length,
             final String filename) throws IOException {
@@ -337,14 +395,12 @@ public final class FileStreamingUtil {
         Preconditions.checkNotNull(from);
         Preconditions.checkNotNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
-        long total = 0;
-        int progressPercent = 1;
+        final DownloadProgress progress = new DownloadProgress(progressListener, length);
 
         ByteStreams.skipFully(from, start);
 
         long toRead = length;
         boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
 
         while (toContinue) {
             final int r = from.read(buf);
@@ -355,14 +411,46 @@ public final class FileStreamingUtil {
             toRead -= r;
             if (toRead > 0) {
                 to.write(buf, 0, r);
-                total += r;
-                shippedSinceLastEvent += r;
+                progress.shipped(r);
             } else {
                 to.write(buf, 0, (int) toRead + r);
-                total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
+                progress.shipped(toRead + r);
                 toContinue = false;
             }
+        }
+
+        final long totalTime = System.currentTimeMillis() - startMillis;
+        final long total = progress.getTotal();
+
+        if (total < length) {
+            throw new FileStreamingFailedException(filename + ": " + (length - total)
+                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        }
+
+        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
+
+        return total;
+    }
+
+    /**
+     * Tracks the shipped bytes of a copy and notifies the
+     * {@link FileStreamingProgressListener} every 10 percent.
+     */
+    private static final class DownloadProgress {
+        private final FileStreamingProgressListener progressListener;
+        private final long length;
+        private long total;
+        private long shippedSinceLastEvent;
+        private int progressPercent = 1;
+
+        private DownloadProgress(final FileStreamingProgressListener progressListener, final long length) {
+            this.progressListener = progressListener;
+            this.length = length;
+        }
+
+        private void shipped(final long shipped) {
+            total += shipped;
+            shippedSinceLastEvent += shipped;
 
             if (progressListener != null) {
                 final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, RoundingMode.DOWN);
@@ -376,16 +464,9 @@ public final class FileStreamingUtil {
             }
         }
 
-        final long totalTime = System.currentTimeMillis() - startMillis;
-
-        if (total < length) {
-            throw new FileStreamingFailedException(filename + ": " + (length - total)
-                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+        private long getTotal() {
+            return total;
         }
-
-        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
-
-        return total;
     }
 
     private static final class ByteRange {
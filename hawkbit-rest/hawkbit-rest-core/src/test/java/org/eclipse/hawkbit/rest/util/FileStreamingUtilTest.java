@@ -17,17 +17,25 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.http.HttpHeaders;
@@ -112,4 +120,45 @@ class FileStreamingUtilTest {
         verify(outputStream, times(0)).print(anyString());
         verify(outputStream, times(0)).write(any(), anyInt(), anyInt());
     }
+
+    @Test
+    void shouldReadRangeRequestsOfFileArtifactsFromChannel(@TempDir final Path tempDir) throws IOException {
+        final Path file = Files.write(tempDir.resolve("test.file"), CONTENT_BYTES);
+        final DbArtifact fileArtifact = Mockito.mock(DbArtifact.class);
+        Mockito.when(fileArtifact.getHashes()).thenReturn(TEST_ARTIFACT.getHashes());
+        Mockito.when(fileArtifact.getSize()).thenReturn(TEST_ARTIFACT.getSize());
+        Mockito.when(fileArtifact.getFileChannel())
+                .thenAnswer(invocation -> Optional.of(FileChannel.open(file, StandardOpenOption.READ)));
+
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final HttpServletResponse servletResponse = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(final int b) {
+                content.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                // not needed
+            }
+        });
+        final HttpServletRequest servletRequest = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(servletRequest.getHeader("Range")).thenReturn("bytes=8-");
+        final FileStreamingProgressListener progressListener = Mockito.mock(FileStreamingProgressListener.class);
+
+        final ResponseEntity<InputStream> responseEntity = FileStreamingUtil.writeFileResponse(fileArtifact,
+                "test.file", System.currentTimeMillis(), servletResponse, servletRequest, progressListener);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT.substring(8));
+        verify(fileArtifact, times(0)).getFileInputStream();
+        verify(progressListener).progress(CONTENT_BYTES.length - 8L, CONTENT_BYTES.length - 8L,
+                CONTENT_BYTES.length - 8L);
+    }
 }
@@ -473,11 +473,35 @@ public class HawkbitSecurityProperties {
          *
          */
         public static class Filter {
+
+            /**
+             * How the filter identifies the clients it limits.
+             */
+            public enum Mode {
+                /**
+                 * Requests are counted per client IP in fixed one second
+                 * windows.
+                 */
+                IP,
+
+                /**
+                 * Controller requests are limited per tenant and controller ID
+                 * and, as the controller ID is not authenticated yet, per
+                 * client IP by token buckets, other requests per client IP.
+                 */
+                CONTROLLER
+            }
+
             /**
              * True if filter is enabled.
              */
             private boolean enabled = true;
 
+            /**
+             * How clients are identified.
+             */
+            private Mode mode = Mode.IP;
+
             /**
              * White list of peer IP addresses for DOS filter (regular
              * expression).
@@ -486,16 +510,50 @@ public class HawkbitSecurityProperties {
 
             /**
              * # Maximum number of allowed REST read/GET requests per second per
-             * client IP.
+             * client IP, or per controller in {@link Mode#CONTROLLER}.
              */
             private int maxRead = 200;
 
             /**
              * Maximum number of allowed REST write/(PUT/POST/etc.) requests per
-             * second per client IP.
+             * second per client IP, or per controller in {@link Mode#CONTROLLER}.
              */
             private int maxWrite = 50;
 
+            /**
+             * Maximum number of allowed read requests per second of all
+             * controllers of a tenant in {@link Mode#CONTROLLER} (0 to
+             * disable).
+             */
+            private int maxTenantRead;
+
+            /**
+             * Maximum number of allowed write requests per second of all
+             * controllers of a tenant in {@link Mode#CONTROLLER} (0 to
+             * disable).
+             */
+            private int maxTenantWrite;
+
+            /**
+             * Maximum number of allowed read requests per second of all
+             * controllers behind a client IP in {@link Mode#CONTROLLER} (0 to
+             * disable).
+             */
+            private int maxIpRead = 2000;
+
+            /**
+             * Maximum number of allowed write requests per second of all
+             * controllers behind a client IP in {@link Mode#CONTROLLER} (0 to
+             * disable).
+             */
+            private int maxIpWrite = 500;
+
+            /**
+             * Maximum number of clients the default rate limiter keeps a token
+             * bucket for in {@link Mode#CONTROLLER}.
+             */
+            private long maxClients = 100_000;
+
             public boolean isEnabled() {
                 return enabled;
             }
@@ -528,6 +586,54 @@ public class HawkbitSecurityProperties {
                 this.maxWrite = maxWrite;
             }
 
+            public Mode getMode() {
+                return mode;
+            }
+
+            public void setMode(final Mode mode) {
+                this.mode = mode;
+            }
+
+            public int getMaxTenantRead() {
+                return maxTenantRead;
+            }
+
+            public void setMaxTenantRead(final int maxTenantRead) {
+                this.maxTenantRead = maxTenantRead;
+            }
+
+            public int getMaxTenantWrite() {
+                return maxTenantWrite;
+            }
+
+            public void setMaxTenantWrite(final int maxTenantWrite) {
+                this.maxTenantWrite = maxTenantWrite;
+            }
+
+            public int getMaxIpRead() {
+                return maxIpRead;
+            }
+
+            public void setMaxIpRead(final int maxIpRead) {
+                this.maxIpRead = maxIpRead;
+            }
+
+            public int getMaxIpWrite() {
+                return maxIpWrite;
+            }
+
+            public void setMaxIpWrite(final int maxIpWrite) {
+                this.maxIpWrite = maxIpWrite;
+            }
+
+            public long getMaxClients() {
+                return maxClients;
+            }
+
+            public void setMaxClients(final long maxClients) {
+                this.maxClients = maxClients;
+            }
+
         }
 
     }
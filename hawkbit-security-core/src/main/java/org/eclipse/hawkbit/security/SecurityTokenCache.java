@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.springframework.security.crypto.codec.Hex;
+
+/**
+ * Cache of the verified security tokens of targets of the current tenant by
+ * controller ID, which allows to authenticate targets without loading them.
+ * Only a {@link #hash(String)} of the token is cached.
+ */
+public interface SecurityTokenCache {
+
+    /**
+     * @param controllerId
+     *            of the target
+     * @return the cached security token hash of the target of the current
+     *         tenant or <code>null</code>
+     */
+    String getTokenHash(String controllerId);
+
+    /**
+     * @param targetId
+     *            of the target
+     * @return the controller ID of the cached target of the current tenant or
+     *         <code>null</code>
+     */
+    String getControllerId(long targetId);
+
+    /**
+     * @return the current generation of the cache, which changes with every
+     *         eviction. Needs to be read before the target which is passed to
+     *         {@link #put(long, String, String, long)} is loaded.
+     */
+    long getGeneration();
+
+    /**
+     * Caches the security token hash of a target of the current tenant unless
+     * an entry has been evicted since the given generation has been read, as
+     * the target might have been loaded before the change which caused the
+     * eviction.
+     *
+     * @param targetId
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param securityToken
+     *            of the target
+     * @param loadedGeneration
+     *            the {@link #getGeneration()} read before the target has been
+     *            loaded
+     * @return the security token hash of the target
+     */
+    String put(long targetId, String controllerId, String securityToken, long loadedGeneration);
+
+    /**
+     * @param securityToken
+     *            to hash
+     * @return the hash of the given security token as it is cached
+     */
+    static String hash(final String securityToken) {
+        if (securityToken == null) {
+            return null;
+        }
+
+        try {
+            return new String(Hex.encode(
+                    MessageDigest.getInstance("SHA-256").digest(securityToken.getBytes(StandardCharsets.UTF_8))));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
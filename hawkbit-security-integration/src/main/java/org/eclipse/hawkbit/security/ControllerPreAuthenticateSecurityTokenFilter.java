@@ -10,6 +10,7 @@
 package org.eclipse.hawkbit.security;
 
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
@@ -36,6 +37,7 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
     private static final int OFFSET_TARGET_TOKEN = TARGET_SECURITY_TOKEN_AUTH_SCHEME.length();
 
     private final ControllerManagement controllerManagement;
+    private final SecurityTokenCache securityTokenCache;
 
     /**
      * Constructor.
@@ -57,8 +59,35 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
             final TenantConfigurationManagement tenantConfigurationManagement,
             final ControllerManagement controllerManagement, final TenantAware tenantAware,
             final SystemSecurityContext systemSecurityContext) {
+        this(tenantConfigurationManagement, controllerManagement, tenantAware, systemSecurityContext, null);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenantConfigurationManagement
+     *            the tenant management service to retrieve configuration
+     *            properties
+     * @param controllerManagement
+     *            the controller management to retrieve the specific target
+     *            security token to verify
+     * @param tenantAware
+     *            the tenant aware service to get configuration for the specific
+     *            tenant
+     * @param systemSecurityContext
+     *            the system security context to get access to tenant
+     *            configuration
+     * @param securityTokenCache
+     *            the cache of verified target security tokens or
+     *            <code>null</code> to load the target on every authentication
+     */
+    public ControllerPreAuthenticateSecurityTokenFilter(
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final ControllerManagement controllerManagement, final TenantAware tenantAware,
+            final SystemSecurityContext systemSecurityContext, final SecurityTokenCache securityTokenCache) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
         this.controllerManagement = controllerManagement;
+        this.securityTokenCache = securityTokenCache;
     }
 
     @Override
@@ -68,7 +97,11 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
         if ((authHeader != null) && authHeader.startsWith(TARGET_SECURITY_TOKEN_AUTH_SCHEME)) {
             LOGGER.debug("found authorization header with scheme {} using target security token for authentication",
                     TARGET_SECURITY_TOKEN_AUTH_SCHEME);
-            return new HeaderAuthentication(controllerId, authHeader.substring(OFFSET_TARGET_TOKEN));
+            final String targetToken = authHeader.substring(OFFSET_TARGET_TOKEN);
+            // the cache only holds token hashes, so the header token is
+            // hashed as well to compare it with the credentials
+            return new HeaderAuthentication(controllerId,
+                    securityTokenCache == null ? targetToken : SecurityTokenCache.hash(targetToken));
         }
         LOGGER.debug(
                 "security token filter is enabled but requst does not contain either the necessary path variables {} or the authorization header with scheme {}",
@@ -78,6 +111,10 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
 
     @Override
     public HeaderAuthentication getPreAuthenticatedCredentials(final DmfTenantSecurityToken securityToken) {
+        if (securityTokenCache != null) {
+            return getCachedCredentials(securityToken);
+        }
+
         final Optional<Target> target = systemSecurityContext.runAsSystemAsTenant(() -> {
             if (securityToken.getTargetId() != null) {
                 return controllerManagement.get(securityToken.getTargetId());
@@ -90,10 +127,46 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
                 .orElse(null);
     }
 
+    private HeaderAuthentication getCachedCredentials(final DmfTenantSecurityToken securityToken) {
+        final String controllerId = resolveControllerId(securityToken);
+        if (controllerId == null) {
+            return null;
+        }
+
+        final String tokenHash = tenantAware.runAsTenant(securityToken.getTenant(),
+                () -> securityTokenCache.getTokenHash(controllerId));
+        if (tokenHash != null) {
+            return new HeaderAuthentication(controllerId, tokenHash);
+        }
+
+        return findAndCache(securityToken.getTenant(), () -> controllerManagement.getByControllerId(controllerId))
+                .orElse(null);
+    }
+
+    private Optional<HeaderAuthentication> findAndCache(final String tenant,
+            final Callable<Optional<Target>> finder) {
+        // read before loading, so the target is not cached if it is changed
+        // concurrently
+        final long generation = securityTokenCache.getGeneration();
+        return systemSecurityContext.runAsSystemAsTenant(() -> finder.call()
+                .map(t -> new HeaderAuthentication(t.getControllerId(),
+                        securityTokenCache.put(t.getId(), t.getControllerId(), t.getSecurityToken(), generation))),
+                tenant);
+    }
+
     private String resolveControllerId(final DmfTenantSecurityToken securityToken) {
         if (securityToken.getControllerId() != null) {
             return securityToken.getControllerId();
         }
+        if (securityTokenCache != null && securityToken.getTargetId() != null) {
+            final String controllerId = tenantAware.runAsTenant(securityToken.getTenant(),
+                    () -> securityTokenCache.getControllerId(securityToken.getTargetId()));
+            if (controllerId != null) {
+                return controllerId;
+            }
+            return findAndCache(securityToken.getTenant(), () -> controllerManagement.get(securityToken.getTargetId()))
+                    .map(HeaderAuthentication::getControllerId).orElse(null);
+        }
         final Optional<Target> foundTarget = systemSecurityContext.runAsSystemAsTenant(
                 () -> controllerManagement.get(securityToken.getTargetId()), securityToken.getTenant());
         return foundTarget.map(Target::getControllerId).orElse(null);
@@ -26,6 +26,10 @@ final class HeaderAuthentication {
         this.headerAuth = headerAuth;
     }
 
+    String getControllerId() {
+        return controllerId;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2020 devolo GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.TargetSecurityTokenCache;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.security.DmfTenantSecurityToken.FileResource;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.UserAuthoritiesResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Security")
+@Story("Target security token authentication")
+@ExtendWith(MockitoExtension.class)
+public class ControllerPreAuthenticateSecurityTokenFilterTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final String CONTROLLER_ID = "controller";
+    private static final String SECURITY_TOKEN = "token";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ControllerPreAuthenticateSecurityTokenFilter underTest;
+
+    private TargetSecurityTokenCache securityTokenCache;
+
+    @Mock
+    private TenantConfigurationManagement tenantConfigurationManagementMock;
+
+    @Mock
+    private ControllerManagement controllerManagementMock;
+
+    @Mock
+    private UserAuthoritiesResolver authoritiesResolverMock;
+
+    @Mock
+    private Target targetMock;
+
+    @BeforeEach
+    public void before() {
+        final TenantAware tenantAware = new SecurityContextTenantAware(authoritiesResolverMock);
+        securityTokenCache = new TargetSecurityTokenCache(tenantAware, meterRegistry, 100, 60_000);
+        underTest = new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagementMock,
+                controllerManagementMock, tenantAware, new SystemSecurityContext(tenantAware), securityTokenCache);
+
+        when(targetMock.getId()).thenReturn(1L);
+        when(targetMock.getControllerId()).thenReturn(CONTROLLER_ID);
+        when(targetMock.getSecurityToken()).thenReturn(SECURITY_TOKEN);
+        when(controllerManagementMock.getByControllerId(CONTROLLER_ID)).thenReturn(Optional.of(targetMock));
+    }
+
+    @Test
+    @Description("Verifies that a verified security token is cached, so that the target is only loaded once.")
+    public void securityTokenIsCached() {
+        final DmfTenantSecurityToken securityToken = createSecurityToken(SECURITY_TOKEN);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(underTest.getPreAuthenticatedCredentials(securityToken))
+                    .isEqualTo(underTest.getPreAuthenticatedPrincipal(securityToken));
+        }
+
+        verify(controllerManagementMock, times(1)).getByControllerId(CONTROLLER_ID);
+        assertThat(meterRegistry.get("hawkbit.security.token.cache").tag("result", "hit").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("hawkbit.security.token.cache").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that a wrong security token is rejected even if the target's token is cached.")
+    public void wrongSecurityTokenIsRejected() {
+        final DmfTenantSecurityToken securityToken = createSecurityToken(SECURITY_TOKEN);
+        underTest.getPreAuthenticatedCredentials(securityToken);
+
+        final DmfTenantSecurityToken wrongToken = createSecurityToken("wrong");
+        assertThat(underTest.getPreAuthenticatedCredentials(wrongToken))
+                .isNotEqualTo(underTest.getPreAuthenticatedPrincipal(wrongToken));
+    }
+
+    @Test
+    @Description("Verifies that the cached security token is evicted if the target is deleted.")
+    public void securityTokenIsEvictedOnTargetDeletion() {
+        final DmfTenantSecurityToken securityToken = createSecurityToken(SECURITY_TOKEN);
+        underTest.getPreAuthenticatedCredentials(securityToken);
+
+        securityTokenCache.invalidateOnTargetDeleted(
+                new TargetDeletedEvent(TENANT, 1L, CONTROLLER_ID, null, Target.class, "application"));
+        underTest.getPreAuthenticatedCredentials(securityToken);
+
+        verify(controllerManagementMock, times(2)).getByControllerId(CONTROLLER_ID);
+    }
+
+    @Test
+    @Description("Verifies that a target which is changed while it is loaded is not cached.")
+    public void securityTokenIsNotCachedOnConcurrentEviction() {
+        when(controllerManagementMock.getByControllerId(CONTROLLER_ID)).thenAnswer(invocation -> {
+            securityTokenCache.invalidateOnTargetDeleted(
+                    new TargetDeletedEvent(TENANT, 1L, CONTROLLER_ID, null, Target.class, "application"));
+            return Optional.of(targetMock);
+        }).thenReturn(Optional.of(targetMock));
+        final DmfTenantSecurityToken securityToken = createSecurityToken(SECURITY_TOKEN);
+
+        underTest.getPreAuthenticatedCredentials(securityToken);
+        underTest.getPreAuthenticatedCredentials(securityToken);
+        underTest.getPreAuthenticatedCredentials(securityToken);
+
+        verify(controllerManagementMock, times(2)).getByControllerId(CONTROLLER_ID);
+    }
+
+    private static DmfTenantSecurityToken createSecurityToken(final String targetToken) {
+        final DmfTenantSecurityToken securityToken = new DmfTenantSecurityToken(TENANT, CONTROLLER_ID,
+                FileResource.createFileResourceBySha1("12345"));
+        securityToken.putHeader(DmfTenantSecurityToken.AUTHORIZATION_HEADER, "TargetToken " + targetToken);
+        return securityToken;
+    }
+}